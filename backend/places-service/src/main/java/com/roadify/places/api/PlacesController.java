@@ -1,45 +1,188 @@
 package com.roadify.places.api;
 
 import com.roadify.places.api.dto.PlaceResponseDTO;
+import com.roadify.places.application.PlaceCursor;
 import com.roadify.places.application.PlaceFilterCriteria;
+import com.roadify.places.application.PlaceSort;
+import com.roadify.places.application.PlacesQueryResult;
 import com.roadify.places.application.PlacesService;
+import com.roadify.places.application.RoutePositionException;
+import com.roadify.places.application.UpcomingPlacesCriteria;
+import com.roadify.places.application.UpcomingPlacesResult;
 import com.roadify.places.domain.Place;
 import com.roadify.places.domain.PlaceCategory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/v1/routes/{routeId}/places")
 @RequiredArgsConstructor
 public class PlacesController {
 
+    static final String PARTIAL_HEADER = "X-Places-Partial";
+    static final String PROVIDER_STATUS_HEADER = "X-Places-Provider-Status";
+    static final String NEXT_CURSOR_HEADER = "X-Places-Next-Cursor";
+    static final String PROVIDER_DECISION_HEADER = "X-Places-Provider-Decision";
+    static final String CURRENT_KM_HEADER = "X-Places-Current-Km";
+    static final String FACETS_HEADER = "X-Places-Facets";
+
     private final PlacesService placesService;
 
+    /**
+     * Partial results (a provider failed or missed its deadline) are flagged with
+     * X-Places-Partial: true and per-provider details in X-Places-Provider-Status.
+     * X-Places-Provider-Decision tells how each provider was used (FETCH, HEDGE, SKIP, PROBE).
+     *
+     * Results are ordered by detourKm. With a limit, X-Places-Next-Cursor carries an opaque
+     * cursor for the next page; pass it back as ?cursor= (instead of offset) to continue.
+     *
+     * ?sort=rank orders by score instead (detour, rating, category weight; see PlaceRanker).
+     * Ranked pages use offset/limit only, a cursor is rejected.
+     *
+     * ?category= accepts several categories (category=FOOD,FUEL). With ?facets=true the
+     * per-category counts under the current maxDetourKm (category filter not applied) come back
+     * in X-Places-Facets, e.g. FOOD=12,CAFE=3,...; one call instead of one per category chip.
+     */
     @GetMapping
-    public List<PlaceResponseDTO> getPlaces(
+    public ResponseEntity<List<PlaceResponseDTO>> getPlaces(
             @PathVariable String routeId,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Double minRating,
             @RequestParam(required = false) Double maxDetourKm,
             @RequestParam(required = false) Integer limit,
-            @RequestParam(required = false) Integer offset
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean facets
     ) {
-        PlaceCategory parsedCategory = parseCategory(category);
+        Set<PlaceCategory> parsedCategories = parseCategories(category);
+        PlaceSort parsedSort = parseSort(sort);
+        if (parsedSort == PlaceSort.RANK && cursor != null && !cursor.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor is not supported with sort=rank");
+        }
 
         PlaceFilterCriteria criteria = PlaceFilterCriteria.builder()
-                .category(parsedCategory)
+                .categories(parsedCategories)
                 .minRating(minRating)
                 .maxDetourKm(maxDetourKm)
                 .limit(limit)
                 .offset(offset)
+                .cursor(parseCursor(cursor))
+                .sort(parsedSort)
+                .facets(facets)
                 .build();
 
-        return placesService.getPlacesForRoute(routeId, criteria)
+        PlacesQueryResult result = placesService.findPlacesForRoute(routeId, criteria);
+
+        List<PlaceResponseDTO> body = result.getPlaces()
                 .stream()
                 .map(this::toDto)
                 .toList();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(PARTIAL_HEADER, String.valueOf(result.isPartial()));
+        if (!result.getProviderStatuses().isEmpty()) {
+            response.header(PROVIDER_STATUS_HEADER, formatByProvider(result.getProviderStatuses()));
+        }
+        if (!result.getProviderDecisions().isEmpty()) {
+            response.header(PROVIDER_DECISION_HEADER, formatByProvider(result.getProviderDecisions()));
+        }
+        if (result.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+        }
+        if (result.getCategoryCounts() != null) {
+            response.header(FACETS_HEADER, result.getCategoryCounts().entrySet().stream()
+                    .map(e -> e.getKey() + "=" + e.getValue())
+                    .collect(Collectors.joining(",")));
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Places in the next windowKm of the route, ordered by routeKm (km from route start).
+     *
+     * The window starts at ?currentKm=, or at the route km the live position ?lat=&lon= snaps to.
+     * X-Places-Current-Km returns the km the window started at; the app can send it back as
+     * currentKm while the position has not changed much. Partial headers as in {@link #getPlaces}.
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<List<PlaceResponseDTO>> getUpcomingPlaces(
+            @PathVariable String routeId,
+            @RequestParam(required = false) Double currentKm,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(defaultValue = "50") double windowKm,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double maxDetourKm,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (!Double.isFinite(windowKm) || windowKm < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "windowKm must be a non-negative number");
+        }
+        if (currentKm == null && (lat == null || lon == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "currentKm or lat/lon is required");
+        }
+
+        UpcomingPlacesCriteria criteria = UpcomingPlacesCriteria.builder()
+                .currentKm(currentKm)
+                .latitude(lat)
+                .longitude(lon)
+                .windowKm(windowKm)
+                .category(parseCategory(category))
+                .maxDetourKm(maxDetourKm)
+                .limit(limit)
+                .build();
+
+        UpcomingPlacesResult result;
+        try {
+            result = placesService.findUpcomingPlaces(routeId, criteria);
+        } catch (RoutePositionException ex) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage(), ex);
+        }
+
+        List<PlaceResponseDTO> body = result.getPlaces()
+                .stream()
+                .map(this::toDto)
+                .toList();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(PARTIAL_HEADER, String.valueOf(result.isPartial()))
+                .header(CURRENT_KM_HEADER, String.valueOf(result.getCurrentKm()));
+        if (!result.getProviderStatuses().isEmpty()) {
+            response.header(PROVIDER_STATUS_HEADER, formatByProvider(result.getProviderStatuses()));
+        }
+        if (!result.getProviderDecisions().isEmpty()) {
+            response.header(PROVIDER_DECISION_HEADER, formatByProvider(result.getProviderDecisions()));
+        }
+        return response.body(body);
+    }
+
+    private String formatByProvider(Map<String, ? extends Enum<?>> statuses) {
+        return statuses.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Comma separated categories; unknown names are skipped, nothing valid -> null (ALL).
+     */
+    private Set<PlaceCategory> parseCategories(String categories) {
+        if (categories == null || categories.isBlank()) return null;
+        Set<PlaceCategory> parsed = EnumSet.noneOf(PlaceCategory.class);
+        for (String category : categories.split(",")) {
+            PlaceCategory value = parseCategory(category);
+            if (value != null) parsed.add(value);
+        }
+        return parsed.isEmpty() ? null : parsed;
     }
 
     private PlaceCategory parseCategory(String category) {
@@ -52,6 +195,24 @@ public class PlacesController {
         }
     }
 
+    private PlaceSort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) return PlaceSort.DETOUR;
+        try {
+            return PlaceSort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort: " + sort);
+        }
+    }
+
+    private PlaceCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return PlaceCursor.decode(cursor.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", ex);
+        }
+    }
+
     private PlaceResponseDTO toDto(Place place) {
         return PlaceResponseDTO.builder()
                 .id(place.getId())
@@ -61,6 +222,8 @@ public class PlacesController {
                 .longitude(place.getLongitude())
                 .rating(place.getRating())
                 .detourKm(place.getDetourKm())
+                .routeKm(Double.isNaN(place.getRouteKm()) ? null : place.getRouteKm())
+                .mergedIds(place.getMergedIds())
                 .build();
     }
 }
@@ -4,6 +4,8 @@ import com.roadify.places.domain.PlaceCategory;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.List;
+
 @Value
 @Builder
 public class PlaceResponseDTO {
@@ -14,4 +16,6 @@ public class PlaceResponseDTO {
     double longitude;
     Double rating;
     double detourKm;
+    Double routeKm; // km from route start, null when unknown
+    List<String> mergedIds; // same place from other providers, null when not merged
 }
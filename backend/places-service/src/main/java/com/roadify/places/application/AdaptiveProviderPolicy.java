@@ -0,0 +1,116 @@
+package com.roadify.places.application;
+
+import com.roadify.places.application.ProviderLatencyTracker.LatencySnapshot;
+import com.roadify.places.infrastructure.provider.AdaptiveProviderProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides per request how each provider is used, based on its rolling latency and error rate.
+ *
+ * - p95 above the request budget (or error rate above maxErrorRate): SKIP, serve the provider's
+ *   last good tile cache instead of waiting for it. One PROBE request per probeInterval still
+ *   goes through so that recovery shows up in the stats.
+ * - provider with a mirror: HEDGE, race the mirror after the provider's p90 latency.
+ * - otherwise (or too few samples): FETCH.
+ *
+ * Decisions are counted as roadify.places.provider.decision{provider,decision}; calls rejected locally
+ * (bulkhead full, circuit open) stay out of the stats and are counted as
+ * roadify.places.provider.rejected{provider,reason}.
+ */
+@Component
+@Slf4j
+public class AdaptiveProviderPolicy {
+
+    private final ProviderLatencyTracker latencyTracker;
+    private final AdaptiveProviderProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // System.nanoTime() of the last probe of a skipped provider
+    private final Map<String, AtomicLong> lastProbeAt = new ConcurrentHashMap<>();
+
+    public AdaptiveProviderPolicy(ProviderLatencyTracker latencyTracker,
+                                  AdaptiveProviderProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.latencyTracker = latencyTracker;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param budget    time the request is willing to wait for this provider
+     * @param hedgeable true if the provider has a mirror to hedge to
+     */
+    public ProviderPlan plan(String provider, Duration budget, boolean hedgeable) {
+        ProviderPlan plan = decide(provider, budget, hedgeable);
+        meterRegistry.counter("roadify.places.provider.decision",
+                "provider", provider, "decision", plan.decision().name()).increment();
+        return plan;
+    }
+
+    public void record(String provider, long latencyNanos, boolean success) {
+        latencyTracker.record(provider, latencyNanos, success);
+    }
+
+    /**
+     * A call that never reached the provider; says nothing about its latency or health.
+     */
+    public void recordRejected(String provider, String reason) {
+        meterRegistry.counter("roadify.places.provider.rejected", "provider", provider, "reason", reason).increment();
+    }
+
+    private ProviderPlan decide(String provider, Duration budget, boolean hedgeable) {
+        if (!properties.isEnabled()) return ProviderPlan.FETCH;
+
+        LatencySnapshot stats = latencyTracker.snapshot(provider);
+        if (stats.samples() < properties.getMinSamples()) return ProviderPlan.FETCH;
+
+        long p95 = stats.percentileNanos(0.95);
+        boolean slow = p95 > budget.toNanos();
+        boolean failing = stats.errorRate() > properties.getMaxErrorRate();
+
+        if (slow || failing) {
+            if (!claimProbe(provider)) {
+                log.debug("[AdaptiveProviderPolicy] Skipping {}. p95={}ms, budget={}ms, errorRate={}",
+                        provider, p95 / 1_000_000, budget.toMillis(), stats.errorRate());
+                return ProviderPlan.SKIP;
+            }
+            return ProviderPlan.PROBE;
+        }
+
+        if (hedgeable) {
+            long p90 = stats.percentileNanos(0.9);
+            Duration delay = Duration.ofNanos(Math.max(p90, properties.getMinHedgeDelay().toNanos()));
+            return new ProviderPlan(ProviderDecision.HEDGE, delay);
+        }
+        return ProviderPlan.FETCH;
+    }
+
+    private boolean claimProbe(String provider) {
+        // first time a provider turns bad it is skipped right away, the first probe follows one interval later
+        AtomicLong last = lastProbeAt.computeIfAbsent(provider, p -> new AtomicLong(System.nanoTime()));
+        long now = System.nanoTime();
+        long previous = last.get();
+        return now - previous >= properties.getProbeInterval().toNanos() && last.compareAndSet(previous, now);
+    }
+
+    /**
+     * @param hedgeAfter delay before the mirror request, only set for HEDGE
+     */
+    public record ProviderPlan(ProviderDecision decision, Duration hedgeAfter) {
+
+        static final ProviderPlan FETCH = new ProviderPlan(ProviderDecision.FETCH, null);
+        static final ProviderPlan SKIP = new ProviderPlan(ProviderDecision.SKIP, null);
+        static final ProviderPlan PROBE = new ProviderPlan(ProviderDecision.PROBE, null);
+
+        public boolean skip() {
+            return decision == ProviderDecision.SKIP;
+        }
+    }
+}
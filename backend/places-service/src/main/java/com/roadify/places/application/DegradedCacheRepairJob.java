@@ -0,0 +1,63 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.cache.BaseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically upgrades degraded (partial) cache entries once providers recover,
+ * see {@link PlacesService#repairDegraded}.
+ *
+ * Metrics: roadify.places.degraded.repair (routes upgraded to full results).
+ */
+@Slf4j
+@Component
+public class DegradedCacheRepairJob {
+
+    private final PlacesService placesService;
+    private final BaseCacheProperties properties;
+    private final Counter repaired;
+
+    // One run at a time; a run that is still busy delays the next one
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("places-degraded-repair").daemon().factory()
+    );
+
+    public DegradedCacheRepairJob(PlacesService placesService,
+                                  BaseCacheProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.placesService = placesService;
+        this.properties = properties;
+        this.repaired = meterRegistry.counter("roadify.places.degraded.repair");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isDegradedEnabled()) return;
+
+        long intervalMillis = properties.getRepairInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runOnce, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void runOnce() {
+        try {
+            repaired.increment(placesService.repairDegraded(properties.getRepairBatchSize()));
+        } catch (Exception e) {
+            // an exception would cancel the schedule
+            log.warn("[DegradedCacheRepairJob] Repair run failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,8 +1,11 @@
 package com.roadify.places.application;
 
+import com.roadify.places.domain.PlaceCategory;
 import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.tile.GeoTile;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Abstraction for Geoapify Places API.
@@ -14,7 +17,27 @@ public interface GeoapifyClient {
      * For now we use a simplified geometry handling (fixed lat/lon).
      *
      * @param routeGeometry encoded route geometry
-     * @return list of raw places from Geoapify
+     * @param categories    categories to request (null/empty = all)
+     * @return list of raw places from Geoapify (empty when Geoapify is not configured)
+     * @throws TruncatedResultException if more places matched than one response returns
+     * @throws ProviderFetchException if the provider call failed (timeouts included)
      */
-    List<RawPlace> fetchPlaces(String routeGeometry);
+    List<RawPlace> fetchPlaces(String routeGeometry, Set<PlaceCategory> categories);
+
+    /**
+     * Fetch raw places inside a single corridor tile.
+     * Errors are thrown (not swallowed) so that a failed tile is never cached.
+     *
+     * @param tile       geohash tile bounds
+     * @param categories categories to request (null/empty = all)
+     * @return list of raw places from Geoapify inside the tile
+     * @throws TruncatedResultException if more places matched than one response returns
+     * @throws ProviderFetchException if the provider call failed
+     */
+    List<RawPlace> fetchPlacesInTile(GeoTile tile, Set<PlaceCategory> categories);
+
+    /**
+     * @return false if Geoapify is not configured (e.g. placeholder API key)
+     */
+    boolean isEnabled();
 }
@@ -1,10 +1,49 @@
 package com.roadify.places.application;
 
+import com.roadify.places.domain.PlaceCategory;
 import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.tile.GeoTile;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 public interface OverpassClient {
 
-    List<RawPlace> fetchPlaces(String routeGeometry);
+    /**
+     * Fetch raw places along the route for the given categories (null/empty = all configured).
+     *
+     * @throws ProviderFetchException if the provider call failed (timeouts included)
+     * @throws TruncatedResultException if the response was cut off at the element cap
+     */
+    List<RawPlace> fetchPlaces(String routeGeometry, Set<PlaceCategory> categories);
+
+    /**
+     * Fetch raw places of the given categories inside a single corridor tile.
+     *
+     * @throws ProviderFetchException if the provider call failed
+     * @throws TruncatedResultException if the response was cut off at the element cap
+     */
+    List<RawPlace> fetchPlacesInTile(GeoTile tile, Set<PlaceCategory> categories);
+
+    /**
+     * @return true if a secondary Overpass endpoint is configured that requests can be hedged to
+     */
+    default boolean hasMirror() {
+        return false;
+    }
+
+    /**
+     * Like {@link #fetchPlaces(String, Set)}, racing the mirror if the primary has not answered after hedgeAfter.
+     */
+    default List<RawPlace> fetchPlaces(String routeGeometry, Set<PlaceCategory> categories, Duration hedgeAfter) {
+        return fetchPlaces(routeGeometry, categories);
+    }
+
+    /**
+     * Like {@link #fetchPlacesInTile(GeoTile, Set)}, racing the mirror if the primary has not answered after hedgeAfter.
+     */
+    default List<RawPlace> fetchPlacesInTile(GeoTile tile, Set<PlaceCategory> categories, Duration hedgeAfter) {
+        return fetchPlacesInTile(tile, categories);
+    }
 }
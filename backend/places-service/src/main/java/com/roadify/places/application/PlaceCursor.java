@@ -0,0 +1,58 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.Place;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for paging through places in index order (detourKm, id).
+ *
+ * It points at the last place of the previous page rather than at an offset,
+ * so the next page is a binary search and stays correct if the BASE list is refreshed in between.
+ */
+public record PlaceCursor(double detourKm, String id) {
+
+    private static final String VERSION = "v1";
+
+    public static PlaceCursor after(Place place) {
+        return new PlaceCursor(place.getDetourKm(), place.getId());
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + Long.toHexString(Double.doubleToLongBits(detourKm))
+                + "|" + (id == null ? "-" : "=" + id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static PlaceCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3 || !VERSION.equals(parts[0]) || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        double detourKm;
+        try {
+            detourKm = Double.longBitsToDouble(Long.parseUnsignedLong(parts[1], 16));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+
+        String id = switch (parts[2].charAt(0)) {
+            case '-' -> null;
+            case '=' -> parts[2].substring(1);
+            default -> throw new IllegalArgumentException("Invalid cursor");
+        };
+        return new PlaceCursor(detourKm, id);
+    }
+}
@@ -4,12 +4,21 @@ import com.roadify.places.domain.PlaceCategory;
 import lombok.Builder;
 import lombok.Value;
 
+import java.util.Set;
+
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class PlaceFilterCriteria {
-    PlaceCategory category;
+    /** Null or empty = all categories. */
+    Set<PlaceCategory> categories;
     Double minRating;
     Double maxDetourKm;
     Integer limit;
     Integer offset;
+    /** Keyset pagination; when set, offset is ignored. */
+    PlaceCursor cursor;
+    /** Result order; null = DETOUR. Cursor paging only applies to DETOUR. */
+    PlaceSort sort;
+    /** Also count places per category under the detour filter (needs the BASE list). */
+    boolean facets;
 }
@@ -0,0 +1,88 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.ranking.RankingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Scores places and selects the best k without sorting the whole candidate list.
+ *
+ * Selection keeps a min-heap of the k best seen so far (worst on top), so a candidate
+ * only costs a comparison with the current worst unless it gets in: O(n log k).
+ * Equal scores fall back to the smaller detour, then the id, so results are stable.
+ */
+@Component
+public class PlaceRanker {
+
+    /** Best first. */
+    private static final Comparator<Scored> BETTER_FIRST = Comparator
+            .comparingDouble(Scored::score).reversed()
+            .thenComparingDouble(s -> s.place().getDetourKm())
+            .thenComparing(s -> s.place().getId(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final RankingProperties properties;
+
+    // Snapshot of the category map, indexed by ordinal
+    private final double[] categoryWeights;
+
+    public PlaceRanker(RankingProperties properties) {
+        this.properties = properties;
+        this.categoryWeights = new double[PlaceCategory.values().length];
+        properties.getCategoryWeights().forEach((category, weight) -> {
+            if (category != null && weight != null) categoryWeights[category.ordinal()] = weight;
+        });
+    }
+
+    public double score(Place place) {
+        double rating = (place.getRating() != null) ? place.getRating() : properties.getMissingRating();
+        double categoryWeight = (place.getCategory() != null) ? categoryWeights[place.getCategory().ordinal()] : 0.0;
+        return categoryWeight
+                + properties.getRatingWeight() * rating
+                - properties.getDetourWeightPerKm() * place.getDetourKm();
+    }
+
+    /**
+     * Number of places to select for a ranked page: offset + limit (default limit when absent),
+     * capped at maxLimit.
+     */
+    public int selectionSize(Integer offset, Integer limit) {
+        long from = (offset == null || offset < 0) ? 0 : offset;
+        long size = (limit == null || limit <= 0) ? properties.getDefaultLimit() : limit;
+        return (int) Math.min(from + size, properties.getMaxLimit());
+    }
+
+    /**
+     * The k best candidates by {@link #score}, best first.
+     */
+    public List<Place> topK(List<Place> candidates, int k) {
+        if (k <= 0 || candidates.isEmpty()) return List.of();
+
+        PriorityQueue<Scored> heap = new PriorityQueue<>(Math.min(k, candidates.size()) + 1, BETTER_FIRST.reversed());
+        for (Place place : candidates) {
+            Scored scored = new Scored(place, score(place));
+            if (heap.size() < k) {
+                heap.add(scored);
+            } else if (BETTER_FIRST.compare(scored, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+
+        // heap pops worst first
+        Place[] best = new Place[heap.size()];
+        for (int i = best.length - 1; i >= 0; i--) {
+            best[i] = heap.poll().place();
+        }
+        return new ArrayList<>(Arrays.asList(best));
+    }
+
+    private record Scored(Place place, double score) {
+    }
+}
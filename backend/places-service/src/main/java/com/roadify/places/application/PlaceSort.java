@@ -0,0 +1,11 @@
+package com.roadify.places.application;
+
+/**
+ * Result order of the places API.
+ */
+public enum PlaceSort {
+    /** (detourKm, id); supports offset and cursor paging. */
+    DETOUR,
+    /** Best score first ({@link PlaceRanker}); offset/limit only. */
+    RANK
+}
@@ -0,0 +1,158 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.prefetch.PrefetchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms BASE lists of new routes in the background, so the first places request of a route
+ * is a cache hit instead of a provider round-trip.
+ *
+ * A fixed number of workers drains a bounded queue. Under backpressure the oldest waiting
+ * route is dropped (a route created minutes ago was probably already opened, or never will be),
+ * and a route that is already queued or running is not queued again. Routes whose BASE list
+ * is already cached are skipped by {@link PlacesService#prefetchBase}.
+ *
+ * Metrics: roadify.places.prefetch{result=submitted|duplicate|dropped|warmed|cached|failed}
+ * and the gauge roadify.places.prefetch.queue.
+ */
+@Slf4j
+@Service
+public class PlacesPrefetcher {
+
+    private final PlacesService placesService;
+    private final PrefetchProperties properties;
+
+    private final ThreadPoolExecutor executor;
+
+    // Queued or running routes
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter submitted;
+    private final Counter duplicates;
+    private final Counter dropped;
+    private final Counter warmed;
+    private final Counter alreadyCached;
+    private final Counter failed;
+
+    public PlacesPrefetcher(PlacesService placesService,
+                            PrefetchProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.placesService = placesService;
+        this.properties = properties;
+
+        int workers = Math.max(1, properties.getWorkers());
+        this.executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                // workers block on provider I/O
+                Thread.ofVirtual().name("places-prefetch-", 0).factory(),
+                this::dropOldest
+        );
+
+        this.submitted = meterRegistry.counter("roadify.places.prefetch", "result", "submitted");
+        this.duplicates = meterRegistry.counter("roadify.places.prefetch", "result", "duplicate");
+        this.dropped = meterRegistry.counter("roadify.places.prefetch", "result", "dropped");
+        this.warmed = meterRegistry.counter("roadify.places.prefetch", "result", "warmed");
+        this.alreadyCached = meterRegistry.counter("roadify.places.prefetch", "result", "cached");
+        this.failed = meterRegistry.counter("roadify.places.prefetch", "result", "failed");
+        Gauge.builder("roadify.places.prefetch.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Queues the route for warming; never blocks the caller (Kafka listener thread).
+     *
+     * @return false when prefetch is disabled or the route is already queued / running
+     */
+    public boolean submit(String routeId) {
+        if (!properties.isEnabled() || routeId == null || routeId.isBlank()) return false;
+
+        if (!pending.add(routeId)) {
+            duplicates.increment();
+            return false;
+        }
+
+        executor.execute(new PrefetchTask(routeId));
+        submitted.increment();
+        return true;
+    }
+
+    /**
+     * Rejection policy: make room by dropping the oldest queued route, then retry.
+     * If there was nothing to drop (workers drained the queue meanwhile) the new route is dropped
+     * instead of retrying, so a rejection never recurses.
+     */
+    void dropOldest(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            forget(task);
+            return;
+        }
+
+        Runnable oldest = pool.getQueue().poll();
+        if (oldest == null) {
+            forget(task);
+            dropped.increment();
+            log.info("[PlacesPrefetcher] Queue full, dropped route {}", routeOf(task));
+            return;
+        }
+
+        forget(oldest);
+        dropped.increment();
+        log.info("[PlacesPrefetcher] Queue full, dropped oldest route {}", routeOf(oldest));
+        pool.execute(task);
+    }
+
+    private void forget(Runnable task) {
+        String routeId = routeOf(task);
+        if (routeId != null) pending.remove(routeId);
+    }
+
+    private static String routeOf(Runnable task) {
+        return (task instanceof PlacesPrefetcher.PrefetchTask prefetch) ? prefetch.routeId() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class PrefetchTask implements Runnable {
+
+        private final String routeId;
+
+        private PrefetchTask(String routeId) {
+            this.routeId = routeId;
+        }
+
+        String routeId() {
+            return routeId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (placesService.prefetchBase(routeId)) {
+                    warmed.increment();
+                } else {
+                    alreadyCached.increment();
+                }
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("[PlacesPrefetcher] Prefetch failed for route {}: {}", routeId, e.getMessage());
+            } finally {
+                pending.remove(routeId);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Places returned for a request plus how they were obtained.
+ * providerStatuses / providerDecisions are empty when the list came from the cache.
+ * nextCursor is set when a limit was given and more places follow the returned page.
+ * categoryCounts is set only when facets were requested.
+ */
+@Value
+public class PlacesQueryResult {
+    List<Place> places;
+    Map<String, ProviderStatus> providerStatuses;
+    Map<String, ProviderDecision> providerDecisions;
+    String nextCursor;
+    Map<PlaceCategory, Integer> categoryCounts;
+
+    /** True if at least one provider failed or missed its deadline. */
+    public boolean isPartial() {
+        return providerStatuses.values().stream().anyMatch(status -> !status.isComplete());
+    }
+}
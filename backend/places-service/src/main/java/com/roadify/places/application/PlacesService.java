@@ -1,153 +1,470 @@
 package com.roadify.places.application;
 
 import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceBatch;
 import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.domain.PlaceIndex;
+import com.roadify.places.infrastructure.cache.BaseCacheProperties;
+import com.roadify.places.infrastructure.cache.BaseLoadCoalescer;
+import com.roadify.places.infrastructure.cache.CachedDegradedPlaces;
+import com.roadify.places.infrastructure.cache.CachedPlaces;
+import com.roadify.places.infrastructure.cache.DegradedPlacesCache;
+import com.roadify.places.infrastructure.cache.PlacesBaseCache;
+import com.roadify.places.infrastructure.geo.DetourBatchCalculator;
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
 import com.roadify.places.infrastructure.kafka.PlacesFetchedEvent;
 import com.roadify.places.infrastructure.kafka.PlacesFetchedEventProducer;
+import com.roadify.places.infrastructure.provider.PlaceDeduplicator;
 import com.roadify.places.infrastructure.provider.PlaceNormalizer;
 import com.roadify.places.infrastructure.provider.RawPlace;
-import com.roadify.places.infrastructure.route.RouteSummary;
+import com.roadify.places.infrastructure.tile.TileProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PlacesService {
 
-    private static final Duration BASE_CACHE_TTL = Duration.ofMinutes(10);
-
-    private final RouteServiceClient routeServiceClient;
-    private final GeoapifyClient geoapifyClient;
-    private final OverpassClient overpassClient;
+    private final RouteGeometryService routeGeometryService;
+    private final ProviderFetchCoordinator providerFetchCoordinator;
     private final PlaceNormalizer placeNormalizer;
-    private final RedisTemplate<String, Place[]> placesRedisTemplate;
+    private final PlaceDeduplicator placeDeduplicator;
+    private final PlacesBaseCache placesBaseCache;
     private final ObjectProvider<PlacesFetchedEventProducer> eventProducerProvider;
+    private final BaseLoadCoalescer baseLoadCoalescer;
+    private final BaseCacheProperties baseCacheProperties;
+    private final PlaceRanker placeRanker;
+    private final DegradedPlacesCache degradedPlacesCache;
+    private final TileProperties tileProperties;
 
     public List<Place> getPlacesForRoute(String routeId, PlaceFilterCriteria criteria) {
+        return findPlacesForRoute(routeId, criteria).getPlaces();
+    }
+
+    /**
+     * Same as {@link #getPlacesForRoute} but also reports per-provider status,
+     * so the API can flag partial results (provider failed or missed its deadline).
+     */
+    public PlacesQueryResult findPlacesForRoute(String routeId, PlaceFilterCriteria criteria) {
 
         // 0) Incoming criteria log (kanıt/diagnostic)
         log.info(
-                "[PlacesService] Incoming criteria: routeId={}, category={}, maxDetourKm={}, limit={}, offset={}",
+                "[PlacesService] Incoming criteria: routeId={}, categories={}, maxDetourKm={}, limit={}, offset={}, cursor={}, sort={}, facets={}",
                 routeId,
-                criteria.getCategory(),
+                criteria.getCategories(),
                 criteria.getMaxDetourKm(),
                 criteria.getLimit(),
-                criteria.getOffset()
+                criteria.getOffset(),
+                criteria.getCursor() != null,
+                criteria.getSort(),
+                criteria.isFacets()
         );
 
-        // 1) Cache sadece BASE ana liste için kullanılır
+        // 1) BASE (unfiltered list) answers every request, category-filtered ones included
         String baseKey = buildBaseCacheKey(routeId);
 
-        Place[] cachedBase = placesRedisTemplate.opsForValue().get(baseKey);
-        if (cachedBase != null && cachedBase.length > 0) {
-            log.info("[PlacesService] Cache hit(BASE). key={}, size={}", baseKey, cachedBase.length);
+        PlacesQueryResult fromBase = serveCached(routeId, baseKey, null, criteria);
+        if (fromBase != null) {
+            return fromBase;
+        }
 
-            List<Place> filtered = applyFilter(Arrays.asList(cachedBase), criteria);
-            log.info("[PlacesService] Returning filtered from BASE cache. filteredSize={}", filtered.size());
-            return filtered;
+        // Several categories or facets (counts over every category) need the whole BASE list
+        Set<PlaceCategory> categories = criteria.getCategories();
+        if (categories == null || categories.size() != 1 || criteria.isFacets()) {
+            return loadAndFilter(routeId, baseKey, null, criteria);
         }
 
-        log.info("[PlacesService] Cache miss(BASE). key={}", baseKey);
+        // 2) Single category filter without BASE: only that category's shard is fetched and cached,
+        //    so a FUEL-only request never pulls the other categories from the providers
+        PlaceCategory category = categories.iterator().next();
+        Set<PlaceCategory> shard = EnumSet.of(category);
+        String shardKey = buildShardCacheKey(routeId, category);
 
-        // 2) Fetch route
-        RouteSummary route = routeServiceClient.getRouteById(routeId);
-        String geometry = route.getGeometry();
+        PlacesQueryResult fromShard = serveCached(routeId, shardKey, shard, criteria);
+        if (fromShard != null) {
+            return fromShard;
+        }
+        return loadAndFilter(routeId, shardKey, shard, criteria);
+    }
 
-        // 3) Fetch providers with status (provider fail -> cache zehirleme yok)
-        List<RawPlace> rawPlaces = new ArrayList<>();
+    /**
+     * Computes and caches the BASE list of a route before anyone asks for it (route.created);
+     * the provider fetch fills the tile cache on the way. A user request arriving meanwhile
+     * joins this load instead of starting its own.
+     *
+     * @return false when the route was already cached
+     */
+    public boolean prefetchBase(String routeId) {
+        String baseKey = buildBaseCacheKey(routeId);
+        if (placesBaseCache.contains(baseKey)) {
+            log.info("[PlacesService] Prefetch skipped, already cached. key={}", baseKey);
+            return false;
+        }
+
+        BaseLoad base = loadCoalesced(routeId, baseKey, null);
+        log.info("[PlacesService] Prefetched BASE list. key={}, size={}", baseKey, base.index().size());
+        return true;
+    }
+
+    /**
+     * Places in [currentKm, currentKm + windowKm] along the route, nearest first.
+     *
+     * Served from the BASE list (loaded like any BASE miss); the window itself is two binary
+     * searches on the routeKm-ordered index. A live position is snapped to its km marker through
+     * the route's segment index, which is usually already in the in-process geometry cache.
+     *
+     * @throws RoutePositionException when neither currentKm nor a position that can be snapped to the route is given
+     */
+    public UpcomingPlacesResult findUpcomingPlaces(String routeId, UpcomingPlacesCriteria criteria) {
+        double currentKm = resolveCurrentKm(routeId, criteria);
+
+        String baseKey = buildBaseCacheKey(routeId);
+        BaseLoad base = cachedBase(routeId, baseKey);
+        if (base == null) {
+            base = loadCoalesced(routeId, baseKey, null);
+        }
+
+        List<Place> window = base.index().window(criteria.getCategory(), currentKm, currentKm + criteria.getWindowKm());
+
+        Double maxDetourKm = criteria.getMaxDetourKm();
+        int limit = (criteria.getLimit() == null || criteria.getLimit() <= 0) ? Integer.MAX_VALUE : criteria.getLimit();
+        List<Place> places = new ArrayList<>(Math.min(window.size(), limit));
+        for (Place place : window) {
+            if (places.size() >= limit) break;
+            if (maxDetourKm == null || place.getDetourKm() <= maxDetourKm) places.add(place);
+        }
+
+        log.info("[PlacesService] Upcoming window. routeId={}, km=[{}, {}], category={}, inWindow={}, returned={}",
+                routeId, currentKm, currentKm + criteria.getWindowKm(), criteria.getCategory(), window.size(), places.size());
+        return new UpcomingPlacesResult(places, currentKm, base.providerStatuses(), base.providerDecisions());
+    }
+
+    private double resolveCurrentKm(String routeId, UpcomingPlacesCriteria criteria) {
+        if (criteria.getCurrentKm() != null) {
+            return criteria.getCurrentKm();
+        }
+        if (criteria.getLatitude() == null || criteria.getLongitude() == null) {
+            throw new RoutePositionException("currentKm or latitude/longitude is required");
+        }
+
+        SegmentGridIndex routeIndex = routeGeometryService.getRouteGeometry(routeId).getSegmentIndex();
+        // Outside the corridor there are no places to anchor the window to
+        double maxDistanceKm = tileProperties.getCorridorBufferMeters() / 1000.0;
+        double snapped = routeIndex.snapToRouteKm(criteria.getLatitude(), criteria.getLongitude(), maxDistanceKm);
+        if (Double.isNaN(snapped)) {
+            throw new RoutePositionException("Position cannot be snapped to route " + routeId
+                    + " (empty route or farther than " + maxDistanceKm + " km)");
+        }
+        return snapped;
+    }
+
+    /**
+     * Filters a cached list (BASE or category shard), or returns null on a miss.
+     */
+    private PlacesQueryResult serveCached(String routeId,
+                                          String key,
+                                          Set<PlaceCategory> categories,
+                                          PlaceFilterCriteria criteria) {
+        CachedPlaces cached = cachedWithRefresh(routeId, key, categories);
+        if (cached == null) {
+            return serveDegraded(key, criteria);
+        }
+
+        Page page = applyFilter(cached.index(), criteria);
+        log.info("[PlacesService] Returning filtered from cache. key={}, filteredSize={}", key, page.places().size());
+        return new PlacesQueryResult(page.places(), Map.of(), Map.of(), page.nextCursor(), page.categoryCounts());
+    }
+
+    /**
+     * Partial list cached while a provider was failing, reported with that load's provider statuses
+     * (so the response is still flagged partial). Null when there is none.
+     */
+    private PlacesQueryResult serveDegraded(String key, PlaceFilterCriteria criteria) {
+        BaseLoad degraded = cachedDegraded(key);
+        if (degraded == null) {
+            return null;
+        }
+
+        Page page = applyFilter(degraded.index(), criteria);
+        log.info("[PlacesService] Returning filtered from degraded cache. key={}, providers={}, filteredSize={}",
+                key, degraded.providerStatuses(), page.places().size());
+        return new PlacesQueryResult(page.places(), degraded.providerStatuses(), Map.of(), page.nextCursor(),
+                page.categoryCounts());
+    }
+
+    private BaseLoad cachedBase(String routeId, String baseKey) {
+        CachedPlaces cached = cachedWithRefresh(routeId, baseKey, null);
+        return (cached == null) ? cachedDegraded(baseKey) : new BaseLoad(cached.index(), Map.of(), Map.of());
+    }
+
+    private BaseLoad cachedDegraded(String key) {
+        CachedDegradedPlaces degraded = degradedPlacesCache.get(key);
+        if (degraded == null) {
+            return null;
+        }
+        return new BaseLoad(
+                degraded.index(),
+                ProviderStatusBitmap.decode(degraded.providerBits()),
+                Map.of()
+        );
+    }
+
+    /**
+     * Cached list (BASE or category shard), or null on a miss.
+     * A stale entry is still returned and refreshed once in the background.
+     */
+    private CachedPlaces cachedWithRefresh(String routeId, String key, Set<PlaceCategory> categories) {
+        CachedPlaces cached = placesBaseCache.get(key);
+        if (cached == null) {
+            log.info("[PlacesService] Cache miss. key={}", key);
+            return null;
+        }
+
+        log.info("[PlacesService] Cache hit. key={}, size={}", key, cached.index().size());
+
+        // Stale-while-revalidate: serve stale entry now, refresh once in background
+        if (isStale(cached)) {
+            boolean started = baseLoadCoalescer.refreshInBackground(key, () -> loadBase(routeId, key, categories));
+            log.info("[PlacesService] Serving stale entry. key={}, refreshStarted={}", key, started);
+        }
+        return cached;
+    }
+
+    private PlacesQueryResult loadAndFilter(String routeId,
+                                            String key,
+                                            Set<PlaceCategory> categories,
+                                            PlaceFilterCriteria criteria) {
+        BaseLoad base = loadCoalesced(routeId, key, categories);
+
+        // Filter in-memory and return
+        Page page = applyFilter(base.index(), criteria);
+        log.info("[PlacesService] Filtered places count = {}", page.places().size());
+        return new PlacesQueryResult(
+                page.places(), base.providerStatuses(), base.providerDecisions(), page.nextCursor(),
+                page.categoryCounts());
+    }
+
+    private BaseLoad loadCoalesced(String routeId, String key, Set<PlaceCategory> categories) {
+        // Concurrent misses for the same key share one provider round-trip (single-flight)
+        return baseLoadCoalescer.load(
+                key,
+                () -> probeBase(key),
+                () -> loadBase(routeId, key, categories)
+        );
+    }
+
+    /**
+     * Cache check after winning the distributed lock; a degraded entry written by another
+     * instance counts too, otherwise every instance would re-run the pipeline during an outage.
+     */
+    private BaseLoad probeBase(String baseKey) {
+        BaseLoad full = probeFull(baseKey);
+        return (full != null) ? full : cachedDegraded(baseKey);
+    }
 
-        ProviderFetchResult geo = fetchFromGeoapifySafelyWithStatus(geometry);
-        log.info("[PlacesService] Geoapify returned {} raw places (success={})", geo.places().size(), geo.success());
-        rawPlaces.addAll(geo.places());
+    private BaseLoad probeFull(String baseKey) {
+        CachedPlaces cached = placesBaseCache.get(baseKey);
+        return (cached == null) ? null : new BaseLoad(cached.index(), Map.of(), Map.of());
+    }
+
+    /**
+     * Recomputes routes cached degraded by any instance, at most maxRoutes per call; a complete
+     * result replaces the degraded entry with a regular one. Stops at the first route that is
+     * still degraded, so an ongoing outage costs one pipeline run per call.
+     * Entries that expired meanwhile (nobody asked for the route again) are dropped, not recomputed.
+     *
+     * @return number of routes upgraded to full results
+     */
+    public int repairDegraded(int maxRoutes) {
+        int attempts = 0;
+        int repaired = 0;
+
+        Map<String, String> pending = degradedPlacesCache.pendingRepairs();
+
+        for (Map.Entry<String, String> entry : pending.entrySet()) {
+            if (attempts >= maxRoutes) break;
+
+            String key = entry.getKey();
+            RepairTarget target = RepairTarget.decode(entry.getValue());
+
+            // Already full (refresh / other instance), degraded entry gone or unreadable target
+            if (target == null || placesBaseCache.contains(key) || !degradedPlacesCache.contains(key)) {
+                degradedPlacesCache.repaired(key);
+                continue;
+            }
+
+            attempts++;
+            BaseLoad load;
+            try {
+                load = baseLoadCoalescer.load(
+                        key,
+                        () -> probeFull(key),
+                        () -> loadBase(target.routeId(), key, target.categories())
+                );
+            } catch (RuntimeException e) {
+                log.warn("[PlacesService] Degraded repair failed. key={}", key, e);
+                break;
+            }
+
+            if (!load.providerStatuses().values().stream().allMatch(ProviderStatus::isComplete)) {
+                log.info("[PlacesService] Degraded repair: providers still failing. key={}, providers={}",
+                        key, load.providerStatuses());
+                break;
+            }
+            repaired++;
+        }
+
+        if (attempts > 0) {
+            log.info("[PlacesService] Degraded repair run: attempted={}, repaired={}, queued={}",
+                    attempts, repaired, pending.size());
+        }
+        return repaired;
+    }
+
+    /**
+     * An entry is stale once it is older than the soft TTL. Age is derived from the remaining
+     * TTL (L1 entries carry their Redis expiry), since entries are always written with the hard TTL.
+     */
+    private boolean isStale(CachedPlaces cached) {
+        if (!baseCacheProperties.isStaleWhileRevalidate()) return false;
+
+        // negative: unknown or no expiry -> treat as fresh
+        long remainingMillis = cached.remainingTtlMillis();
+        if (remainingMillis < 0) return false;
+
+        long ageMillis = baseCacheProperties.effectiveHardTtl().toMillis() - remainingMillis;
+        return ageMillis >= baseCacheProperties.getSoftTtl().toMillis();
+    }
+
+    /**
+     * Computes the BASE list (providers -> normalize -> dedupe -> detour) and caches it.
+     * Runs once per key even when many requests miss at the same time.
+     *
+     * @param categories null for the full BASE list, otherwise the category shard to load
+     */
+    private BaseLoad loadBase(String routeId, String baseKey, Set<PlaceCategory> categories) {
 
-        ProviderFetchResult over = fetchFromOverpassSafelyWithStatus(geometry);
-        log.info("[PlacesService] Overpass returned {} raw places (success={})", over.places().size(), over.success());
-        rawPlaces.addAll(over.places());
+        // 1) Fetch route + simplified geometry (providers and detour both use the simplified polyline)
+        RouteGeometry routeGeometry = routeGeometryService.getRouteGeometry(routeId);
+        String geometry = routeGeometry.getRoute().getGeometry();
+
+        // 2) Fetch providers concurrently with status (provider fail -> cache zehirleme yok)
+        List<ProviderFetchResult> providerResults = providerFetchCoordinator.fetchAll(routeGeometry, categories);
+
+        List<RawPlace> rawPlaces = new ArrayList<>();
+        Map<String, ProviderStatus> providerStatuses = new LinkedHashMap<>();
+        Map<String, ProviderDecision> providerDecisions = new LinkedHashMap<>();
+        for (ProviderFetchResult result : providerResults) {
+            log.info("[PlacesService] {} returned {} raw places (status={}, decision={})",
+                    result.provider(), result.places().size(), result.status(), result.decision());
+            rawPlaces.addAll(result.places());
+            providerStatuses.put(result.provider(), result.status());
+            providerDecisions.put(result.provider(), result.decision());
+        }
 
         log.info("[PlacesService] Total raw places from providers = {}", rawPlaces.size());
 
-        // 4) Normalize
-        List<Place> normalized = placeNormalizer.normalize(rawPlaces, geometry);
-        log.info("[PlacesService] Normalized places count = {}", normalized.size());
+        // 3) Normalize into columns; dedupe, shard filter and detour all work on the batch,
+        //    Place objects are built once at the end
+        PlaceBatch batch = placeNormalizer.normalizeBatch(rawPlaces, geometry);
+        log.info("[PlacesService] Normalized places count = {}", batch.size());
 
-        // 4.0) DETOUR ENRICH (NEW)
-        List<com.roadify.places.infrastructure.geo.PolylineDecoder.LatLon> routePoints =
-                com.roadify.places.infrastructure.geo.PolylineDecoder.decode(geometry);
+        // Same station / restaurant from several providers -> one place (before detour, less work)
+        int duplicates = placeDeduplicator.deduplicate(batch);
+        log.info("[PlacesService] Dedupe removed {} duplicate places, {} left", duplicates, batch.size());
 
-        if (routePoints.isEmpty()) {
-            log.warn("[PlacesService] Route geometry could not be decoded. detourKm will remain 0.0");
+        // Shard load: provider tags may normalize to a neighbouring category, keep only the shard
+        if (categories != null) {
+            batch.retainCategories(categories);
+            log.info("[PlacesService] Shard {} kept {} places", categories, batch.size());
+        }
+
+        // 3.0) DETOUR + ROUTE KM ENRICH: both come from the same closest segment, one pass,
+        //      written straight into the batch columns
+        if (routeGeometry.getPolyline().isEmpty()) {
+            // batch defaults: detourKm 0.0, routeKm NaN
+            log.warn("[PlacesService] Route geometry could not be decoded. detourKm will remain 0.0, routeKm unknown");
         } else {
-            normalized = normalized.stream()
-                    .map(p -> {
-                        double detourKm = com.roadify.places.infrastructure.geo.DetourCalculator.computeDetourKm(
-                                p.getLatitude(), p.getLongitude(), routePoints
-                        );
-
-                        // Place is @Data => has setters, ama burada immutable kopya oluşturuyoruz
-                        return Place.builder()
-                                .id(p.getId())
-                                .name(p.getName())
-                                .category(p.getCategory())
-                                .latitude(p.getLatitude())
-                                .longitude(p.getLongitude())
-                                .rating(p.getRating())
-                                .detourKm(detourKm)
-                                .build();
-                    })
-                    .toList();
+            // The batch calculator picks full scan vs segment index per route and splits
+            // large sets over the ForkJoin pool
+            DetourBatchCalculator.computeDetourKm(
+                    batch.latitudes(), batch.longitudes(), batch.size(),
+                    routeGeometry.getPolyline(), routeGeometry.getSegmentIndex(),
+                    batch.detourKms(), batch.routeKms()
+            );
         }
 
-        // 4.1) Detour stats (kanıt)
+        List<Place> normalized = batch.toPlaces();
+
+        // 3.1) Detour stats (kanıt)
         logDetourStats(normalized);
 
-        // 5) Cache write policy:
+        // 3.2) Category/detour and routeKm index, built once per fill and cached with the list
+        PlaceIndex index = PlaceIndex.build(normalized);
+
+        // 4) Cache write policy:
         // - Normalized boş değilse
         // - Ve tüm provider’lar başarılıysa (aksi halde 50’lik partial dataset cache’i bozmasın)
-        boolean allProvidersOk = geo.success() && over.success();
+        // - Provider hatasında partial liste sadece kısa TTL'li degraded tier'a yazılır
+        boolean allProvidersOk = providerResults.stream().allMatch(ProviderFetchResult::success);
 
         if (!normalized.isEmpty() && allProvidersOk) {
-            placesRedisTemplate.opsForValue().set(
+            Duration ttl = baseCacheProperties.effectiveHardTtl();
+            placesBaseCache.put(baseKey, index, ttl);
+            // a degraded entry of this key is shadowed from now on and simply expires
+            if (degradedPlacesCache.isEnabled()) {
+                degradedPlacesCache.repaired(baseKey);
+            }
+            log.info(
+                    "[PlacesService] Cached {} places under key={} (ttl={}, softTtl={})",
+                    normalized.size(),
                     baseKey,
-                    normalized.toArray(new Place[0]),
-                    BASE_CACHE_TTL
+                    ttl,
+                    baseCacheProperties.getSoftTtl()
             );
-            log.info(
-                    "[PlacesService] Cached BASE {} places under key={} (ttl={})",
+        } else if (!allProvidersOk && !normalized.isEmpty() && degradedPlacesCache.isEnabled()) {
+            // Partial list goes to the short-TTL degraded tier, the repair job upgrades it later
+            degradedPlacesCache.put(baseKey, index, ProviderStatusBitmap.encode(providerStatuses),
+                    new RepairTarget(routeId, categories).encode());
+            log.warn(
+                    "[PlacesService] A provider failed, cached {} places as degraded. key={}, ttl={}, providers={}",
                     normalized.size(),
                     baseKey,
-                    BASE_CACHE_TTL
+                    baseCacheProperties.getDegradedTtl(),
+                    providerStatuses
             );
         } else if (!allProvidersOk) {
             log.warn(
-                    "[PlacesService] Skipping BASE cache write because a provider failed. geoOk={}, overOk={}",
-                    geo.success(),
-                    over.success()
+                    "[PlacesService] Skipping BASE cache write because a provider failed. providers={}",
+                    providerStatuses
             );
         } else {
             log.info(
-                    "[PlacesService] Normalized list is empty. Skipping BASE cache write for key={}",
+                    "[PlacesService] Normalized list is empty. Skipping cache write for key={}",
                     baseKey
             );
         }
 
-        // 6) Publish event (istersen sadece allProvidersOk iken de publish edebilirsin; şimdilik aynı)
-        publishEvent(routeId, normalized);
+        // 5) Publish event (only the coalescing leader / background refresh gets here, so once per computation).
+        //    Shard loads only hold one category, so they would report misleading route totals.
+        if (categories == null) {
+            publishEvent(routeId, normalized);
+        }
 
-        // 7) Filter in-memory and return
-        List<Place> filtered = applyFilter(normalized, criteria);
-        log.info("[PlacesService] Filtered places count = {}", filtered.size());
-        return filtered;
+        return new BaseLoad(index, providerStatuses, providerDecisions);
     }
 
     private void logDetourStats(List<Place> places) {
@@ -174,63 +491,73 @@ public class PlacesService {
         );
     }
 
-    private ProviderFetchResult fetchFromGeoapifySafelyWithStatus(String geometry) {
-        try {
-            List<RawPlace> result = geoapifyClient.fetchPlaces(geometry);
-            return new ProviderFetchResult(true, (result != null) ? result : List.of());
-        } catch (Exception e) {
-            log.warn("[PlacesService] Geoapify fetch failed.", e);
-            return new ProviderFetchResult(false, List.of());
-        }
-    }
-
-    private ProviderFetchResult fetchFromOverpassSafelyWithStatus(String geometry) {
-        try {
-            List<RawPlace> result = overpassClient.fetchPlaces(geometry);
-            return new ProviderFetchResult(true, (result != null) ? result : List.of());
-        } catch (Exception e) {
-            log.warn("[PlacesService] Overpass fetch failed.", e);
-            return new ProviderFetchResult(false, List.of());
-        }
-    }
-
     private String buildBaseCacheKey(String routeId) {
         return "route:" + routeId + ":places:BASE";
     }
 
+    private String buildShardCacheKey(String routeId, PlaceCategory category) {
+        return "route:" + routeId + ":places:" + category.name();
+    }
+
     /**
      * Rating filtresi kaldırıldı.
      * Şu an sadece:
-     *  - category
+     *  - category (bir veya birden fazla)
      *  - maxDetourKm
-     *  - offset/limit
+     *  - offset/limit veya cursor/limit
      * üzerinden filtreleme yapıyoruz.
+     *
+     * Category + maxDetourKm is a binary search on the precomputed index, pages are
+     * sub-ranges of that slice (results are ordered by detourKm, then id). Several categories
+     * are one bitmask pass over the detour-bounded list.
+     * With sort=RANK the slice goes through {@link PlaceRanker#topK} instead (no cursor).
      */
-    private List<Place> applyFilter(List<Place> places, PlaceFilterCriteria criteria) {
-        if (places == null || places.isEmpty()) {
-            return List.of();
+    private Page applyFilter(PlaceIndex index, PlaceFilterCriteria criteria) {
+        if (index == null || index.isEmpty()) {
+            return new Page(List.of(), null, criteria.isFacets() ? PlaceIndex.EMPTY.categoryCounts(null) : null);
         }
 
-        int safeOffset = (criteria.getOffset() == null || criteria.getOffset() < 0)
+        // Rating filter YOK (Overpass rating=null olduğu için hepsi eleniyordu)
+        PlaceIndex.Slice slice = index.sliceAnyOf(criteria.getCategories(), criteria.getMaxDetourKm());
+
+        // Facets ignore the category filter (chip counts), but follow the detour filter
+        Map<PlaceCategory, Integer> categoryCounts =
+                criteria.isFacets() ? index.categoryCounts(criteria.getMaxDetourKm()) : null;
+
+        if (criteria.getSort() == PlaceSort.RANK) {
+            return rankedPage(slice, criteria, categoryCounts);
+        }
+
+        int from;
+        if (criteria.getCursor() != null) {
+            from = slice.positionAfter(criteria.getCursor().detourKm(), criteria.getCursor().id());
+        } else {
+            from = (criteria.getOffset() == null || criteria.getOffset() < 0) ? 0 : criteria.getOffset();
+        }
+
+        boolean limited = criteria.getLimit() != null && criteria.getLimit() > 0;
+        int to = limited ? (int) Math.min((long) from + criteria.getLimit(), slice.size()) : slice.size();
+
+        List<Place> page = slice.subList(from, to);
+        String nextCursor = (limited && to < slice.size() && !page.isEmpty())
+                ? PlaceCursor.after(page.get(page.size() - 1)).encode()
+                : null;
+
+        return new Page(page, nextCursor, categoryCounts);
+    }
+
+    /**
+     * Best offset + limit places of the slice by score (bounded heap, no full sort), then the page.
+     */
+    private Page rankedPage(PlaceIndex.Slice slice, PlaceFilterCriteria criteria,
+                            Map<PlaceCategory, Integer> categoryCounts) {
+        int k = placeRanker.selectionSize(criteria.getOffset(), criteria.getLimit());
+        List<Place> best = placeRanker.topK(slice.subList(0, slice.size()), k);
+
+        int from = (criteria.getOffset() == null || criteria.getOffset() < 0)
                 ? 0
-                : criteria.getOffset();
-
-        int safeLimit = (criteria.getLimit() == null || criteria.getLimit() <= 0)
-                ? places.size()
-                : criteria.getLimit();
-
-        return places.stream()
-                // Category filter
-                .filter(p -> criteria.getCategory() == null || p.getCategory() == criteria.getCategory())
-                // Rating filter YOK (Overpass rating=null olduğu için hepsi eleniyordu)
-                // .filter(p -> criteria.getMinRating() == null ||
-                //         (p.getRating() != null && p.getRating() >= criteria.getMinRating()))
-                // Detour filter
-                .filter(p -> criteria.getMaxDetourKm() == null || p.getDetourKm() <= criteria.getMaxDetourKm())
-                // Pagination
-                .skip(safeOffset)
-                .limit(safeLimit)
-                .toList();
+                : Math.min(criteria.getOffset(), best.size());
+        return new Page(best.subList(from, best.size()), null, categoryCounts);
     }
 
     private void publishEvent(String routeId, List<Place> places) {
@@ -261,5 +588,48 @@ public class PlacesService {
         );
     }
 
-    private record ProviderFetchResult(boolean success, List<RawPlace> places) {}
+    /**
+     * Unfiltered BASE list plus the provider statuses / adaptive decisions it was built with
+     * (empty when served from cache).
+     */
+    private record BaseLoad(PlaceIndex index,
+                            Map<String, ProviderStatus> providerStatuses,
+                            Map<String, ProviderDecision> providerDecisions) {
+    }
+
+    /**
+     * What loadBase needs to recompute a degraded key, stored in Redis as "routeId|CAT,CAT"
+     * (no categories = BASE).
+     */
+    private record RepairTarget(String routeId, Set<PlaceCategory> categories) {
+
+        String encode() {
+            if (categories == null) return routeId + "|";
+            return routeId + "|" + categories.stream().map(Enum::name).collect(Collectors.joining(","));
+        }
+
+        /**
+         * @return null for a value this version cannot read
+         */
+        static RepairTarget decode(String value) {
+            int sep = (value == null) ? -1 : value.lastIndexOf('|');
+            if (sep <= 0) return null;
+
+            String names = value.substring(sep + 1);
+            if (names.isEmpty()) return new RepairTarget(value.substring(0, sep), null);
+
+            Set<PlaceCategory> categories = EnumSet.noneOf(PlaceCategory.class);
+            try {
+                for (String name : names.split(",")) {
+                    categories.add(PlaceCategory.valueOf(name));
+                }
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            return new RepairTarget(value.substring(0, sep), categories);
+        }
+    }
+
+    private record Page(List<Place> places, String nextCursor, Map<PlaceCategory, Integer> categoryCounts) {
+    }
 }
@@ -0,0 +1,15 @@
+package com.roadify.places.application;
+
+/**
+ * What the adaptive policy decided for one provider in a single places request.
+ */
+public enum ProviderDecision {
+    /** Normal fetch. */
+    FETCH,
+    /** Normal fetch; a mirror request is raced against it after the provider's p90 latency. */
+    HEDGE,
+    /** Provider is too slow or failing: only its last good tile cache is served. */
+    SKIP,
+    /** Provider would be skipped, but this request is let through to re-measure it. */
+    PROBE
+}
@@ -0,0 +1,364 @@
+package com.roadify.places.application;
+
+import com.roadify.places.application.AdaptiveProviderPolicy.ProviderPlan;
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.provider.ProviderProperties;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Fans out all provider calls of a places request concurrently.
+ *
+ * Every provider runs on its own virtual thread with its own deadline, so cache-miss latency
+ * is the slowest provider (bounded by its deadline) instead of the sum of all providers.
+ * A provider that misses its deadline contributes what it has so far and is flagged as TIMEOUT.
+ *
+ * Geoapify is sharded by category: every {@link PlaceCategory} is its own request (and its own
+ * tile cache entry), so a FUEL-only request pulls only fuel places and an unfiltered request
+ * assembles all shards in parallel, reusing the ones already cached. All shards of a request
+ * share one tileConcurrency bound, so sharding multiplies the number of Geoapify calls (up to
+ * shards x tiles on a cold corridor) but not the number in flight; geoapifySharding=false falls
+ * back to one unfiltered call per area. Overpass answers all
+ * requested categories in one union query per area instead, since public instances only allow
+ * a couple of concurrent queries per client.
+ *
+ * Before fetching, {@link AdaptiveProviderPolicy} decides per provider whether to fetch normally,
+ * hedge to a mirror or skip it and serve only its cached tiles; every provider call is timed and
+ * fed back into the policy's rolling stats.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderFetchCoordinator {
+
+    static final String GEOAPIFY = "geoapify";
+    static final String OVERPASS = "overpass";
+
+    // Tile cache category set of an unfiltered Overpass query
+    private static final String ALL_CATEGORIES = "ALL";
+
+    // Tile fetches enforce the deadline themselves; the outer guard only catches hung Redis / planner work
+    private static final Duration DEADLINE_GRACE = Duration.ofMillis(250);
+
+    private final GeoapifyClient geoapifyClient;
+    private final OverpassClient overpassClient;
+    private final TileFetchPlanner tileFetchPlanner;
+    private final ProviderProperties properties;
+    private final ExecutorService providerFetchExecutor;
+    private final AdaptiveProviderPolicy adaptivePolicy;
+
+    public List<ProviderFetchResult> fetchAll(RouteGeometry routeGeometry) {
+        return fetchAll(routeGeometry, null);
+    }
+
+    /**
+     * Fetches the given categories from all providers.
+     *
+     * @param categories categories to fetch; null or empty means all shard categories
+     */
+    public List<ProviderFetchResult> fetchAll(RouteGeometry routeGeometry, Set<PlaceCategory> categories) {
+        boolean unfiltered = (categories == null || categories.isEmpty());
+        Set<PlaceCategory> shards = unfiltered
+                ? EnumSet.copyOf(properties.getShardCategories())
+                : EnumSet.copyOf(categories);
+        Set<PlaceCategory> overpassCategories = unfiltered ? null : shards;
+        boolean sharded = !unfiltered || properties.isGeoapifySharding();
+
+        ProviderPlan geoPlan = adaptivePolicy.plan(GEOAPIFY, properties.getGeoapifyDeadline(), false);
+        ProviderPlan overPlan = adaptivePolicy.plan(
+                OVERPASS, properties.getOverpassDeadline(), overpassClient.hasMirror());
+
+        CompletableFuture<ProviderFetchResult> geo = submit(
+                GEOAPIFY, properties.getGeoapifyDeadline(), () -> sharded
+                        ? fetchGeoapify(routeGeometry, shards, geoPlan)
+                        : fetchGeoapifyUnsharded(routeGeometry, geoPlan));
+        CompletableFuture<ProviderFetchResult> over = submit(
+                OVERPASS, properties.getOverpassDeadline(),
+                () -> fetchOverpass(routeGeometry, overpassCategories, overPlan));
+
+        return List.of(
+                geo.join().withDecision(geoPlan.decision()),
+                over.join().withDecision(overPlan.decision())
+        );
+    }
+
+    private CompletableFuture<ProviderFetchResult> submit(String provider,
+                                                          Duration deadline,
+                                                          Supplier<ProviderFetchResult> task) {
+        return CompletableFuture.supplyAsync(task, providerFetchExecutor)
+                .completeOnTimeout(
+                        new ProviderFetchResult(provider, ProviderStatus.TIMEOUT, List.of()),
+                        deadline.plus(DEADLINE_GRACE).toMillis(),
+                        TimeUnit.MILLISECONDS
+                )
+                .exceptionally(e -> {
+                    log.warn("[ProviderFetchCoordinator] {} fetch failed.", provider, e);
+                    return new ProviderFetchResult(provider, ProviderStatus.FAILED, List.of());
+                });
+    }
+
+    /**
+     * Runs one Geoapify shard per category concurrently and merges them. Shards still running at the
+     * deadline are reported as TIMEOUT (tile shards keep filling the tile cache in the background).
+     * The shards share one set of permits, so at most tileConcurrency Geoapify calls are in flight.
+     */
+    private ProviderFetchResult fetchGeoapify(RouteGeometry routeGeometry,
+                                              Set<PlaceCategory> shards,
+                                              ProviderPlan plan) {
+        if (useTiles(routeGeometry) && !geoapifyClient.isEnabled()) {
+            log.warn("[ProviderFetchCoordinator] Geoapify is not configured. Skipping Geoapify tiles.");
+            return new ProviderFetchResult(GEOAPIFY, ProviderStatus.DISABLED, List.of());
+        }
+        if (shards.isEmpty()) {
+            return new ProviderFetchResult(GEOAPIFY, ProviderStatus.OK, List.of());
+        }
+
+        Semaphore permits = newGeoapifyPermits();
+
+        if (shards.size() == 1) {
+            // nothing to parallelize, stay on the provider thread
+            PlaceCategory category = shards.iterator().next();
+            return fetchGeoapifyShard(routeGeometry, EnumSet.of(category), category.name(), plan, permits);
+        }
+
+        long deadlineNanos = System.nanoTime() + properties.getGeoapifyDeadline().toNanos();
+
+        Map<PlaceCategory, CompletableFuture<ProviderFetchResult>> inFlight = new EnumMap<>(PlaceCategory.class);
+        for (PlaceCategory category : shards) {
+            inFlight.put(category, CompletableFuture.supplyAsync(
+                    () -> fetchGeoapifyShard(routeGeometry, EnumSet.of(category), category.name(), plan, permits),
+                    providerFetchExecutor));
+        }
+
+        List<RawPlace> places = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        ProviderStatus status = ProviderStatus.OK;
+        int failed = 0;
+
+        for (Map.Entry<PlaceCategory, CompletableFuture<ProviderFetchResult>> entry : inFlight.entrySet()) {
+            try {
+                long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+                ProviderFetchResult shard = entry.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                status = worse(status, shard.status());
+                for (RawPlace place : shard.places()) {
+                    // a place tagged with several categories comes back from several shards
+                    if (place != null && seen.add(place.getProvider() + ":" + place.getExternalId())) {
+                        places.add(place);
+                    }
+                }
+            } catch (TimeoutException e) {
+                status = worse(status, ProviderStatus.TIMEOUT);
+            } catch (ExecutionException e) {
+                log.warn("[ProviderFetchCoordinator] Geoapify shard failed. category={}", entry.getKey(), e.getCause());
+                status = worse(status, ProviderStatus.PARTIAL);
+                failed++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                status = worse(status, ProviderStatus.PARTIAL);
+                failed++;
+            }
+        }
+
+        if (failed == shards.size()) {
+            status = ProviderStatus.FAILED;
+        }
+
+        log.info("[ProviderFetchCoordinator] Geoapify shards={}, status={}, places={}",
+                shards, status, places.size());
+
+        return new ProviderFetchResult(GEOAPIFY, status, places);
+    }
+
+    /**
+     * Sharding switched off: one unfiltered Geoapify call per area, cached under the ALL category set.
+     */
+    private ProviderFetchResult fetchGeoapifyUnsharded(RouteGeometry routeGeometry, ProviderPlan plan) {
+        if (useTiles(routeGeometry) && !geoapifyClient.isEnabled()) {
+            log.warn("[ProviderFetchCoordinator] Geoapify is not configured. Skipping Geoapify tiles.");
+            return new ProviderFetchResult(GEOAPIFY, ProviderStatus.DISABLED, List.of());
+        }
+        return fetchGeoapifyShard(routeGeometry, null, ALL_CATEGORIES, plan, newGeoapifyPermits());
+    }
+
+    /**
+     * @param categories  categories of the shard, null = all
+     * @param categorySet tile cache category set of the shard
+     * @param permits     Geoapify call slots shared by all shards of the request
+     */
+    private ProviderFetchResult fetchGeoapifyShard(RouteGeometry routeGeometry,
+                                                   Set<PlaceCategory> categories,
+                                                   String categorySet,
+                                                   ProviderPlan plan,
+                                                   Semaphore permits) {
+        if (plan.skip()) {
+            return fetchCachedOnly(GEOAPIFY, categorySet, routeGeometry);
+        }
+
+        if (useTiles(routeGeometry)) {
+            TileFetchResult tiles = tileFetchPlanner.fetch(
+                    GEOAPIFY, categorySet, routeGeometry,
+                    tile -> timed(GEOAPIFY, () -> geoapifyClient.fetchPlacesInTile(tile, categories)),
+                    properties.getGeoapifyDeadline(),
+                    permits);
+            return new ProviderFetchResult(GEOAPIFY, tiles.status(), tiles.places());
+        }
+
+        List<RawPlace> result;
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderFetchException("Interrupted while waiting for a Geoapify slot", e);
+        }
+        try {
+            result = timed(GEOAPIFY,
+                    () -> geoapifyClient.fetchPlaces(routeGeometry.getRoute().getGeometry(), categories));
+        } catch (TruncatedResultException e) {
+            // served, but PARTIAL keeps it out of the BASE cache
+            log.warn("[ProviderFetchCoordinator] Geoapify result cut off, reporting PARTIAL. categorySet={}, places={}",
+                    categorySet, e.getPlaces().size());
+            return new ProviderFetchResult(GEOAPIFY, ProviderStatus.PARTIAL, e.getPlaces());
+        } finally {
+            permits.release();
+        }
+        return new ProviderFetchResult(GEOAPIFY, ProviderStatus.OK, (result != null) ? result : List.of());
+    }
+
+    private Semaphore newGeoapifyPermits() {
+        return new Semaphore(Math.max(1, properties.getTileConcurrency()));
+    }
+
+    /**
+     * @param categories requested categories, null = every category configured for Overpass
+     */
+    private ProviderFetchResult fetchOverpass(RouteGeometry routeGeometry,
+                                              Set<PlaceCategory> categories,
+                                              ProviderPlan plan) {
+        if (plan.skip()) {
+            return fetchCachedOnly(OVERPASS, categorySetKey(categories), routeGeometry);
+        }
+
+        Duration hedgeAfter = plan.hedgeAfter();
+
+        if (useTiles(routeGeometry)) {
+            TileFetchResult tiles = tileFetchPlanner.fetch(
+                    OVERPASS, categorySetKey(categories), routeGeometry,
+                    tile -> timed(OVERPASS, () -> (hedgeAfter == null)
+                            ? overpassClient.fetchPlacesInTile(tile, categories)
+                            : overpassClient.fetchPlacesInTile(tile, categories, hedgeAfter)),
+                    properties.getOverpassDeadline());
+            return new ProviderFetchResult(OVERPASS, tiles.status(), tiles.places());
+        }
+
+        String geometry = routeGeometry.getRoute().getGeometry();
+        try {
+            List<RawPlace> result = timed(OVERPASS, () -> (hedgeAfter == null)
+                    ? overpassClient.fetchPlaces(geometry, categories)
+                    : overpassClient.fetchPlaces(geometry, categories, hedgeAfter));
+            return new ProviderFetchResult(OVERPASS, ProviderStatus.OK, (result != null) ? result : List.of());
+        } catch (TruncatedResultException e) {
+            // served, but PARTIAL keeps it out of the BASE cache
+            log.warn("[ProviderFetchCoordinator] Overpass result truncated, reporting PARTIAL. places={}",
+                    e.getPlaces().size());
+            return new ProviderFetchResult(OVERPASS, ProviderStatus.PARTIAL, e.getPlaces());
+        }
+    }
+
+    /**
+     * Skipped provider: last good tiles only. Complete if every corridor tile was cached.
+     */
+    private ProviderFetchResult fetchCachedOnly(String provider, String categorySet, RouteGeometry routeGeometry) {
+        if (!useTiles(routeGeometry)) {
+            return new ProviderFetchResult(provider, ProviderStatus.SKIPPED, List.of());
+        }
+        TileFetchResult tiles = tileFetchPlanner.fetchCached(provider, categorySet, routeGeometry);
+        return new ProviderFetchResult(
+                provider, tiles.complete() ? ProviderStatus.OK : ProviderStatus.SKIPPED, tiles.places());
+    }
+
+    /**
+     * Times a single provider call for the adaptive policy; exceptions count as errors, except
+     * rejections by our own bulkhead / open circuit breaker, which never reached the provider.
+     */
+    private <T> T timed(String provider, Supplier<T> call) {
+        long start = System.nanoTime();
+        boolean success = false;
+        boolean reachedProvider = true;
+        try {
+            T result = call.get();
+            success = true;
+            return result;
+        } catch (TruncatedResultException e) {
+            // the provider did answer; a cut-off response is not a failure for the adaptive stats
+            success = true;
+            throw e;
+        } catch (BulkheadFullException e) {
+            // local back-pressure (our own queueing), not a provider failure
+            reachedProvider = false;
+            adaptivePolicy.recordRejected(provider, "bulkhead");
+            throw e;
+        } catch (CallNotPermittedException e) {
+            // circuit open: the failures that opened it are already in the stats
+            reachedProvider = false;
+            adaptivePolicy.recordRejected(provider, "circuit-open");
+            throw e;
+        } finally {
+            if (reachedProvider) {
+                adaptivePolicy.record(provider, System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private static String categorySetKey(Set<PlaceCategory> categories) {
+        if (categories == null || categories.isEmpty()) return ALL_CATEGORIES;
+        // EnumSet iterates in declaration order, so equal sets give equal keys
+        return EnumSet.copyOf(categories).stream()
+                .map(Enum::name)
+                .collect(Collectors.joining("+"));
+    }
+
+    /**
+     * Shard statuses ordered by severity: OK < PARTIAL < SKIPPED < TIMEOUT.
+     */
+    private static ProviderStatus worse(ProviderStatus current, ProviderStatus candidate) {
+        return severity(candidate) > severity(current) ? candidate : current;
+    }
+
+    private static int severity(ProviderStatus status) {
+        return switch (status) {
+            case OK, DISABLED -> 0;
+            case PARTIAL -> 1;
+            case SKIPPED -> 2;
+            case TIMEOUT -> 3;
+            case FAILED -> 4;
+        };
+    }
+
+    /**
+     * Tile planning needs a decoded polyline; routes without geometry fall back to the legacy query.
+     */
+    private boolean useTiles(RouteGeometry routeGeometry) {
+        return tileFetchPlanner.isEnabled() && !routeGeometry.getPolyline().isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package com.roadify.places.application;
+
+/**
+ * Exception thrown when an external places provider could not be queried.
+ * Unlike an empty result, this must never be cached.
+ */
+public class ProviderFetchException extends RuntimeException {
+
+    public ProviderFetchException(String message) {
+        super(message);
+    }
+
+    public ProviderFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
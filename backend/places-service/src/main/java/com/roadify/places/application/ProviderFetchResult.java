@@ -0,0 +1,26 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.provider.RawPlace;
+
+import java.util.List;
+
+/**
+ * Raw places returned by one provider together with its status and the adaptive decision it was fetched with.
+ */
+public record ProviderFetchResult(String provider,
+                                  ProviderStatus status,
+                                  List<RawPlace> places,
+                                  ProviderDecision decision) {
+
+    public ProviderFetchResult(String provider, ProviderStatus status, List<RawPlace> places) {
+        this(provider, status, places, ProviderDecision.FETCH);
+    }
+
+    public ProviderFetchResult withDecision(ProviderDecision decision) {
+        return new ProviderFetchResult(provider, status, places, decision);
+    }
+
+    public boolean success() {
+        return status.isComplete();
+    }
+}
@@ -0,0 +1,138 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.provider.AdaptiveProviderProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling latency percentiles and error rate per provider.
+ *
+ * Each provider keeps a ring buffer of its most recent calls (windowSize); calls older than
+ * the time window are ignored, so a provider that recovered is not judged by old samples.
+ * The stats are published as gauges roadify.places.provider.latency{provider,quantile} (ms)
+ * and roadify.places.provider.error.rate{provider}.
+ */
+@Component
+public class ProviderLatencyTracker {
+
+    private final AdaptiveProviderProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public ProviderLatencyTracker(AdaptiveProviderProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String provider, long latencyNanos, boolean success) {
+        windowOf(provider).add(System.nanoTime(), latencyNanos, success);
+    }
+
+    public LatencySnapshot snapshot(String provider) {
+        Window window = windows.get(provider);
+        if (window == null) return LatencySnapshot.EMPTY;
+        return window.snapshot(System.nanoTime(), properties.getWindow().toNanos());
+    }
+
+    private Window windowOf(String provider) {
+        Window existing = windows.get(provider);
+        if (existing != null) return existing;
+
+        return windows.computeIfAbsent(provider, name -> {
+            Window window = new Window(Math.max(1, properties.getWindowSize()));
+            registerGauges(name);
+            return window;
+        });
+    }
+
+    private void registerGauges(String provider) {
+        for (double quantile : new double[]{0.5, 0.9, 0.95}) {
+            Gauge.builder("roadify.places.provider.latency", this,
+                            tracker -> toMillis(tracker.snapshot(provider).percentileNanos(quantile)))
+                    .tag("provider", provider)
+                    .tag("quantile", String.valueOf(quantile))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("roadify.places.provider.error.rate", this,
+                        tracker -> tracker.snapshot(provider).errorRate())
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Calls of one provider inside the window, with latencies sorted ascending.
+     */
+    public record LatencySnapshot(long[] sortedLatencyNanos, int failures) {
+
+        static final LatencySnapshot EMPTY = new LatencySnapshot(new long[0], 0);
+
+        public int samples() {
+            return sortedLatencyNanos.length;
+        }
+
+        /**
+         * Nearest-rank percentile, 0 when there are no samples.
+         */
+        public long percentileNanos(double quantile) {
+            int n = sortedLatencyNanos.length;
+            if (n == 0) return 0L;
+            int rank = (int) Math.ceil(quantile * n);
+            return sortedLatencyNanos[Math.min(n, Math.max(1, rank)) - 1];
+        }
+
+        public double errorRate() {
+            return samples() == 0 ? 0.0 : failures / (double) samples();
+        }
+    }
+
+    /**
+     * Fixed-size ring buffer; writes overwrite the oldest call.
+     */
+    private static final class Window {
+
+        private final long[] recordedAt;
+        private final long[] latencies;
+        private final boolean[] successes;
+        private int next;
+        private int size;
+
+        Window(int capacity) {
+            this.recordedAt = new long[capacity];
+            this.latencies = new long[capacity];
+            this.successes = new boolean[capacity];
+        }
+
+        synchronized void add(long now, long latencyNanos, boolean success) {
+            recordedAt[next] = now;
+            latencies[next] = latencyNanos;
+            successes[next] = success;
+            next = (next + 1) % latencies.length;
+            size = Math.min(size + 1, latencies.length);
+        }
+
+        synchronized LatencySnapshot snapshot(long now, long maxAgeNanos) {
+            long[] values = new long[size];
+            int count = 0;
+            int failures = 0;
+            for (int i = 0; i < size; i++) {
+                if (now - recordedAt[i] > maxAgeNanos) continue;
+                values[count++] = latencies[i];
+                if (!successes[i]) failures++;
+            }
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return new LatencySnapshot(sorted, failures);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.roadify.places.application;
+
+/**
+ * Outcome of one provider for a single places request.
+ */
+public enum ProviderStatus {
+    /** All data fetched (or served from tile cache). */
+    OK,
+    /** Provider is not configured and was skipped on purpose. */
+    DISABLED,
+    /** Some tiles are missing (failed or over the per-request cap); places are partial. */
+    PARTIAL,
+    /** Skipped by the adaptive policy (too slow / failing); only its cached tiles are returned. */
+    SKIPPED,
+    /** Deadline exceeded; whatever arrived in time is returned. */
+    TIMEOUT,
+    /** Provider call failed; no places from this provider. */
+    FAILED;
+
+    /** True if the provider's places are complete and may be cached. */
+    public boolean isComplete() {
+        return this == OK || this == DISABLED;
+    }
+}
@@ -0,0 +1,74 @@
+package com.roadify.places.application;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs per-provider statuses into an int, stored with degraded cache entries.
+ *
+ * Every known provider owns a 4-bit slot (slot i = bits 4i..4i+3) holding the status
+ * code from {@link #codeOf}; 0 means the provider was not part of the load.
+ * Codes are fixed, not ordinals, so reordering or adding ProviderStatus constants does not
+ * change what already stored entries decode to. Unknown provider names and codes are skipped.
+ */
+final class ProviderStatusBitmap {
+
+    // Slot order is part of the stored format: append only
+    private static final List<String> PROVIDERS = List.of(
+            ProviderFetchCoordinator.GEOAPIFY,
+            ProviderFetchCoordinator.OVERPASS
+    );
+
+    private static final int BITS_PER_PROVIDER = 4;
+    private static final int SLOT_MASK = (1 << BITS_PER_PROVIDER) - 1;
+
+    private ProviderStatusBitmap() {
+    }
+
+    static int encode(Map<String, ProviderStatus> statuses) {
+        int bits = 0;
+        for (int slot = 0; slot < PROVIDERS.size(); slot++) {
+            ProviderStatus status = statuses.get(PROVIDERS.get(slot));
+            if (status != null) {
+                bits |= codeOf(status) << (slot * BITS_PER_PROVIDER);
+            }
+        }
+        return bits;
+    }
+
+    static Map<String, ProviderStatus> decode(int bits) {
+        Map<String, ProviderStatus> statuses = new LinkedHashMap<>();
+        for (int slot = 0; slot < PROVIDERS.size(); slot++) {
+            ProviderStatus status = statusOf((bits >>> (slot * BITS_PER_PROVIDER)) & SLOT_MASK);
+            if (status != null) {
+                statuses.put(PROVIDERS.get(slot), status);
+            }
+        }
+        return statuses;
+    }
+
+    // Stored format: never reuse or renumber a code; new statuses take the next free one (max 15)
+    static int codeOf(ProviderStatus status) {
+        return switch (status) {
+            case OK -> 1;
+            case DISABLED -> 2;
+            case PARTIAL -> 3;
+            case SKIPPED -> 4;
+            case TIMEOUT -> 5;
+            case FAILED -> 6;
+        };
+    }
+
+    static ProviderStatus statusOf(int code) {
+        return switch (code) {
+            case 1 -> ProviderStatus.OK;
+            case 2 -> ProviderStatus.DISABLED;
+            case 3 -> ProviderStatus.PARTIAL;
+            case 4 -> ProviderStatus.SKIPPED;
+            case 5 -> ProviderStatus.TIMEOUT;
+            case 6 -> ProviderStatus.FAILED;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
+import com.roadify.places.infrastructure.route.RouteSummary;
+import lombok.Value;
+
+/**
+ * Route data prepared once per route for the places pipeline.
+ *
+ * route.geometry is the (simplified) encoded polyline that providers receive,
+ * polyline / segmentIndex are the decoded form used for detour computation.
+ */
+@Value
+public class RouteGeometry {
+    RouteSummary route;
+    PackedPolyline polyline;
+    SegmentGridIndex segmentIndex;
+    int originalVertexCount;
+    double maxErrorMeters;
+}
@@ -0,0 +1,190 @@
+package com.roadify.places.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.geo.PolylineDecoder;
+import com.roadify.places.infrastructure.geo.PolylineEncoder;
+import com.roadify.places.infrastructure.geo.RouteGeometryProperties;
+import com.roadify.places.infrastructure.geo.RouteSimplifier;
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
+import com.roadify.places.infrastructure.geo.SimplificationResult;
+import com.roadify.places.infrastructure.route.RouteSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Fetches a route and prepares its geometry for the places pipeline:
+ * decode -> simplify (Douglas–Peucker) -> segment index.
+ *
+ * The simplified polyline is cached in Redis next to the route
+ * (route:{id}:geometry:SIMPLIFIED:{tolerance}m), so later cache misses
+ * skip both the route-service call and the simplification.
+ *
+ * In front of Redis an in-heap L1 keeps the prepared {@link RouteGeometry} itself, so repeated
+ * loads of the same route also skip the Redis read, the decode and the index build.
+ * L1 is bounded by total vertex count; routes never change, so entries have no TTL.
+ * Metrics: standard Caffeine cache metrics under cache=route_geometry_l1.
+ */
+@Service
+@Slf4j
+public class RouteGeometryService {
+
+    private static final String FIELD_GEOMETRY = "geometry";
+    private static final String FIELD_DISTANCE_KM = "distanceKm";
+    private static final String FIELD_DURATION_MINUTES = "durationMinutes";
+    private static final String FIELD_ORIGINAL_VERTICES = "originalVertices";
+    private static final String FIELD_MAX_ERROR_METERS = "maxErrorMeters";
+
+    private final RouteServiceClient routeServiceClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RouteGeometryProperties properties;
+
+    private final Cache<String, RouteGeometry> l1;
+
+    public RouteGeometryService(RouteServiceClient routeServiceClient,
+                                StringRedisTemplate stringRedisTemplate,
+                                RouteGeometryProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.routeServiceClient = routeServiceClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(properties.getL1MaxVertices())
+                .weigher((String routeId, RouteGeometry geometry) -> geometry.getPolyline().size() + 1)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "route_geometry_l1");
+    }
+
+    public RouteGeometry getRouteGeometry(String routeId) {
+        if (properties.isL1Enabled()) {
+            RouteGeometry local = l1.getIfPresent(routeId);
+            if (local != null) {
+                log.debug("[RouteGeometryService] Cache hit(L1). routeId={}, vertices={}",
+                        routeId, local.getPolyline().size());
+                return local;
+            }
+        }
+
+        RouteGeometry geometry = loadRouteGeometry(routeId);
+
+        // Undecodable geometry is not kept, the next request asks route-service again
+        if (properties.isL1Enabled() && !geometry.getPolyline().isEmpty()) {
+            l1.put(routeId, geometry);
+        }
+        return geometry;
+    }
+
+    private RouteGeometry loadRouteGeometry(String routeId) {
+        String key = buildSimplifiedCacheKey(routeId);
+
+        RouteGeometry cached = readFromCache(routeId, key);
+        if (cached != null) {
+            log.info("[RouteGeometryService] Cache hit(SIMPLIFIED). key={}, vertices={}",
+                    key, cached.getPolyline().size());
+            return cached;
+        }
+
+        RouteSummary route = routeServiceClient.getRouteById(routeId);
+        PackedPolyline full = PolylineDecoder.decode(route.getGeometry());
+
+        SimplificationResult result = properties.isSimplifyEnabled()
+                ? RouteSimplifier.simplify(full, properties.getSimplifyToleranceMeters())
+                : new SimplificationResult(full, full.size(), 0.0);
+
+        // Nothing removed -> keep the original encoding (also keeps null/blank geometry as-is)
+        String encoded = (result.polyline() == full)
+                ? route.getGeometry()
+                : PolylineEncoder.encode(result.polyline());
+
+        log.info(
+                "[RouteGeometryService] Simplified route geometry. routeId={}, vertices={}->{}, reduction={}, maxErrorM={}, toleranceM={}",
+                routeId,
+                result.originalVertexCount(),
+                result.polyline().size(),
+                String.format("%.3f", result.reductionRatio()),
+                String.format("%.2f", result.maxErrorMeters()),
+                properties.getSimplifyToleranceMeters()
+        );
+
+        RouteSummary simplifiedRoute = new RouteSummary(
+                route.getId(),
+                route.getDistanceKm(),
+                route.getDurationMinutes(),
+                encoded
+        );
+
+        if (!full.isEmpty()) {
+            writeToCache(key, simplifiedRoute, result);
+        }
+
+        return new RouteGeometry(
+                simplifiedRoute,
+                result.polyline(),
+                SegmentGridIndex.build(result.polyline()),
+                result.originalVertexCount(),
+                result.maxErrorMeters()
+        );
+    }
+
+    private RouteGeometry readFromCache(String routeId, String key) {
+        Map<Object, Object> fields;
+        try {
+            fields = stringRedisTemplate.<Object, Object>opsForHash().entries(key);
+        } catch (Exception e) {
+            log.warn("[RouteGeometryService] Failed to read simplified geometry from Redis, key={}. Proceeding without cache.", key, e);
+            return null;
+        }
+
+        if (fields == null || !(fields.get(FIELD_GEOMETRY) instanceof String geometry)) {
+            return null;
+        }
+
+        try {
+            PackedPolyline polyline = PolylineDecoder.decode(geometry);
+            RouteSummary route = new RouteSummary(
+                    routeId,
+                    Double.parseDouble(String.valueOf(fields.get(FIELD_DISTANCE_KM))),
+                    Double.parseDouble(String.valueOf(fields.get(FIELD_DURATION_MINUTES))),
+                    geometry
+            );
+            return new RouteGeometry(
+                    route,
+                    polyline,
+                    SegmentGridIndex.build(polyline),
+                    Integer.parseInt(String.valueOf(fields.get(FIELD_ORIGINAL_VERTICES))),
+                    Double.parseDouble(String.valueOf(fields.get(FIELD_MAX_ERROR_METERS)))
+            );
+        } catch (NumberFormatException e) {
+            log.warn("[RouteGeometryService] Corrupt simplified geometry entry, key={}. Ignoring it.", key, e);
+            return null;
+        }
+    }
+
+    private void writeToCache(String key, RouteSummary route, SimplificationResult result) {
+        try {
+            stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                    FIELD_GEOMETRY, route.getGeometry(),
+                    FIELD_DISTANCE_KM, String.valueOf(route.getDistanceKm()),
+                    FIELD_DURATION_MINUTES, String.valueOf(route.getDurationMinutes()),
+                    FIELD_ORIGINAL_VERTICES, String.valueOf(result.originalVertexCount()),
+                    FIELD_MAX_ERROR_METERS, String.valueOf(result.maxErrorMeters())
+            ));
+            stringRedisTemplate.expire(key, properties.getCacheTtl());
+        } catch (Exception e) {
+            log.warn("[RouteGeometryService] Failed to cache simplified geometry, key={}. Proceeding without cache.", key, e);
+        }
+    }
+
+    private String buildSimplifiedCacheKey(String routeId) {
+        double tolerance = properties.isSimplifyEnabled() ? properties.getSimplifyToleranceMeters() : 0.0;
+        return "route:" + routeId + ":geometry:SIMPLIFIED:" + tolerance + "m";
+    }
+}
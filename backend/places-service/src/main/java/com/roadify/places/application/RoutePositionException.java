@@ -0,0 +1,12 @@
+package com.roadify.places.application;
+
+/**
+ * Exception thrown when an upcoming-places request has no usable route position:
+ * neither currentKm nor a live position, or a position too far from the route to snap.
+ */
+public class RoutePositionException extends RuntimeException {
+
+    public RoutePositionException(String message) {
+        super(message);
+    }
+}
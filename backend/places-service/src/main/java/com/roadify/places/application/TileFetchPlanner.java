@@ -0,0 +1,279 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
+import com.roadify.places.infrastructure.provider.ProviderProperties;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.tile.GeoHashTiles;
+import com.roadify.places.infrastructure.tile.GeoTile;
+import com.roadify.places.infrastructure.tile.TileProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Plans provider fetches over fixed geohash tiles covering the buffered route corridor.
+ *
+ * Tiles are cached in Redis under places:tile:{provider}:{geohash}:{categorySet}, so routes
+ * sharing highways share provider work. Only tiles missing from the cache are fetched;
+ * the place list is then assembled from all corridor tiles and trimmed to the corridor.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TileFetchPlanner {
+
+    private final RedisTemplate<String, RawPlace[]> placesTileRedisTemplate;
+    private final TileProperties properties;
+    private final ProviderProperties providerProperties;
+    private final ExecutorService providerFetchExecutor;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Assembles the corridor places of one provider.
+     *
+     * Missing tiles are fetched concurrently (bounded by the provider's tile concurrency). Tiles still in flight
+     * at the deadline are reported as timed out; they keep running in the background and
+     * populate the tile cache for the next request.
+     */
+    public TileFetchResult fetch(String provider,
+                                 String categorySet,
+                                 RouteGeometry routeGeometry,
+                                 Function<GeoTile, List<RawPlace>> tileFetcher,
+                                 Duration deadline) {
+        return fetch(provider, categorySet, routeGeometry, tileFetcher, deadline,
+                new Semaphore(Math.max(1, providerProperties.tileConcurrencyOf(provider))));
+    }
+
+    /**
+     * Same as {@link #fetch(String, String, RouteGeometry, Function, Duration)}, but tile calls take
+     * their slot from the given permits. Category shards of one provider pass the same permits so
+     * tileConcurrency bounds the provider as a whole, not every shard on its own.
+     */
+    public TileFetchResult fetch(String provider,
+                                 String categorySet,
+                                 RouteGeometry routeGeometry,
+                                 Function<GeoTile, List<RawPlace>> tileFetcher,
+                                 Duration deadline,
+                                 Semaphore permits) {
+        return assemble(provider, categorySet, routeGeometry, tileFetcher, deadline, permits);
+    }
+
+    /**
+     * Assembles the corridor places of one provider from the tile cache only; missing tiles
+     * are not fetched. Used when the provider is skipped for being too slow.
+     */
+    public TileFetchResult fetchCached(String provider, String categorySet, RouteGeometry routeGeometry) {
+        return assemble(provider, categorySet, routeGeometry, null, Duration.ZERO, null);
+    }
+
+    /**
+     * @param tileFetcher null = cache only
+     * @param permits     tile call slots of the provider, unused when cache only
+     */
+    private TileFetchResult assemble(String provider,
+                                     String categorySet,
+                                     RouteGeometry routeGeometry,
+                                     Function<GeoTile, List<RawPlace>> tileFetcher,
+                                     Duration deadline,
+                                     Semaphore permits) {
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        List<GeoTile> tiles = GeoHashTiles.coverCorridor(
+                routeGeometry.getPolyline(),
+                properties.getCorridorBufferMeters(),
+                properties.getPrecision()
+        );
+        if (tiles.isEmpty()) {
+            return new TileFetchResult(List.of(), true, 0, 0, 0, 0, 0);
+        }
+
+        List<String> keys = tiles.stream()
+                .map(tile -> buildTileKey(provider, tile, categorySet))
+                .toList();
+        List<RawPlace[]> cached = safeMultiGet(keys);
+
+        List<RawPlace> assembled = new ArrayList<>();
+        List<CompletableFuture<List<RawPlace>>> inFlight = new ArrayList<>();
+        int hits = 0;
+        int missing = 0;
+
+        for (int i = 0; i < tiles.size(); i++) {
+            RawPlace[] tilePlaces = cached.get(i);
+            if (tilePlaces != null) {
+                assembled.addAll(Arrays.asList(tilePlaces));
+                hits++;
+            } else if (tileFetcher == null || inFlight.size() >= properties.getMaxTileFetchesPerRequest()) {
+                missing++;
+            } else {
+                GeoTile tile = tiles.get(i);
+                String key = keys.get(i);
+                inFlight.add(CompletableFuture.supplyAsync(
+                        () -> fetchTile(provider, tile, key, tileFetcher, permits, deadlineNanos),
+                        providerFetchExecutor
+                ));
+            }
+        }
+
+        int fetched = 0;
+        int timedOut = 0;
+        int truncated = 0;
+        for (CompletableFuture<List<RawPlace>> future : inFlight) {
+            try {
+                long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+                assembled.addAll(future.get(remaining, TimeUnit.NANOSECONDS));
+                fetched++;
+            } catch (TimeoutException e) {
+                timedOut++;
+                missing++;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof TruncatedResultException cut) {
+                    // places are used, but the tile stays uncached and counts as missing (-> PARTIAL)
+                    assembled.addAll(cut.getPlaces());
+                    truncated++;
+                } else {
+                    // never cache a failed tile; it is retried by the next request
+                    log.warn("[TileFetchPlanner] Tile fetch failed. provider={}", provider, e.getCause());
+                }
+                missing++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                missing++;
+            }
+        }
+
+        List<RawPlace> places = trimToCorridor(assembled, routeGeometry.getSegmentIndex());
+
+        log.info(
+                "[TileFetchPlanner] provider={}, categorySet={}, cacheOnly={}, tiles={}, cacheHits={}, fetched={}, missing={}, timedOut={}, truncated={}, places={}",
+                provider, categorySet, tileFetcher == null, tiles.size(), hits, fetched, missing, timedOut, truncated, places.size()
+        );
+
+        return new TileFetchResult(places, missing == 0, tiles.size(), hits, fetched, missing, timedOut);
+    }
+
+    private List<RawPlace> fetchTile(String provider,
+                                     GeoTile tile,
+                                     String key,
+                                     Function<GeoTile, List<RawPlace>> tileFetcher,
+                                     Semaphore permits,
+                                     long deadlineNanos) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderFetchException("Interrupted while waiting for a " + provider + " tile slot", e);
+        }
+
+        try {
+            // Queued behind other tiles past the deadline -> nobody waits for it anymore
+            if (System.nanoTime() > deadlineNanos) {
+                throw new ProviderFetchException("Deadline passed before fetching " + provider + " tile " + tile.hash());
+            }
+
+            List<RawPlace> places = fetchSplitting(provider, tile, tileFetcher, properties.getMaxSplitDepth());
+            safePut(key, places.toArray(new RawPlace[0]));
+            return places;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Fetches a tile; an answer cut off at the provider cap is replaced by the union of its four
+     * quadrants, so a dense tile ends up cached complete instead of being re-queried every request.
+     *
+     * @throws TruncatedResultException when a quadrant is still cut off at maxSplitDepth
+     *                                  (places of all quadrants attached)
+     */
+    private List<RawPlace> fetchSplitting(String provider,
+                                          GeoTile tile,
+                                          Function<GeoTile, List<RawPlace>> tileFetcher,
+                                          int depth) {
+        try {
+            List<RawPlace> result = tileFetcher.apply(tile);
+            return (result != null) ? result : List.of();
+        } catch (TruncatedResultException cut) {
+            if (depth <= 0) throw cut;
+            log.info("[TileFetchPlanner] Tile answer cut off, splitting. provider={}, tile={}", provider, tile.hash());
+        }
+
+        List<RawPlace> union = new ArrayList<>();
+        TruncatedResultException stillCut = null;
+        for (GeoTile quadrant : tile.quadrants()) {
+            try {
+                union.addAll(fetchSplitting(provider, quadrant, tileFetcher, depth - 1));
+            } catch (TruncatedResultException cut) {
+                union.addAll(cut.getPlaces());
+                stillCut = cut;
+            }
+        }
+        if (stillCut != null) {
+            throw new TruncatedResultException(stillCut.getMessage(), union);
+        }
+        return union;
+    }
+
+    /**
+     * Tiles overshoot the corridor and neighbouring tiles may return the same place,
+     * so keep only unique places within the corridor buffer.
+     */
+    private List<RawPlace> trimToCorridor(List<RawPlace> places, SegmentGridIndex index) {
+        double bufferKm = properties.getCorridorBufferMeters() / 1000.0;
+        Set<String> seen = new HashSet<>();
+        List<RawPlace> result = new ArrayList<>(places.size());
+
+        for (RawPlace place : places) {
+            if (place == null) continue;
+            if (!seen.add(place.getProvider() + ":" + place.getExternalId())) continue;
+            if (!index.isEmpty()
+                    && index.nearestSegmentDistanceKm(place.getLatitude(), place.getLongitude()) > bufferKm) {
+                continue;
+            }
+            result.add(place);
+        }
+        return result;
+    }
+
+    private List<RawPlace[]> safeMultiGet(List<String> keys) {
+        try {
+            List<RawPlace[]> values = placesTileRedisTemplate.opsForValue().multiGet(keys);
+            if (values != null && values.size() == keys.size()) {
+                return values;
+            }
+        } catch (Exception e) {
+            log.warn("[TileFetchPlanner] Failed to read tiles from Redis. Proceeding without tile cache.", e);
+        }
+        return Arrays.asList(new RawPlace[keys.size()][]);
+    }
+
+    private void safePut(String key, RawPlace[] places) {
+        try {
+            placesTileRedisTemplate.opsForValue().set(key, places, properties.getTtl());
+        } catch (Exception e) {
+            log.warn("[TileFetchPlanner] Failed to cache tile, key={}. Proceeding without tile cache.", key, e);
+        }
+    }
+
+    private String buildTileKey(String provider, GeoTile tile, String categorySet) {
+        return "places:tile:" + provider + ":" + tile.hash() + ":" + categorySet;
+    }
+}
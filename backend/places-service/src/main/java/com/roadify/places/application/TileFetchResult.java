@@ -0,0 +1,32 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.provider.RawPlace;
+
+import java.util.List;
+
+/**
+ * Places assembled from corridor tiles for one provider.
+ *
+ * @param places    raw places inside the route corridor, deduplicated across tiles
+ * @param complete  true if every corridor tile came from cache or was fetched successfully
+ * @param tiles     number of tiles covering the corridor
+ * @param cacheHits tiles served from the tile cache
+ * @param fetched   tiles fetched from the provider in this call
+ * @param missing   tiles neither cached nor fetched (failure, deadline, per-request cap or truncated response)
+ * @param timedOut  tiles still in flight when the deadline passed (subset of missing)
+ */
+public record TileFetchResult(
+        List<RawPlace> places,
+        boolean complete,
+        int tiles,
+        int cacheHits,
+        int fetched,
+        int missing,
+        int timedOut
+) {
+
+    public ProviderStatus status() {
+        if (complete) return ProviderStatus.OK;
+        return timedOut > 0 ? ProviderStatus.TIMEOUT : ProviderStatus.PARTIAL;
+    }
+}
@@ -0,0 +1,23 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.provider.RawPlace;
+
+import java.util.List;
+
+/**
+ * The provider answered, but the response was cut off at a configured cap (e.g. Overpass maxElements).
+ * Carries the places read so far; they may be served, but never cached as a complete result.
+ */
+public class TruncatedResultException extends ProviderFetchException {
+
+    private final transient List<RawPlace> places;
+
+    public TruncatedResultException(String message, List<RawPlace> places) {
+        super(message);
+        this.places = places;
+    }
+
+    public List<RawPlace> getPlaces() {
+        return places;
+    }
+}
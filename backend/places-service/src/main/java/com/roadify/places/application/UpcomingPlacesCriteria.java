@@ -0,0 +1,22 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.PlaceCategory;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * "Places in the next windowKm" along a route.
+ * The window starts at currentKm, or at the km marker the live position (latitude/longitude) snaps to.
+ */
+@Value
+@Builder
+public class UpcomingPlacesCriteria {
+    /** Km from route start; when set, latitude/longitude are ignored. */
+    Double currentKm;
+    Double latitude;
+    Double longitude;
+    double windowKm;
+    PlaceCategory category;
+    Double maxDetourKm;
+    Integer limit;
+}
@@ -0,0 +1,24 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.Place;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Places ahead of the traveller, ordered by routeKm, plus the km marker the window started at.
+ * providerStatuses / providerDecisions are empty when the list came from the cache.
+ */
+@Value
+public class UpcomingPlacesResult {
+    List<Place> places;
+    double currentKm;
+    Map<String, ProviderStatus> providerStatuses;
+    Map<String, ProviderDecision> providerDecisions;
+
+    /** True if at least one provider failed or missed its deadline. */
+    public boolean isPartial() {
+        return providerStatuses.values().stream().anyMatch(status -> !status.isComplete());
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Domain model representing a place along a route.
  */
@@ -21,4 +23,8 @@ public class Place {
     private double longitude;
     private Double rating;   // nullable
     private double detourKm; // primitive: never null, defaults to 0.0 if not set
+    // along-route km marker of the closest route point (NaN = unknown, also for legacy JSON without the field)
+    @Builder.Default
+    private double routeKm = Double.NaN;
+    private List<String> mergedIds; // ids of other providers' records merged into this one (null = none)
 }
@@ -0,0 +1,231 @@
+package com.roadify.places.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Columnar working set of places for the cache-miss pipeline (normalize -> dedupe -> detour).
+ *
+ * One primitive array per numeric field instead of one object per place: ratings are plain
+ * doubles (NaN = no rating), categories are ordinals in a byte array (-1 = none), and detour /
+ * route km columns are written in place by the batch detour calculator. {@link Place} objects
+ * are only built once the list is final ({@link #toPlaces()}).
+ *
+ * Arrays may be longer than {@link #size()}; only the first size() entries are valid.
+ * Not thread-safe.
+ */
+public final class PlaceBatch {
+
+    private static final PlaceCategory[] CATEGORIES = PlaceCategory.values();
+    private static final byte NO_CATEGORY = -1;
+
+    private String[] ids;
+    private String[] names;
+    private byte[] categories;
+    private double[] lats;
+    private double[] lons;
+    private double[] ratings;
+    private double[] detourKms;
+    private double[] routeKms;
+    private String[][] mergedIds; // mostly null, only cross-provider merges set it
+
+    private int size;
+
+    private PlaceBatch(int capacity) {
+        int c = Math.max(capacity, 4);
+        ids = new String[c];
+        names = new String[c];
+        categories = new byte[c];
+        lats = new double[c];
+        lons = new double[c];
+        ratings = new double[c];
+        detourKms = new double[c];
+        routeKms = new double[c];
+        mergedIds = new String[c][];
+    }
+
+    public static PlaceBatch withCapacity(int capacity) {
+        return new PlaceBatch(capacity);
+    }
+
+    public static PlaceBatch fromPlaces(List<Place> places) {
+        PlaceBatch batch = new PlaceBatch(places.size());
+        for (Place place : places) {
+            int i = batch.add(place.getId(), place.getName(), place.getCategory(),
+                    place.getLatitude(), place.getLongitude(), place.getRating());
+            batch.detourKms[i] = place.getDetourKm();
+            batch.routeKms[i] = place.getRouteKm();
+            if (place.getMergedIds() != null) batch.mergedIds[i] = place.getMergedIds().toArray(new String[0]);
+        }
+        return batch;
+    }
+
+    /**
+     * Appends a place with detourKm 0.0 and unknown routeKm (NaN); returns its index.
+     */
+    public int add(String id, String name, PlaceCategory category, double lat, double lon, Double rating) {
+        if (size == ids.length) grow();
+        int i = size++;
+        ids[i] = id;
+        names[i] = name;
+        categories[i] = category == null ? NO_CATEGORY : (byte) category.ordinal();
+        lats[i] = lat;
+        lons[i] = lon;
+        ratings[i] = rating == null ? Double.NaN : rating;
+        detourKms[i] = 0.0;
+        routeKms[i] = Double.NaN;
+        mergedIds[i] = null;
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String id(int i) {
+        return ids[i];
+    }
+
+    public String name(int i) {
+        return names[i];
+    }
+
+    public PlaceCategory category(int i) {
+        return categories[i] == NO_CATEGORY ? null : CATEGORIES[categories[i]];
+    }
+
+    public double latitude(int i) {
+        return lats[i];
+    }
+
+    public double longitude(int i) {
+        return lons[i];
+    }
+
+    /** NaN when the provider had no rating. */
+    public double rating(int i) {
+        return ratings[i];
+    }
+
+    public double detourKm(int i) {
+        return detourKms[i];
+    }
+
+    public double routeKm(int i) {
+        return routeKms[i];
+    }
+
+    /** Ids merged into place i, null when none. */
+    public String[] mergedIds(int i) {
+        return mergedIds[i];
+    }
+
+    public void setName(int i, String name) {
+        names[i] = name;
+    }
+
+    public void setRating(int i, double rating) {
+        ratings[i] = rating;
+    }
+
+    public void setMergedIds(int i, String[] ids) {
+        mergedIds[i] = ids;
+    }
+
+    // Backing columns, valid in [0, size()). Callers may write detour/routeKm, must not resize.
+
+    public double[] latitudes() {
+        return lats;
+    }
+
+    public double[] longitudes() {
+        return lons;
+    }
+
+    public double[] detourKms() {
+        return detourKms;
+    }
+
+    public double[] routeKms() {
+        return routeKms;
+    }
+
+    /**
+     * Keeps only places whose category is in the set; returns how many were removed.
+     */
+    public int retainCategories(Set<PlaceCategory> keep) {
+        boolean[] kept = new boolean[CATEGORIES.length];
+        for (PlaceCategory category : keep) kept[category.ordinal()] = true;
+        return retain(i -> categories[i] != NO_CATEGORY && kept[categories[i]]);
+    }
+
+    /**
+     * Compacts the batch to the places matching the predicate, keeping their order;
+     * returns how many were removed. The predicate sees indexes of the batch before compaction.
+     */
+    public int retain(IntPredicate keep) {
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            if (!keep.test(r)) continue;
+            if (w != r) {
+                ids[w] = ids[r];
+                names[w] = names[r];
+                categories[w] = categories[r];
+                lats[w] = lats[r];
+                lons[w] = lons[r];
+                ratings[w] = ratings[r];
+                detourKms[w] = detourKms[r];
+                routeKms[w] = routeKms[r];
+                mergedIds[w] = mergedIds[r];
+            }
+            w++;
+        }
+        int removed = size - w;
+        // drop references beyond the new end
+        Arrays.fill(ids, w, size, null);
+        Arrays.fill(names, w, size, null);
+        Arrays.fill(mergedIds, w, size, null);
+        size = w;
+        return removed;
+    }
+
+    public Place toPlace(int i) {
+        return Place.builder()
+                .id(ids[i])
+                .name(names[i])
+                .category(category(i))
+                .latitude(lats[i])
+                .longitude(lons[i])
+                .rating(Double.isNaN(ratings[i]) ? null : ratings[i])
+                .detourKm(detourKms[i])
+                .routeKm(routeKms[i])
+                .mergedIds(mergedIds[i] == null ? null : List.of(mergedIds[i]))
+                .build();
+    }
+
+    public List<Place> toPlaces() {
+        List<Place> places = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) places.add(toPlace(i));
+        return places;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1) + 1;
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        lats = Arrays.copyOf(lats, capacity);
+        lons = Arrays.copyOf(lons, capacity);
+        ratings = Arrays.copyOf(ratings, capacity);
+        detourKms = Arrays.copyOf(detourKms, capacity);
+        routeKms = Arrays.copyOf(routeKms, capacity);
+        mergedIds = Arrays.copyOf(mergedIds, capacity);
+    }
+}
@@ -0,0 +1,283 @@
+package com.roadify.places.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only secondary index over a BASE place list.
+ *
+ * Places are kept sorted by (detourKm, id), once for all categories and once per category.
+ * A category + maxDetourKm query is then a binary search for the end of the slice, and
+ * pages are sub-ranges of that slice instead of a full filter pass over the list.
+ *
+ * A second ordering by (routeKm, id) answers "places between km A and km B of the route"
+ * with two binary searches, O(log n + k). Places with unknown routeKm (NaN) sort last
+ * and never fall into a window.
+ *
+ * Built once when the list enters the cache; instances are immutable and shared between requests.
+ */
+public final class PlaceIndex {
+
+    /** Sort order of every slice; also the keyset order used by cursors. */
+    public static final Comparator<Place> ORDER = Comparator
+            .comparingDouble(Place::getDetourKm)
+            .thenComparing(Place::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /** Order of the along-route view; ties by id so windows are stable across rebuilds. */
+    public static final Comparator<Place> ROUTE_ORDER = Comparator
+            .comparingDouble(Place::getRouteKm)
+            .thenComparing(Place::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    public static final PlaceIndex EMPTY = new PlaceIndex(
+            new Place[0], new EnumMap<>(PlaceCategory.class),
+            RouteSpan.EMPTY, new EnumMap<>(PlaceCategory.class));
+
+    private final Slice all;
+    private final Map<PlaceCategory, Slice> byCategory;
+
+    private final RouteSpan alongRoute;
+    private final Map<PlaceCategory, RouteSpan> alongRouteByCategory;
+
+    private PlaceIndex(Place[] sorted, Map<PlaceCategory, Slice> byCategory,
+                       RouteSpan alongRoute, Map<PlaceCategory, RouteSpan> alongRouteByCategory) {
+        this.all = new Slice(sorted, sorted.length);
+        this.byCategory = byCategory;
+        this.alongRoute = alongRoute;
+        this.alongRouteByCategory = alongRouteByCategory;
+    }
+
+    public static PlaceIndex build(List<Place> places) {
+        if (places == null || places.isEmpty()) return EMPTY;
+
+        Place[] sorted = places.toArray(new Place[0]);
+        Arrays.sort(sorted, ORDER);
+
+        // Count per category first so each category array is allocated exactly once
+        int[] counts = new int[PlaceCategory.values().length];
+        for (Place place : sorted) {
+            if (place.getCategory() != null) counts[place.getCategory().ordinal()]++;
+        }
+
+        Place[][] buckets = new Place[counts.length][];
+        int[] fill = new int[counts.length];
+        for (int c = 0; c < counts.length; c++) buckets[c] = new Place[counts[c]];
+
+        // sorted input -> buckets are sorted too
+        for (Place place : sorted) {
+            if (place.getCategory() == null) continue;
+            int c = place.getCategory().ordinal();
+            buckets[c][fill[c]++] = place;
+        }
+
+        Map<PlaceCategory, Slice> byCategory = new EnumMap<>(PlaceCategory.class);
+        for (PlaceCategory category : PlaceCategory.values()) {
+            Place[] bucket = buckets[category.ordinal()];
+            if (bucket.length > 0) byCategory.put(category, new Slice(bucket, bucket.length));
+        }
+
+        // Along-route view: same bucketing, different order
+        Place[] byRouteKm = sorted.clone();
+        Arrays.sort(byRouteKm, ROUTE_ORDER);
+
+        Arrays.fill(fill, 0);
+        for (int c = 0; c < counts.length; c++) buckets[c] = new Place[counts[c]];
+        for (Place place : byRouteKm) {
+            if (place.getCategory() == null) continue;
+            int c = place.getCategory().ordinal();
+            buckets[c][fill[c]++] = place;
+        }
+
+        Map<PlaceCategory, RouteSpan> alongRouteByCategory = new EnumMap<>(PlaceCategory.class);
+        for (PlaceCategory category : PlaceCategory.values()) {
+            Place[] bucket = buckets[category.ordinal()];
+            if (bucket.length > 0) alongRouteByCategory.put(category, new RouteSpan(bucket));
+        }
+
+        return new PlaceIndex(sorted, byCategory, new RouteSpan(byRouteKm), alongRouteByCategory);
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public boolean isEmpty() {
+        return all.size() == 0;
+    }
+
+    /** All places in index order. */
+    public List<Place> places() {
+        return all.subList(0, all.size());
+    }
+
+    /**
+     * Places of the category (null = all) with detourKm <= maxDetourKm (null = no limit), in index order.
+     */
+    public Slice slice(PlaceCategory category, Double maxDetourKm) {
+        Slice source = (category == null) ? all : byCategory.getOrDefault(category, Slice.EMPTY);
+        if (maxDetourKm == null) return source;
+        return source.truncate(source.upperBound(maxDetourKm));
+    }
+
+    /**
+     * Places of any of the categories (null or empty = all) with detourKm <= maxDetourKm, in index order.
+     *
+     * A single category is its stored slice. Several categories are picked from the detour-bounded
+     * list in one pass, testing each place's ordinal against a bitmask of the set.
+     */
+    public Slice sliceAnyOf(Set<PlaceCategory> categories, Double maxDetourKm) {
+        if (categories == null || categories.isEmpty()) return slice(null, maxDetourKm);
+        if (categories.size() == 1) return slice(categories.iterator().next(), maxDetourKm);
+
+        long mask = 0L;
+        for (PlaceCategory category : categories) mask |= 1L << category.ordinal();
+
+        Slice source = slice(null, maxDetourKm);
+        Place[] selected = new Place[source.size()];
+        int n = 0;
+        for (int i = 0; i < source.size(); i++) {
+            Place place = source.places[i];
+            if (place.getCategory() != null && (mask & (1L << place.getCategory().ordinal())) != 0) {
+                selected[n++] = place;
+            }
+        }
+        return new Slice(selected, n);
+    }
+
+    /**
+     * Number of places per category with detourKm <= maxDetourKm (null = no limit), every category
+     * listed (0 when empty). One binary search per category slice, no pass over the places.
+     */
+    public Map<PlaceCategory, Integer> categoryCounts(Double maxDetourKm) {
+        Map<PlaceCategory, Integer> counts = new EnumMap<>(PlaceCategory.class);
+        for (PlaceCategory category : PlaceCategory.values()) {
+            counts.put(category, slice(category, maxDetourKm).size());
+        }
+        return counts;
+    }
+
+    /**
+     * Places of the category (null = all) with fromKm <= routeKm <= toKm, ordered by {@link #ROUTE_ORDER}.
+     * Returns an unmodifiable view.
+     */
+    public List<Place> window(PlaceCategory category, double fromKm, double toKm) {
+        RouteSpan source = (category == null) ? alongRoute : alongRouteByCategory.getOrDefault(category, RouteSpan.EMPTY);
+        return source.window(fromKm, toKm);
+    }
+
+    /**
+     * Place array sorted by routeKm, with the markers copied into a primitive array for the searches.
+     */
+    private static final class RouteSpan {
+
+        static final RouteSpan EMPTY = new RouteSpan(new Place[0]);
+
+        private final Place[] places;
+        private final double[] routeKms;
+
+        private RouteSpan(Place[] places) {
+            this.places = places;
+            this.routeKms = new double[places.length];
+            for (int i = 0; i < places.length; i++) routeKms[i] = places[i].getRouteKm();
+        }
+
+        List<Place> window(double fromKm, double toKm) {
+            // NaN markers sit at the end and fail both comparisons, so they stay outside
+            int from = firstAtLeast(fromKm);
+            int to = Math.max(from, firstAbove(toKm));
+            return Collections.unmodifiableList(Arrays.asList(places).subList(from, to));
+        }
+
+        private int firstAtLeast(double km) {
+            int lo = 0, hi = routeKms.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (routeKms[mid] < km) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private int firstAbove(double km) {
+            int lo = 0, hi = routeKms.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (routeKms[mid] <= km) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Prefix [0, end) of a sorted place array.
+     */
+    public static final class Slice {
+
+        static final Slice EMPTY = new Slice(new Place[0], 0);
+
+        private final Place[] places;
+        private final int end;
+
+        private Slice(Place[] places, int end) {
+            this.places = places;
+            this.end = end;
+        }
+
+        public int size() {
+            return end;
+        }
+
+        public Place get(int i) {
+            if (i < 0 || i >= end) throw new IndexOutOfBoundsException(i);
+            return places[i];
+        }
+
+        /** Unmodifiable view of [from, to), clamped to the slice. */
+        public List<Place> subList(int from, int to) {
+            int f = Math.max(0, Math.min(from, end));
+            int t = Math.max(f, Math.min(to, end));
+            return Collections.unmodifiableList(Arrays.asList(places).subList(f, t));
+        }
+
+        /**
+         * First position whose place sorts strictly after (detourKm, id) in {@link #ORDER}.
+         */
+        public int positionAfter(double detourKm, String id) {
+            int lo = 0, hi = end;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compareKey(places[mid], detourKm, id) <= 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        /** First position with detourKm > max (NaN detours sort last and are excluded too). */
+        private int upperBound(double maxDetourKm) {
+            int lo = 0, hi = end;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (places[mid].getDetourKm() <= maxDetourKm) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private Slice truncate(int newEnd) {
+            return newEnd == end ? this : new Slice(places, newEnd);
+        }
+
+        private static int compareKey(Place place, double detourKm, String id) {
+            int byDetour = Double.compare(place.getDetourKm(), detourKm);
+            if (byDetour != 0) return byDetour;
+            if (place.getId() == null) return id == null ? 0 : 1;
+            if (id == null) return -1;
+            return place.getId().compareTo(id);
+        }
+    }
+}
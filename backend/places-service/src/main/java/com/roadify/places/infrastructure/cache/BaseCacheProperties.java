@@ -0,0 +1,92 @@
+package com.roadify.places.infrastructure.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * BASE places cache lifetimes.
+ * Binds roadify.places.base-cache.* from application.yml.
+ *
+ * With stale-while-revalidate the entry lives for hardTtl in Redis; once it is older
+ * than softTtl it is still served, and a single background refresh replaces it.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.base-cache")
+public class BaseCacheProperties {
+
+    private boolean staleWhileRevalidate = true;
+
+    /**
+     * Age after which an entry is considered stale (served, but refreshed in background).
+     */
+    private Duration softTtl = Duration.ofMinutes(10);
+
+    /**
+     * Redis expiry of the entry; older entries are a plain miss.
+     * Ignored when staleWhileRevalidate is off (softTtl is then the expiry).
+     */
+    private Duration hardTtl = Duration.ofHours(1);
+
+    /**
+     * In-heap L1 cache in front of Redis; entries expire together with their Redis key.
+     */
+    private boolean l1Enabled = true;
+
+    /**
+     * L1 capacity as total number of cached places (entries are weighted by list size).
+     */
+    private long l1MaxPlaces = 100_000;
+
+    /**
+     * Redis pub/sub channel used to evict L1 entries on other instances after a BASE write.
+     */
+    private String invalidationChannel = "roadify:places:base:invalidate";
+
+    /**
+     * Write BASE entries in the compact binary format (PlaceArrayRedisSerializer).
+     * Reads accept both formats, but instances older than the binary reader fail on binary entries,
+     * so this stays off (JSON writes) until every instance of a rolling deploy runs the new reader.
+     */
+    private boolean binaryFormat = false;
+
+    /**
+     * Deflate binary entries whose payload is at least compressionThresholdBytes.
+     * Off by default: coordinates barely compress, so it mostly trades CPU for ~20% less memory.
+     */
+    private boolean compressionEnabled = false;
+
+    private int compressionThresholdBytes = 2048;
+
+    /**
+     * Cache partial results (a provider failed) in a separate short-lived tier, so an outage
+     * of one provider does not re-run the whole pipeline (and hit the other provider) on every request.
+     */
+    private boolean degradedEnabled = true;
+
+    /**
+     * Redis expiry of degraded entries; kept short since they miss a provider's places.
+     */
+    private Duration degradedTtl = Duration.ofMinutes(2);
+
+    /**
+     * Redis hash of degraded keys waiting for a repair, shared by all instances.
+     */
+    private String degradedRepairKey = "roadify:places:degraded:repair";
+
+    /**
+     * How often degraded entries are recomputed to upgrade them to full results.
+     */
+    private Duration repairInterval = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound of routes recomputed per repair run.
+     */
+    private int repairBatchSize = 10;
+
+    public Duration effectiveHardTtl() {
+        if (!staleWhileRevalidate || hardTtl.compareTo(softTtl) < 0) return softTtl;
+        return hardTtl;
+    }
+}
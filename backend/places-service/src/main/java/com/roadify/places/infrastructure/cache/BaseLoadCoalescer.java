@@ -0,0 +1,189 @@
+package com.roadify.places.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for expensive cache fills: one computation per key serves all concurrent waiters.
+ *
+ * In-instance: the first caller for a key becomes the leader, later callers join its future.
+ * Across instances (optional): the leader additionally takes a Redis lock; if another instance
+ * holds it, the leader polls the cache for that instance's result before computing itself.
+ *
+ * Background refreshes (stale-while-revalidate) are deduplicated the same way: at most one
+ * refresh per key in this instance, and with the Redis lock at most one across instances.
+ *
+ * Metrics: roadify.places.base.load{role=leader|local_waiter|remote_waiter},
+ * the gauge roadify.places.base.load.inflight and roadify.places.base.refresh{result=started|deduplicated}.
+ */
+@Slf4j
+@Component
+public class BaseLoadCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    // Refreshes block on provider I/O, virtual threads keep them cheap
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final RedisSingleFlightLock redisLock;
+    private final SingleFlightProperties properties;
+
+    private final Counter leaders;
+    private final Counter localWaiters;
+    private final Counter remoteWaiters;
+    private final Counter refreshesStarted;
+    private final Counter refreshesDeduplicated;
+
+    public BaseLoadCoalescer(RedisSingleFlightLock redisLock,
+                             SingleFlightProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.redisLock = redisLock;
+        this.properties = properties;
+        this.leaders = meterRegistry.counter("roadify.places.base.load", "role", "leader");
+        this.localWaiters = meterRegistry.counter("roadify.places.base.load", "role", "local_waiter");
+        this.remoteWaiters = meterRegistry.counter("roadify.places.base.load", "role", "remote_waiter");
+        this.refreshesStarted = meterRegistry.counter("roadify.places.base.refresh", "result", "started");
+        this.refreshesDeduplicated = meterRegistry.counter("roadify.places.base.refresh", "result", "deduplicated");
+        Gauge.builder("roadify.places.base.load.inflight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @param key        cache key being filled
+     * @param cacheProbe reads the cache; returns null while the entry is missing
+     * @param loader     computes (and caches) the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cacheProbe, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            localWaiters.increment();
+            log.debug("[BaseLoadCoalescer] Joining in-flight load. key={}", key);
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) throw cause;
+                throw e;
+            }
+        }
+
+        leaders.increment();
+        try {
+            T value = properties.isDistributedEnabled()
+                    ? loadWithRedisLock(key, cacheProbe, loader)
+                    : loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Runs the refresher in the background unless a refresh (or a load) of this key is already running.
+     *
+     * @return true if a refresh was started
+     */
+    public boolean refreshInBackground(String key, Runnable refresher) {
+        if (inFlight.containsKey(key) || !refreshing.add(key)) {
+            refreshesDeduplicated.increment();
+            return false;
+        }
+
+        try {
+            refreshExecutor.execute(() -> runRefresh(key, refresher));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.warn("[BaseLoadCoalescer] Refresh rejected, key={}", key, e);
+            return false;
+        }
+        refreshesStarted.increment();
+        return true;
+    }
+
+    private void runRefresh(String key, Runnable refresher) {
+        String lockKey = "refresh:" + key;
+        String token = UUID.randomUUID().toString();
+        boolean locked = false;
+        try {
+            if (properties.isDistributedEnabled()) {
+                locked = redisLock.tryAcquire(lockKey, token, properties.getLockTtl());
+                if (!locked) {
+                    // Another instance is already refreshing this entry
+                    refreshesDeduplicated.increment();
+                    return;
+                }
+            }
+            refresher.run();
+            log.info("[BaseLoadCoalescer] Background refresh done. key={}", key);
+        } catch (Exception e) {
+            // Stale entry stays in place until its hard TTL; next stale hit retries
+            log.warn("[BaseLoadCoalescer] Background refresh failed, key={}", key, e);
+        } finally {
+            if (locked) redisLock.release(lockKey, token);
+            refreshing.remove(key);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private <T> T loadWithRedisLock(String key, Supplier<T> cacheProbe, Supplier<T> loader) {
+        String token = UUID.randomUUID().toString();
+
+        if (redisLock.tryAcquire(key, token, properties.getLockTtl())) {
+            try {
+                // Another instance may have filled the cache between our miss and the lock
+                T cached = cacheProbe.get();
+                return (cached != null) ? cached : loader.get();
+            } finally {
+                redisLock.release(key, token);
+            }
+        }
+
+        remoteWaiters.increment();
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(properties.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            T cached = cacheProbe.get();
+            if (cached != null) {
+                log.debug("[BaseLoadCoalescer] Served by another instance. key={}", key);
+                return cached;
+            }
+            // Holder finished without caching (e.g. partial result) -> compute ourselves
+            if (!redisLock.isHeld(key)) break;
+        }
+
+        log.info("[BaseLoadCoalescer] No result from lock holder, computing locally. key={}", key);
+        return loader.get();
+    }
+}
@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.PlaceIndex;
+
+/**
+ * Degraded places read from {@link DegradedPlacesCache}.
+ *
+ * @param index        category/detour index, shared between requests
+ * @param providerBits provider statuses of the load that produced the list, packed by the caller
+ */
+public record CachedDegradedPlaces(PlaceIndex index, int providerBits) {
+}
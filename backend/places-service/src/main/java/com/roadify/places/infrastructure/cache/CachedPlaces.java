@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.PlaceIndex;
+
+/**
+ * BASE places read from {@link PlacesBaseCache}.
+ *
+ * @param index              category/detour index, shared between requests
+ * @param remainingTtlMillis time left until the entry expires, or -1 if unknown
+ */
+public record CachedPlaces(PlaceIndex index, long remainingTtlMillis) {
+}
@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+
+/**
+ * Redis value of a degraded (partial) place list.
+ *
+ * @param places       places from the providers that answered, in index order
+ * @param providerBits provider statuses of the load that produced the list, packed by the caller
+ */
+public record DegradedPlaces(Place[] places, int providerBits) {
+}
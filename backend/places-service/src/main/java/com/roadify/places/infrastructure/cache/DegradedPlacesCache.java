@@ -0,0 +1,197 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-TTL tier for partial place lists (a provider failed or timed out).
+ *
+ * Entries live next to the full entry under {@code <key>:degraded} and carry the provider
+ * statuses of the load that produced them. A full entry always wins: readers only look here
+ * after a miss in {@link PlacesBaseCache}, so a repaired route simply shadows its degraded entry
+ * until it expires.
+ *
+ * Like the full tier, the built {@link PlaceIndex} is kept in an in-heap L1 until the Redis key
+ * expires, so serving a degraded route does not deserialize and re-index it on every request.
+ * There is no pub/sub invalidation: another instance's newer degraded entry shows up here at
+ * the latest when ours expires (degradedTtl).
+ *
+ * Keys waiting for a repair are tracked in a Redis hash (key -> repair target), so every
+ * instance can repair them, including entries written before a restart.
+ *
+ * Metrics: roadify.places.degraded.cache{result=hit|miss|write}
+ */
+@Slf4j
+@Component
+public class DegradedPlacesCache {
+
+    private static final String KEY_SUFFIX = ":degraded";
+
+    private final RedisTemplate<String, DegradedPlaces> degradedPlacesRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BaseCacheProperties properties;
+
+    private final Cache<String, L1Entry> l1;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter writes;
+
+    public DegradedPlacesCache(RedisTemplate<String, DegradedPlaces> degradedPlacesRedisTemplate,
+                               StringRedisTemplate stringRedisTemplate,
+                               BaseCacheProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.degradedPlacesRedisTemplate = degradedPlacesRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(properties.getL1MaxPlaces())
+                .weigher((String key, L1Entry entry) -> entry.cached().index().size() + 1)
+                .expireAfter(new Expiry<String, L1Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, L1Entry entry, long currentTime) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, L1Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, L1Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.hits = meterRegistry.counter("roadify.places.degraded.cache", "result", "hit");
+        this.misses = meterRegistry.counter("roadify.places.degraded.cache", "result", "miss");
+        this.writes = meterRegistry.counter("roadify.places.degraded.cache", "result", "write");
+    }
+
+    public boolean isEnabled() {
+        return properties.isDegradedEnabled();
+    }
+
+    /**
+     * @param key key of the full entry (BASE or category shard)
+     * @return degraded entry, or null when disabled or missing
+     */
+    public CachedDegradedPlaces get(String key) {
+        if (!isEnabled()) return null;
+
+        if (properties.isL1Enabled()) {
+            L1Entry entry = l1.getIfPresent(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.cached();
+            }
+        }
+
+        String redisKey = degradedKey(key);
+        DegradedPlaces stored = degradedPlacesRedisTemplate.opsForValue().get(redisKey);
+        if (stored == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+
+        // Index is built once per Redis read; L1 hits reuse it
+        CachedDegradedPlaces cached = new CachedDegradedPlaces(
+                PlaceIndex.build(Arrays.asList(stored.places())), stored.providerBits());
+
+        if (properties.isL1Enabled()) {
+            long remainingMillis = readRemainingTtlMillis(redisKey);
+            if (remainingMillis > 0) {
+                l1.put(key, new L1Entry(cached, System.currentTimeMillis() + remainingMillis));
+            }
+        }
+        return cached;
+    }
+
+    public boolean contains(String key) {
+        if (!isEnabled()) return false;
+        if (properties.isL1Enabled() && l1.getIfPresent(key) != null) return true;
+        return Boolean.TRUE.equals(degradedPlacesRedisTemplate.hasKey(degradedKey(key)));
+    }
+
+    /**
+     * Caches a partial list and registers the key for repair.
+     *
+     * @param repairTarget what the repair job needs to recompute the key, opaque to the cache
+     */
+    public void put(String key, PlaceIndex index, int providerBits, String repairTarget) {
+        if (!isEnabled()) return;
+
+        // Stored in index order like full entries
+        DegradedPlaces value = new DegradedPlaces(index.places().toArray(new Place[0]), providerBits);
+        degradedPlacesRedisTemplate.opsForValue().set(degradedKey(key), value, properties.getDegradedTtl());
+        repairTargets().put(properties.getDegradedRepairKey(), key, repairTarget);
+
+        if (properties.isL1Enabled()) {
+            l1.put(key, new L1Entry(new CachedDegradedPlaces(index, providerBits),
+                    System.currentTimeMillis() + properties.getDegradedTtl().toMillis()));
+        }
+        writes.increment();
+        log.debug("[DegradedPlacesCache] Cached degraded entry. key={}, size={}", key, index.size());
+    }
+
+    /**
+     * @return degraded keys waiting for a repair, mapped to the target given to {@link #put}
+     */
+    public Map<String, String> pendingRepairs() {
+        if (!isEnabled()) return Map.of();
+        Map<String, String> pending = repairTargets().entries(properties.getDegradedRepairKey());
+        return (pending != null) ? pending : Map.of();
+    }
+
+    /**
+     * Drops a key from the repair set (repaired, or its degraded entry expired).
+     * The degraded entry itself is left alone; a full entry shadows it until it expires.
+     */
+    public void repaired(String key) {
+        if (!isEnabled()) return;
+        repairTargets().delete(properties.getDegradedRepairKey(), key);
+    }
+
+    private HashOperations<String, String, String> repairTargets() {
+        return stringRedisTemplate.opsForHash();
+    }
+
+    private long readRemainingTtlMillis(String redisKey) {
+        try {
+            Long remaining = degradedPlacesRedisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            return (remaining == null) ? -1 : remaining;
+        } catch (Exception e) {
+            log.warn("[DegradedPlacesCache] Failed to read ttl. key={}", redisKey, e);
+            return -1;
+        }
+    }
+
+    private static String degradedKey(String key) {
+        return key + KEY_SUFFIX;
+    }
+
+    private record L1Entry(CachedDegradedPlaces cached, long expiresAtMillis) {
+
+        long ttlNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiresAtMillis - System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Redis serializer for {@link DegradedPlaces}.
+ *
+ * Layout:
+ * <pre>
+ *   header : 'R' 'D' providerBits (int, big endian)
+ *   places : same encoding as BASE entries ({@link PlaceArrayRedisSerializer})
+ * </pre>
+ */
+public class DegradedPlacesRedisSerializer implements RedisSerializer<DegradedPlaces> {
+
+    static final byte MAGIC_0 = 'R';
+    static final byte MAGIC_1 = 'D';
+
+    private static final int HEADER_SIZE = 2 + Integer.BYTES;
+
+    private final PlaceArrayRedisSerializer placesSerializer;
+
+    public DegradedPlacesRedisSerializer(PlaceArrayRedisSerializer placesSerializer) {
+        this.placesSerializer = placesSerializer;
+    }
+
+    @Override
+    public byte[] serialize(DegradedPlaces value) throws SerializationException {
+        if (value == null) return null;
+
+        byte[] places = placesSerializer.serialize(value.places());
+        if (places == null) places = new byte[0];
+
+        return ByteBuffer.allocate(HEADER_SIZE + places.length)
+                .put(MAGIC_0)
+                .put(MAGIC_1)
+                .putInt(value.providerBits())
+                .put(places)
+                .array();
+    }
+
+    @Override
+    public DegradedPlaces deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+        if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC_0 || bytes[1] != MAGIC_1) {
+            throw new SerializationException("Not a degraded places entry");
+        }
+
+        int providerBits = ByteBuffer.wrap(bytes, 2, Integer.BYTES).getInt();
+        Place[] places = placesSerializer.deserialize(Arrays.copyOfRange(bytes, HEADER_SIZE, bytes.length));
+        return new DegradedPlaces(places == null ? new Place[0] : places, providerBits);
+    }
+}
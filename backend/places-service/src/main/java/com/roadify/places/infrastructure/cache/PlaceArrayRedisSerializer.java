@@ -0,0 +1,333 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary Redis serializer for BASE place lists.
+ *
+ * Layout (all counts / indexes are unsigned varints):
+ * <pre>
+ *   header  : 'R' 'P' version flags
+ *   payload : n
+ *             category dictionary (names), category index per place
+ *             name dictionary, name index per place (0 = null)
+ *             id prefix dictionary ("provider:"), prefix index + suffix per place
+ *             lat[n], lon[n], detourKm[n] as raw doubles
+ *             routeKm[n] as raw doubles (since version 2)
+ *             rating presence bitmap, ratings of present entries
+ *             merged id count per place, merged ids (since version 3)
+ * </pre>
+ * The payload is deflate-compressed when {@code flags & FLAG_DEFLATE}.
+ * Version 1 entries are still read; their places get routeKm = NaN (unknown).
+ * Version 1 and 2 entries have no merged ids (null).
+ *
+ * Anything without the header is read as the previous Jackson JSON format,
+ * so entries written before the rollout stay readable until they expire.
+ */
+public class PlaceArrayRedisSerializer implements RedisSerializer<Place[]> {
+
+    static final byte MAGIC_0 = 'R';
+    static final byte MAGIC_1 = 'P';
+    static final byte VERSION = 3;
+    static final byte VERSION_WITHOUT_MERGED_IDS = 2;
+    static final byte VERSION_WITHOUT_ROUTE_KM = 1;
+    static final byte FLAG_DEFLATE = 0x01;
+
+    private static final int HEADER_SIZE = 4;
+
+    private final Jackson2JsonRedisSerializer<Place[]> jsonSerializer =
+            new Jackson2JsonRedisSerializer<>(Place[].class);
+
+    private final boolean binaryEnabled;
+    private final boolean compressionEnabled;
+    private final int compressionThresholdBytes;
+
+    public PlaceArrayRedisSerializer(boolean binaryEnabled, boolean compressionEnabled, int compressionThresholdBytes) {
+        this.binaryEnabled = binaryEnabled;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    @Override
+    public byte[] serialize(Place[] places) throws SerializationException {
+        if (places == null) return null;
+        if (!binaryEnabled) return jsonSerializer.serialize(places);
+
+        try {
+            byte[] payload = encodePayload(places);
+            boolean deflate = compressionEnabled && payload.length >= compressionThresholdBytes;
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length + HEADER_SIZE);
+            out.write(MAGIC_0);
+            out.write(MAGIC_1);
+            out.write(VERSION);
+            out.write(deflate ? FLAG_DEFLATE : 0);
+
+            if (deflate) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (DeflaterOutputStream zip = new DeflaterOutputStream(out, deflater)) {
+                    zip.write(payload);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                out.write(payload);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write Place[] in binary format", e);
+        }
+    }
+
+    @Override
+    public Place[] deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) return null;
+
+        if (!isBinary(bytes)) {
+            // Legacy JSON entry
+            return jsonSerializer.deserialize(bytes);
+        }
+
+        int version = bytes[2];
+        if (version != VERSION && version != VERSION_WITHOUT_MERGED_IDS && version != VERSION_WITHOUT_ROUTE_KM) {
+            throw new SerializationException("Unsupported Place[] binary version: " + version);
+        }
+
+        InputStream payload = new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        if ((bytes[3] & FLAG_DEFLATE) != 0) {
+            payload = new InflaterInputStream(payload);
+        }
+
+        try (DataInputStream in = new DataInputStream(payload)) {
+            return decodePayload(in, version);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not read Place[] binary format", e);
+        }
+    }
+
+    static boolean isBinary(byte[] bytes) {
+        return bytes.length >= HEADER_SIZE && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+    }
+
+    // ------------------------------------------------------------------ encode
+
+    private static byte[] encodePayload(Place[] places) throws IOException {
+        int n = places.length;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 + n * 40);
+        DataOutputStream out = new DataOutputStream(buffer);
+
+        writeVarint(out, n);
+
+        // Categories: dictionary of enum names, so reordering the enum never breaks cached data
+        Dictionary categories = new Dictionary();
+        int[] categoryIdx = new int[n];
+        for (int i = 0; i < n; i++) {
+            PlaceCategory category = places[i].getCategory();
+            categoryIdx[i] = categories.indexOf(category == null ? null : category.name());
+        }
+        categories.writeTo(out);
+        for (int i = 0; i < n; i++) writeVarint(out, categoryIdx[i]);
+
+        // Names: chains / generic names ("Shell", "Starbucks") repeat a lot along a route
+        Dictionary names = new Dictionary();
+        int[] nameIdx = new int[n];
+        for (int i = 0; i < n; i++) nameIdx[i] = names.indexOf(places[i].getName());
+        names.writeTo(out);
+        for (int i = 0; i < n; i++) writeVarint(out, nameIdx[i]);
+
+        // Ids: "provider:externalId" -> provider prefix from a dictionary, suffix inline
+        Dictionary idPrefixes = new Dictionary();
+        for (Place place : places) {
+            String id = place.getId();
+            if (id == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            int sep = id.indexOf(':') + 1; // 0 when there is no prefix
+            writeVarint(out, idPrefixes.indexOf(id.substring(0, sep)));
+            writeString(out, id.substring(sep));
+        }
+        // prefix dictionary goes after its uses; decoder reads ids into a scratch buffer first
+        idPrefixes.writeTo(out);
+
+        for (Place place : places) out.writeDouble(place.getLatitude());
+        for (Place place : places) out.writeDouble(place.getLongitude());
+        for (Place place : places) out.writeDouble(place.getDetourKm());
+        for (Place place : places) out.writeDouble(place.getRouteKm());
+
+        byte[] ratingBitmap = new byte[(n + 7) >>> 3];
+        for (int i = 0; i < n; i++) {
+            if (places[i].getRating() != null) ratingBitmap[i >>> 3] |= (byte) (1 << (i & 7));
+        }
+        out.write(ratingBitmap);
+        for (Place place : places) {
+            if (place.getRating() != null) out.writeDouble(place.getRating());
+        }
+
+        // Merged ids are rare (cross-provider duplicates only): one 0 byte for most places
+        for (Place place : places) {
+            List<String> mergedIds = place.getMergedIds();
+            writeVarint(out, mergedIds == null ? 0 : mergedIds.size());
+            if (mergedIds != null) {
+                for (String id : mergedIds) writeString(out, id);
+            }
+        }
+
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    // ------------------------------------------------------------------ decode
+
+    private static Place[] decodePayload(DataInputStream in, int version) throws IOException {
+        int n = readVarint(in);
+
+        String[] categoryDict = readDictionary(in);
+        PlaceCategory[] categoryValues = new PlaceCategory[categoryDict.length];
+        for (int d = 1; d < categoryDict.length; d++) {
+            categoryValues[d] = parseCategory(categoryDict[d]);
+        }
+        PlaceCategory[] categories = new PlaceCategory[n];
+        for (int i = 0; i < n; i++) categories[i] = categoryValues[readVarint(in)];
+
+        String[] nameDict = readDictionary(in);
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) names[i] = nameDict[readVarint(in)];
+
+        int[] idPrefix = new int[n];
+        String[] idSuffix = new String[n];
+        for (int i = 0; i < n; i++) {
+            idPrefix[i] = readVarint(in);
+            if (idPrefix[i] != 0) idSuffix[i] = readString(in);
+        }
+        String[] prefixDict = readDictionary(in);
+
+        Place[] places = new Place[n];
+        for (int i = 0; i < n; i++) {
+            places[i] = new Place();
+            places[i].setId(idPrefix[i] == 0 ? null : prefixDict[idPrefix[i]] + idSuffix[i]);
+            places[i].setName(names[i]);
+            places[i].setCategory(categories[i]);
+        }
+
+        for (int i = 0; i < n; i++) places[i].setLatitude(in.readDouble());
+        for (int i = 0; i < n; i++) places[i].setLongitude(in.readDouble());
+        for (int i = 0; i < n; i++) places[i].setDetourKm(in.readDouble());
+        if (version == VERSION_WITHOUT_ROUTE_KM) {
+            for (int i = 0; i < n; i++) places[i].setRouteKm(Double.NaN);
+        } else {
+            for (int i = 0; i < n; i++) places[i].setRouteKm(in.readDouble());
+        }
+
+        byte[] ratingBitmap = new byte[(n + 7) >>> 3];
+        in.readFully(ratingBitmap);
+        for (int i = 0; i < n; i++) {
+            if ((ratingBitmap[i >>> 3] & (1 << (i & 7))) != 0) places[i].setRating(in.readDouble());
+        }
+
+        if (version >= VERSION) {
+            for (int i = 0; i < n; i++) {
+                int count = readVarint(in);
+                if (count == 0) continue;
+                String[] mergedIds = new String[count];
+                for (int m = 0; m < count; m++) mergedIds[m] = readString(in);
+                places[i].setMergedIds(List.of(mergedIds));
+            }
+        }
+
+        return places;
+    }
+
+    private static PlaceCategory parseCategory(String name) {
+        try {
+            return PlaceCategory.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            // Category removed since the entry was written
+            return PlaceCategory.OTHER;
+        }
+    }
+
+    // ------------------------------------------------------------------ primitives
+
+    /**
+     * Insertion-ordered string dictionary. Index 0 is reserved for null.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int indexOf(String value) {
+            if (value == null) return 0;
+            Integer existing = index.get(value);
+            if (existing != null) return existing;
+
+            values.add(value);
+            int idx = values.size();
+            index.put(value, idx);
+            return idx;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeVarint(out, values.size());
+            for (String value : values) writeString(out, value);
+        }
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        int size = readVarint(in);
+        String[] dict = new String[size + 1];
+        for (int d = 1; d <= size; d++) dict[d] = readString(in);
+        return dict;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readVarint(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,189 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-tier cache for BASE place lists: in-heap L1 (Caffeine) in front of Redis.
+ *
+ * L1 hits skip the Redis GET and the JSON deserialization of Place[]. L1 entries expire
+ * when their Redis key does, and every write is announced on a pub/sub channel so other
+ * instances drop their (now outdated) L1 copy.
+ *
+ * Metrics: roadify.places.base.cache{tier=l1|redis, result=hit|miss}
+ * plus the standard Caffeine cache metrics under cache=places_base_l1.
+ */
+@Slf4j
+@Component
+public class PlacesBaseCache implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+
+    private final RedisTemplate<String, Place[]> placesRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final BaseCacheProperties properties;
+
+    // Lets us ignore our own invalidation messages
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Cache<String, L1Entry> l1;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public PlacesBaseCache(RedisTemplate<String, Place[]> placesRedisTemplate,
+                           StringRedisTemplate stringRedisTemplate,
+                           BaseCacheProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.placesRedisTemplate = placesRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+
+        long defaultTtlNanos = properties.getSoftTtl().toNanos();
+        this.l1 = Caffeine.newBuilder()
+                .maximumWeight(properties.getL1MaxPlaces())
+                .weigher((String key, L1Entry entry) -> entry.index().size() + 1)
+                .expireAfter(new Expiry<String, L1Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, L1Entry entry, long currentTime) {
+                        return entry.ttlNanos(defaultTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, L1Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos(defaultTtlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, L1Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "places_base_l1");
+
+        this.l1Hits = meterRegistry.counter("roadify.places.base.cache", "tier", "l1", "result", "hit");
+        this.l1Misses = meterRegistry.counter("roadify.places.base.cache", "tier", "l1", "result", "miss");
+        this.redisHits = meterRegistry.counter("roadify.places.base.cache", "tier", "redis", "result", "hit");
+        this.redisMisses = meterRegistry.counter("roadify.places.base.cache", "tier", "redis", "result", "miss");
+    }
+
+    /**
+     * @return cached BASE list, or null when neither tier has a non-empty entry
+     */
+    public CachedPlaces get(String key) {
+        if (properties.isL1Enabled()) {
+            L1Entry entry = l1.getIfPresent(key);
+            if (entry != null) {
+                l1Hits.increment();
+                return new CachedPlaces(entry.index(), entry.remainingMillis());
+            }
+            l1Misses.increment();
+        }
+
+        Place[] cached = placesRedisTemplate.opsForValue().get(key);
+        if (cached == null || cached.length == 0) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+
+        // Index is built once per cache fill; L1 hits reuse it
+        PlaceIndex index = PlaceIndex.build(Arrays.asList(cached));
+        long remainingMillis = readRemainingTtlMillis(key);
+
+        if (properties.isL1Enabled()) {
+            long expiresAt = remainingMillis < 0 ? -1 : System.currentTimeMillis() + remainingMillis;
+            l1.put(key, new L1Entry(index, expiresAt));
+        }
+        return new CachedPlaces(index, remainingMillis);
+    }
+
+    /**
+     * True when either tier holds the key; no Redis read of the list and no hit/miss metrics.
+     */
+    public boolean contains(String key) {
+        if (properties.isL1Enabled() && l1.getIfPresent(key) != null) return true;
+        return Boolean.TRUE.equals(placesRedisTemplate.hasKey(key));
+    }
+
+    public void put(String key, PlaceIndex index, Duration ttl) {
+        // Stored in index order, so re-sorting on the next Redis read is cheap
+        placesRedisTemplate.opsForValue().set(key, index.places().toArray(new Place[0]), ttl);
+
+        if (properties.isL1Enabled()) {
+            l1.put(key, new L1Entry(index, System.currentTimeMillis() + ttl.toMillis()));
+        }
+        publishInvalidation(key);
+    }
+
+    /**
+     * Pub/sub callback: another instance rewrote the key, drop our L1 copy.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf(SEPARATOR);
+        if (sep < 0) return;
+
+        String sender = body.substring(0, sep);
+        if (instanceId.equals(sender)) return;
+
+        String key = body.substring(sep + 1);
+        l1.invalidate(key);
+        log.debug("[PlacesBaseCache] L1 invalidated by {}. key={}", sender, key);
+    }
+
+    private void publishInvalidation(String key) {
+        try {
+            stringRedisTemplate.convertAndSend(properties.getInvalidationChannel(), instanceId + SEPARATOR + key);
+        } catch (Exception e) {
+            // Other instances fall back to L1 expiry (aligned with Redis TTL)
+            log.warn("[PlacesBaseCache] Failed to publish L1 invalidation. key={}", key, e);
+        }
+    }
+
+    private long readRemainingTtlMillis(String key) {
+        try {
+            Long remaining = placesRedisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+            return (remaining == null || remaining < 0) ? -1 : remaining;
+        } catch (Exception e) {
+            log.warn("[PlacesBaseCache] Failed to read ttl. key={}", key, e);
+            return -1;
+        }
+    }
+
+    private record L1Entry(PlaceIndex index, long expiresAtMillis) {
+
+        long remainingMillis() {
+            if (expiresAtMillis < 0) return -1;
+            return Math.max(0, expiresAtMillis - System.currentTimeMillis());
+        }
+
+        long ttlNanos(long defaultTtlNanos) {
+            long remaining = remainingMillis();
+            return remaining < 0 ? defaultTtlNanos : TimeUnit.MILLISECONDS.toNanos(remaining);
+        }
+    }
+}
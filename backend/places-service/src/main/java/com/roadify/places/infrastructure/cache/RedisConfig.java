@@ -1,25 +1,86 @@
 package com.roadify.places.infrastructure.cache;
 
 import com.roadify.places.domain.Place;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
+@EnableConfigurationProperties({SingleFlightProperties.class, BaseCacheProperties.class})
 public class RedisConfig {
 
+    /**
+     * BASE place lists; JSON or compact binary values (base-cache.binary-format), both are readable.
+     */
     @Bean
-    public RedisTemplate<String, Place[]> placesRedisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Place[]> placesRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                              BaseCacheProperties baseCacheProperties) {
         RedisTemplate<String, Place[]> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(Place[].class));
+        template.setValueSerializer(new PlaceArrayRedisSerializer(
+                baseCacheProperties.isBinaryFormat(),
+                baseCacheProperties.isCompressionEnabled(),
+                baseCacheProperties.getCompressionThresholdBytes()
+        ));
 
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Short-lived partial place lists with their provider statuses, see DegradedPlacesCache.
+     */
+    @Bean
+    public RedisTemplate<String, DegradedPlaces> degradedPlacesRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                           BaseCacheProperties baseCacheProperties) {
+        RedisTemplate<String, DegradedPlaces> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new DegradedPlacesRedisSerializer(new PlaceArrayRedisSerializer(
+                baseCacheProperties.isBinaryFormat(),
+                baseCacheProperties.isCompressionEnabled(),
+                baseCacheProperties.getCompressionThresholdBytes()
+        )));
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Per-tile provider results (shared across routes), see TileFetchPlanner.
+     */
+    @Bean
+    public RedisTemplate<String, RawPlace[]> placesTileRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, RawPlace[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(RawPlace[].class));
+
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Receives BASE L1 invalidations published by other instances, see PlacesBaseCache.
+     */
+    @Bean
+    public RedisMessageListenerContainer placesBaseCacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                           PlacesBaseCache placesBaseCache,
+                                                                           BaseCacheProperties baseCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(placesBaseCache, new ChannelTopic(baseCacheProperties.getInvalidationChannel()));
+        return container;
+    }
 }
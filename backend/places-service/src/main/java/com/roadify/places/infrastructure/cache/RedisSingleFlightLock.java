@@ -0,0 +1,59 @@
+package com.roadify.places.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Minimal Redis lock used to coalesce cache misses across instances.
+ * Acquire = SET lock NX PX ttl; release only deletes the lock if we still own it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisSingleFlightLock {
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public boolean tryAcquire(String key, String token, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey(key), token, ttl));
+        } catch (Exception e) {
+            // Redis down -> behave as if we own the lock, i.e. fall back to local coalescing only
+            log.warn("[RedisSingleFlightLock] Failed to acquire lock, key={}. Proceeding without it.", key, e);
+            return true;
+        }
+    }
+
+    public boolean isHeld(String key) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(lockKey(key)));
+        } catch (Exception e) {
+            log.warn("[RedisSingleFlightLock] Failed to check lock, key={}.", key, e);
+            return false;
+        }
+    }
+
+    public void release(String key, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey(key)), token);
+        } catch (Exception e) {
+            log.warn("[RedisSingleFlightLock] Failed to release lock, key={}. It will expire.", key, e);
+        }
+    }
+
+    private String lockKey(String key) {
+        return "lock:" + key;
+    }
+}
@@ -0,0 +1,36 @@
+package com.roadify.places.infrastructure.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Coalescing of concurrent BASE cache misses.
+ * Binds roadify.places.single-flight.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.single-flight")
+public class SingleFlightProperties {
+
+    /**
+     * Also coalesce across instances with a Redis lock (SET NX PX).
+     * In-instance coalescing is always on.
+     */
+    private boolean distributedEnabled = false;
+
+    /**
+     * Lock expiry; must exceed the slowest provider deadline plus processing time.
+     */
+    private Duration lockTtl = Duration.ofSeconds(30);
+
+    /**
+     * How long a waiter polls for the lock holder's result before computing itself.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Poll interval while waiting for another instance.
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+}
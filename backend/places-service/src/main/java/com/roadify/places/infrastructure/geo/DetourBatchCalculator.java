@@ -0,0 +1,184 @@
+package com.roadify.places.infrastructure.geo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.lang.Math.max;
+
+/**
+ * Batch variant of {@link DetourCalculator} for whole place sets.
+ *
+ * Places come in as parallel lat/lon arrays (structure of arrays) and the result is one
+ * detourKm per place, with the same rounding and 0.0 fallbacks as the single-place API.
+ * Optionally the along-route km marker of every place is filled in the same pass, from the
+ * closest segment that the detour was measured against; markers that cannot be measured are NaN.
+ *
+ * The cheaper lookup is picked once per batch: short routes are scanned segment by segment
+ * through a {@link SegmentDistanceKernel} (Vector API when available), long routes go through
+ * the route's {@link SegmentGridIndex}. Once the estimated work of a batch exceeds
+ * {@link #PARALLEL_MIN_WORK} segment evaluations it is split over the common ForkJoin pool;
+ * every place is written by exactly one task, so the output does not depend on the split.
+ */
+public final class DetourBatchCalculator {
+
+    /** Rough cost of one grid lookup, in segment evaluations (ring walk plus the cells' segments). */
+    static final int GRID_LOOKUP_COST = 512;
+
+    /** Below this much work a batch runs on the calling thread; forking would cost more than it saves. */
+    static final long PARALLEL_MIN_WORK = 1L << 17;
+
+    /** Work per fork-join leaf; large enough to amortize task overhead, small enough to balance. */
+    static final long LEAF_WORK = 1L << 15;
+
+    private DetourBatchCalculator() {}
+
+    /**
+     * Detour km for every place; lats[i]/lons[i] is place i.
+     *
+     * @param route      decoded route; fewer than 2 vertices yields all 0.0 detours
+     * @param routeIndex grid index of the same route, may be null (full scans only)
+     */
+    public static double[] computeDetourKm(double[] lats, double[] lons,
+                                           PackedPolyline route, SegmentGridIndex routeIndex) {
+        return computeDetourKm(lats, lons, route, routeIndex, null);
+    }
+
+    /**
+     * Same as {@link #computeDetourKm(double[], double[], PackedPolyline, SegmentGridIndex)} and also
+     * writes each place's along-route km marker into routeKmOut (NaN when there is no route or index).
+     */
+    public static double[] computeDetourKm(double[] lats, double[] lons,
+                                           PackedPolyline route, SegmentGridIndex routeIndex,
+                                           double[] routeKmOut) {
+        return computeDetourKm(lats, lons, route, routeIndex, routeKmOut,
+                SegmentDistanceKernels.PREFERRED, ForkJoinPool.commonPool());
+    }
+
+    static double[] computeDetourKm(double[] lats, double[] lons,
+                                    PackedPolyline route, SegmentGridIndex routeIndex,
+                                    double[] routeKmOut,
+                                    SegmentDistanceKernel kernel, ForkJoinPool pool) {
+        if (lats.length != lons.length || (routeKmOut != null && routeKmOut.length != lats.length)) {
+            throw new IllegalArgumentException("lat/lon/routeKm arrays must have the same length");
+        }
+
+        double[] out = new double[lats.length];
+        computeDetourKm(lats, lons, lats.length, route, routeIndex, out, routeKmOut, kernel, pool);
+        return out;
+    }
+
+    /**
+     * Column variant for callers that own the arrays (e.g. a PlaceBatch with spare capacity):
+     * places 0..count-1 are read from lats/lons, detours go to detourOut and, when routeKmOut is
+     * not null, km markers to routeKmOut. Entries at count and beyond are left untouched.
+     */
+    public static void computeDetourKm(double[] lats, double[] lons, int count,
+                                       PackedPolyline route, SegmentGridIndex routeIndex,
+                                       double[] detourOut, double[] routeKmOut) {
+        computeDetourKm(lats, lons, count, route, routeIndex, detourOut, routeKmOut,
+                SegmentDistanceKernels.PREFERRED, ForkJoinPool.commonPool());
+    }
+
+    static void computeDetourKm(double[] lats, double[] lons, int count,
+                                PackedPolyline route, SegmentGridIndex routeIndex,
+                                double[] detourOut, double[] routeKmOut,
+                                SegmentDistanceKernel kernel, ForkJoinPool pool) {
+        if (count < 0 || lats.length < count || lons.length < count || detourOut.length < count
+                || (routeKmOut != null && routeKmOut.length < count)) {
+            throw new IllegalArgumentException("lat/lon/detour/routeKm arrays must hold count entries");
+        }
+
+        Arrays.fill(detourOut, 0, count, 0.0);
+        // unknown markers sort after every real one in the upcoming window
+        if (routeKmOut != null) Arrays.fill(routeKmOut, 0, count, Double.NaN);
+        if (count == 0 || route == null || route.size() < 2) return;
+
+        boolean hasIndex = routeIndex != null && !routeIndex.isEmpty();
+        int segments = route.segmentCount();
+        boolean useGrid = hasIndex && segments > kernel.fullScanMaxSegments();
+        long costPerPlace = useGrid ? GRID_LOOKUP_COST : segments;
+
+        DetourTask task = new DetourTask(lats, lons, detourOut, hasIndex ? routeKmOut : null, 0, count,
+                route, hasIndex ? routeIndex : null, useGrid, kernel,
+                (int) max(1, LEAF_WORK / costPerPlace));
+
+        if (costPerPlace * count < PARALLEL_MIN_WORK || pool.getParallelism() < 2) {
+            task.computeDirectly();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    private static final class DetourTask extends RecursiveAction {
+
+        private final double[] lats;
+        private final double[] lons;
+        private final double[] out;
+        private final double[] routeKmOut; // null = detours only
+        private final int from;
+        private final int to;
+        private final PackedPolyline route;
+        private final SegmentGridIndex routeIndex;
+        private final boolean useGrid; // false = full scan with kernel
+        private final SegmentDistanceKernel kernel;
+        private final int leafSize;
+
+        private DetourTask(double[] lats, double[] lons, double[] out, double[] routeKmOut, int from, int to,
+                           PackedPolyline route, SegmentGridIndex routeIndex, boolean useGrid,
+                           SegmentDistanceKernel kernel, int leafSize) {
+            this.lats = lats;
+            this.lons = lons;
+            this.out = out;
+            this.routeKmOut = routeKmOut;
+            this.from = from;
+            this.to = to;
+            this.route = route;
+            this.routeIndex = routeIndex;
+            this.useGrid = useGrid;
+            this.kernel = kernel;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                computeDirectly();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new DetourTask(lats, lons, out, routeKmOut, from, mid, route, routeIndex, useGrid, kernel, leafSize),
+                    new DetourTask(lats, lons, out, routeKmOut, mid, to, route, routeIndex, useGrid, kernel, leafSize)
+            );
+        }
+
+        void computeDirectly() {
+            double[] routeLats = route.latArray();
+            double[] routeLons = route.lonArray();
+            // projected vertices for the kernel, reused for every place of this range
+            double[] xs = useGrid ? null : new double[routeLats.length];
+            double[] ys = useGrid ? null : new double[routeLats.length];
+
+            for (int i = from; i < to; i++) {
+                double lat = lats[i];
+                double lon = lons[i];
+                int s = useGrid
+                        ? routeIndex.nearestSegment(lat, lon)
+                        : kernel.nearestSegment(lat, lon, routeLats, routeLons, xs, ys);
+                if (s < 0) continue; // no finite distance: detour stays 0.0, marker NaN
+
+                double minKm = DetourCalculator.distancePointToSegmentKm(
+                        lat, lon,
+                        routeLats[s], routeLons[s],
+                        routeLats[s + 1], routeLons[s + 1]
+                );
+                out[i] = DetourCalculator.toDetourKm(minKm);
+
+                if (routeKmOut != null) {
+                    routeKmOut[i] = routeIndex.routeKmAt(s, lat, lon);
+                }
+            }
+        }
+    }
+}
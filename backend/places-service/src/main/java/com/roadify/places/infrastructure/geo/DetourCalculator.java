@@ -1,7 +1,5 @@
 package com.roadify.places.infrastructure.geo;
 
-import java.util.List;
-
 import static java.lang.Math.*;
 
 public final class DetourCalculator {
@@ -12,24 +10,40 @@ public final class DetourCalculator {
      * Computes detour km as: detour = 2 * (min distance from place to route polyline).
      * Approximation: going out and returning to route at the closest point.
      */
-    public static double computeDetourKm(double placeLat, double placeLon, List<PolylineDecoder.LatLon> route) {
+    public static double computeDetourKm(double placeLat, double placeLon, PackedPolyline route) {
         if (route == null || route.size() < 2) return 0.0;
 
+        double[] lats = route.latArray();
+        double[] lons = route.lonArray();
         double minKm = Double.POSITIVE_INFINITY;
 
-        for (int i = 0; i < route.size() - 1; i++) {
-            PolylineDecoder.LatLon a = route.get(i);
-            PolylineDecoder.LatLon b = route.get(i + 1);
-
+        for (int i = 0; i < lats.length - 1; i++) {
             double d = distancePointToSegmentKm(
                     placeLat, placeLon,
-                    a.lat(), a.lon(),
-                    b.lat(), b.lon()
+                    lats[i], lons[i],
+                    lats[i + 1], lons[i + 1]
             );
 
             if (d < minKm) minKm = d;
         }
 
+        return toDetourKm(minKm);
+    }
+
+    /**
+     * Same as {@link #computeDetourKm(double, double, PackedPolyline)} but looks up the closest
+     * segment through a prebuilt per-route {@link SegmentGridIndex}.
+     * Build the index once per route and reuse it for every place.
+     */
+    public static double computeDetourKm(double placeLat, double placeLon, SegmentGridIndex routeIndex) {
+        if (routeIndex == null || routeIndex.isEmpty()) return 0.0;
+
+        double minKm = routeIndex.nearestSegmentDistanceKm(placeLat, placeLon);
+        return toDetourKm(minKm);
+    }
+
+    /** Detour from the distance to the closest segment; 0.0 when no finite distance exists. */
+    static double toDetourKm(double minKm) {
         if (!Double.isFinite(minKm)) return 0.0;
 
         double detour = 2.0 * minKm;
@@ -38,7 +52,7 @@ public final class DetourCalculator {
 
     // --- Geometry helpers (equirectangular projection for local distances) ---
 
-    private static double distancePointToSegmentKm(
+    static double distancePointToSegmentKm(
             double plat, double plon,
             double alat, double alon,
             double blat, double blon
@@ -74,6 +88,34 @@ public final class DetourCalculator {
         return hypot(projx - px, projy - py);
     }
 
+    /**
+     * Position of the point's projection on segment a-b as a fraction in [0, 1]
+     * (0 = at a, 1 = at b), in the same local plane as {@link #distancePointToSegmentKm}.
+     */
+    static double segmentFraction(
+            double plat, double plon,
+            double alat, double alon,
+            double blat, double blon
+    ) {
+        double lat0 = toRadians(plat);
+
+        double ax = lonToXKm(alon, plon, lat0);
+        double ay = latToYKm(alat, plat);
+        double bx = lonToXKm(blon, plon, lat0);
+        double by = latToYKm(blat, plat);
+
+        double vx = bx - ax;
+        double vy = by - ay;
+
+        double c1 = -ax * vx - ay * vy;
+        if (c1 <= 0) return 0.0;
+
+        double c2 = vx * vx + vy * vy;
+        if (c2 <= c1) return 1.0;
+
+        return c1 / c2;
+    }
+
     private static double lonToXKm(double lon, double lon0, double lat0Rad) {
         // x ~ (lon-lon0) * cos(lat0) * EarthRadius
         double dLon = toRadians(lon - lon0);
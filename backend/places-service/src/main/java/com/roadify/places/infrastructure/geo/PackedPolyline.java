@@ -0,0 +1,107 @@
+package com.roadify.places.infrastructure.geo;
+
+import java.util.Arrays;
+
+/**
+ * Immutable polyline stored as parallel primitive lat/lon arrays.
+ *
+ * Replaces List-of-points representations so that large route geometries
+ * do not allocate one object per vertex and geo loops run over plain arrays.
+ */
+public final class PackedPolyline {
+
+    public static final PackedPolyline EMPTY = new PackedPolyline(new double[0], new double[0]);
+
+    private final double[] lats;
+    private final double[] lons;
+
+    private PackedPolyline(double[] lats, double[] lons) {
+        this.lats = lats;
+        this.lons = lons;
+    }
+
+    /**
+     * Creates a polyline from copies of the given coordinate arrays.
+     */
+    public static PackedPolyline of(double[] lats, double[] lons) {
+        if (lats.length != lons.length) {
+            throw new IllegalArgumentException("lat/lon arrays must have the same length");
+        }
+        if (lats.length == 0) return EMPTY;
+        return new PackedPolyline(lats.clone(), lons.clone());
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return lats.length;
+    }
+
+    public boolean isEmpty() {
+        return lats.length == 0;
+    }
+
+    public int segmentCount() {
+        return Math.max(0, lats.length - 1);
+    }
+
+    public double lat(int i) {
+        return lats[i];
+    }
+
+    public double lon(int i) {
+        return lons[i];
+    }
+
+    /** Direct array access for tight loops inside this package; callers must not modify. */
+    double[] latArray() {
+        return lats;
+    }
+
+    double[] lonArray() {
+        return lons;
+    }
+
+    /**
+     * Append-only builder growing the backing arrays on demand.
+     * Not thread-safe; the built polyline is.
+     */
+    public static final class Builder {
+
+        private double[] lats;
+        private double[] lons;
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 2);
+            this.lats = new double[capacity];
+            this.lons = new double[capacity];
+        }
+
+        public Builder add(double lat, double lon) {
+            if (size == lats.length) {
+                int capacity = lats.length + (lats.length >> 1) + 1;
+                lats = Arrays.copyOf(lats, capacity);
+                lons = Arrays.copyOf(lons, capacity);
+            }
+            lats[size] = lat;
+            lons[size] = lon;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PackedPolyline build() {
+            if (size == 0) return EMPTY;
+            return new PackedPolyline(
+                    size == lats.length ? lats : Arrays.copyOf(lats, size),
+                    size == lons.length ? lons : Arrays.copyOf(lons, size)
+            );
+        }
+    }
+}
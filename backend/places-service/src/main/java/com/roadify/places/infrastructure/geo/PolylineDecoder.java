@@ -1,26 +1,29 @@
 package com.roadify.places.infrastructure.geo;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
- * Decodes a Google Encoded Polyline string into a list of [lat, lon] points.
+ * Decodes a Google Encoded Polyline string into a {@link PackedPolyline}.
  * Geometry must be an encoded polyline (like route-service).
+ *
+ * Coordinates are written straight into primitive arrays while the string is
+ * scanned, no per-vertex objects are allocated.
  */
 public final class PolylineDecoder {
 
     private PolylineDecoder() {}
 
-    public static List<LatLon> decode(String encoded) {
-        if (encoded == null || encoded.isBlank()) return List.of();
+    public static PackedPolyline decode(String encoded) {
+        if (encoded == null || encoded.isBlank()) return PackedPolyline.EMPTY;
 
-        List<LatLon> poly = new ArrayList<>();
         int index = 0, len = encoded.length();
         int lat = 0, lng = 0;
 
+        // Typical ORS geometries use ~6-8 chars per vertex; the builder grows if needed
+        PackedPolyline.Builder poly = PackedPolyline.builder(len / 6 + 1);
+
         while (index < len) {
             int b, shift = 0, result = 0;
             do {
+                if (index >= len) return poly.build(); // truncated input: keep complete vertices
                 b = encoded.charAt(index++) - 63;
                 result |= (b & 0x1F) << shift;
                 shift += 5;
@@ -31,6 +34,7 @@ public final class PolylineDecoder {
             shift = 0;
             result = 0;
             do {
+                if (index >= len) return poly.build();
                 b = encoded.charAt(index++) - 63;
                 result |= (b & 0x1F) << shift;
                 shift += 5;
@@ -38,13 +42,9 @@ public final class PolylineDecoder {
             int dlng = ((result & 1) != 0) ? ~(result >> 1) : (result >> 1);
             lng += dlng;
 
-            double finalLat = lat / 1e5;
-            double finalLng = lng / 1e5;
-            poly.add(new LatLon(finalLat, finalLng));
+            poly.add(lat / 1e5, lng / 1e5);
         }
 
-        return poly;
+        return poly.build();
     }
-
-    public record LatLon(double lat, double lon) {}
 }
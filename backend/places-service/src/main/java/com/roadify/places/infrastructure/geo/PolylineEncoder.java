@@ -0,0 +1,39 @@
+package com.roadify.places.infrastructure.geo;
+
+/**
+ * Encodes a {@link PackedPolyline} back into a Google Encoded Polyline string
+ * (precision 1e5, same as route-service / {@link PolylineDecoder}).
+ */
+public final class PolylineEncoder {
+
+    private PolylineEncoder() {}
+
+    public static String encode(PackedPolyline polyline) {
+        if (polyline == null || polyline.isEmpty()) return "";
+
+        StringBuilder sb = new StringBuilder(polyline.size() * 8);
+        long prevLat = 0, prevLng = 0;
+
+        for (int i = 0; i < polyline.size(); i++) {
+            long lat = Math.round(polyline.lat(i) * 1e5);
+            long lng = Math.round(polyline.lon(i) * 1e5);
+
+            encodeValue(lat - prevLat, sb);
+            encodeValue(lng - prevLng, sb);
+
+            prevLat = lat;
+            prevLng = lng;
+        }
+
+        return sb.toString();
+    }
+
+    private static void encodeValue(long value, StringBuilder sb) {
+        long v = value < 0 ? ~(value << 1) : (value << 1);
+        while (v >= 0x20) {
+            sb.append((char) ((0x20 | (v & 0x1F)) + 63));
+            v >>= 5;
+        }
+        sb.append((char) (v + 63));
+    }
+}
@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.geo;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds route geometry processing properties.
+ */
+@Configuration
+@EnableConfigurationProperties(RouteGeometryProperties.class)
+public class RouteGeometryConfig {
+}
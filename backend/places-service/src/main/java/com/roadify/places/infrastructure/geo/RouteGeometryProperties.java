@@ -0,0 +1,42 @@
+package com.roadify.places.infrastructure.geo;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Route geometry processing settings.
+ * Binds roadify.places.geometry.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.geometry")
+public class RouteGeometryProperties {
+
+    /**
+     * Simplify the route polyline once before detour computation and provider queries.
+     */
+    private boolean simplifyEnabled = true;
+
+    /**
+     * Maximum deviation (meters) a removed vertex may have from the simplified line.
+     */
+    private double simplifyToleranceMeters = 25.0;
+
+    /**
+     * TTL of the simplified geometry cached next to the route in Redis.
+     * Routes are immutable, so this only bounds Redis memory.
+     */
+    private Duration cacheTtl = Duration.ofHours(6);
+
+    /**
+     * In-process cache of prepared geometries (summary, decoded polyline, segment index) per routeId.
+     * Routes are immutable, so entries are only evicted for capacity, never invalidated.
+     */
+    private boolean l1Enabled = true;
+
+    /**
+     * L1 capacity as total number of cached (simplified) vertices; entries are weighted by vertex count.
+     */
+    private long l1MaxVertices = 1_000_000;
+}
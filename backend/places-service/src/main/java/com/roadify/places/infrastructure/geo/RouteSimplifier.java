@@ -0,0 +1,88 @@
+package com.roadify.places.infrastructure.geo;
+
+/**
+ * Error-bounded route simplification (Douglas–Peucker).
+ *
+ * A vertex is dropped only if it lies within {@code toleranceMeters} of the segment that
+ * replaces it. Deviation is measured with the same equirectangular point-to-segment distance
+ * as {@link DetourCalculator}, so detour values change by at most 2 * tolerance.
+ *
+ * Implemented with an explicit stack so very long ORS geometries cannot overflow the call stack.
+ */
+public final class RouteSimplifier {
+
+    private RouteSimplifier() {}
+
+    public static SimplificationResult simplify(PackedPolyline polyline, double toleranceMeters) {
+        if (polyline == null) polyline = PackedPolyline.EMPTY;
+
+        int n = polyline.size();
+        if (n < 3 || !(toleranceMeters > 0.0)) {
+            return new SimplificationResult(polyline, n, 0.0);
+        }
+
+        double[] lats = polyline.latArray();
+        double[] lons = polyline.lonArray();
+        double toleranceKm = toleranceMeters / 1000.0;
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+
+        // Pending ranges are disjoint, so n slots are always enough
+        int[] stackStart = new int[n];
+        int[] stackEnd = new int[n];
+        int top = 0;
+        stackStart[top] = 0;
+        stackEnd[top] = n - 1;
+        top++;
+
+        double maxErrorKm = 0.0;
+        int kept = 2;
+
+        while (top > 0) {
+            top--;
+            int start = stackStart[top];
+            int end = stackEnd[top];
+            if (end - start < 2) continue;
+
+            double maxDist = -1.0;
+            int maxIdx = -1;
+            for (int i = start + 1; i < end; i++) {
+                double d = DetourCalculator.distancePointToSegmentKm(
+                        lats[i], lons[i],
+                        lats[start], lons[start],
+                        lats[end], lons[end]
+                );
+                if (d > maxDist) {
+                    maxDist = d;
+                    maxIdx = i;
+                }
+            }
+
+            if (maxDist > toleranceKm) {
+                keep[maxIdx] = true;
+                kept++;
+                stackStart[top] = start;
+                stackEnd[top] = maxIdx;
+                top++;
+                stackStart[top] = maxIdx;
+                stackEnd[top] = end;
+                top++;
+            } else if (maxDist > maxErrorKm) {
+                maxErrorKm = maxDist;
+            }
+        }
+
+        if (kept == n) {
+            return new SimplificationResult(polyline, n, 0.0);
+        }
+
+        PackedPolyline.Builder simplified = PackedPolyline.builder(kept);
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) simplified.add(lats[i], lons[i]);
+        }
+
+        return new SimplificationResult(simplified.build(), n, maxErrorKm * 1000.0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.roadify.places.infrastructure.geo;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.toRadians;
+
+/**
+ * Plain Java implementation of {@link SegmentDistanceKernel}; the reference the vector kernel must match.
+ */
+final class ScalarSegmentDistanceKernel implements SegmentDistanceKernel {
+
+    static final ScalarSegmentDistanceKernel INSTANCE = new ScalarSegmentDistanceKernel();
+
+    private ScalarSegmentDistanceKernel() {
+    }
+
+    @Override
+    public int nearestSegment(double plat, double plon,
+                              double[] lats, double[] lons,
+                              double[] xs, double[] ys) {
+        int n = lats.length;
+        double cosLat0 = cos(toRadians(plat));
+
+        for (int i = 0; i < n; i++) {
+            xs[i] = (lons[i] - plon) * DEG_TO_RAD * cosLat0 * EARTH_RADIUS_KM;
+            ys[i] = (lats[i] - plat) * DEG_TO_RAD * EARTH_RADIUS_KM;
+        }
+
+        return scanSegments(xs, ys, 0, n - 1, Double.POSITIVE_INFINITY, -1);
+    }
+
+    /**
+     * Scans segments [from, to) of the projected polyline, continuing from a current best.
+     * Shared with the vector kernel for the tail that does not fill a full vector.
+     */
+    static int scanSegments(double[] xs, double[] ys, int from, int to,
+                            double bestD2, int bestSegment) {
+        for (int s = from; s < to; s++) {
+            double ax = xs[s];
+            double ay = ys[s];
+            double bx = xs[s + 1];
+            double by = ys[s + 1];
+
+            double vx = bx - ax;
+            double vy = by - ay;
+            double wx = 0.0 - ax;
+            double wy = 0.0 - ay;
+
+            double c1 = wx * vx + wy * vy;
+            double c2 = vx * vx + vy * vy;
+
+            double ex;
+            double ey;
+            if (c1 <= 0) {
+                ex = ax;
+                ey = ay;
+            } else if (c2 <= c1) {
+                ex = bx;
+                ey = by;
+            } else {
+                double t = c1 / c2;
+                ex = ax + t * vx;
+                ey = ay + t * vy;
+            }
+
+            double d2 = ex * ex + ey * ey;
+            if (d2 < bestD2) {
+                bestD2 = d2;
+                bestSegment = s;
+            }
+        }
+        return bestSegment;
+    }
+
+    @Override
+    public int fullScanMaxSegments() {
+        return 512;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,31 @@
+package com.roadify.places.infrastructure.geo;
+
+/**
+ * Closest segment of a whole polyline to one point, for batch detour scans.
+ *
+ * Vertices are first projected onto the equirectangular plane around the point (same formulas as
+ * {@link DetourCalculator}); the closest segment is the one with the smallest squared planar
+ * distance, ties going to the lowest segment index. Every implementation follows exactly these
+ * steps, so all of them pick the same segment.
+ */
+interface SegmentDistanceKernel {
+
+    double EARTH_RADIUS_KM = 6371.0;
+    double DEG_TO_RAD = Math.toRadians(1.0);
+
+    /**
+     * @param lats vertex latitudes (at least 2 vertices)
+     * @param lons vertex longitudes
+     * @param xs   scratch array of at least lats.length, overwritten
+     * @param ys   scratch array of at least lats.length, overwritten
+     * @return index of the closest segment, -1 if no finite distance exists
+     */
+    int nearestSegment(double plat, double plon,
+                       double[] lats, double[] lons,
+                       double[] xs, double[] ys);
+
+    /** Up to this many segments a full scan with this kernel beats a {@link SegmentGridIndex} lookup. */
+    int fullScanMaxSegments();
+
+    String name();
+}
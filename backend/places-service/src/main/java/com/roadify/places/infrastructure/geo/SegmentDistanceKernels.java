@@ -0,0 +1,35 @@
+package com.roadify.places.infrastructure.geo;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the {@link SegmentDistanceKernel} once per JVM.
+ *
+ * The vector kernel needs --add-modules jdk.incubator.vector; without it (or with
+ * -Droadify.detour.vector=false) the scalar kernel is used, which returns the same bits.
+ */
+@Slf4j
+final class SegmentDistanceKernels {
+
+    static final SegmentDistanceKernel PREFERRED = load();
+
+    private SegmentDistanceKernels() {
+    }
+
+    private static SegmentDistanceKernel load() {
+        if (!Boolean.parseBoolean(System.getProperty("roadify.detour.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarSegmentDistanceKernel.INSTANCE;
+        }
+        try {
+            if (VectorSegmentDistanceKernel.isUseful()) {
+                SegmentDistanceKernel kernel = new VectorSegmentDistanceKernel();
+                log.info("[DetourBatch] Using {} segment distance kernel", kernel.name());
+                return kernel;
+            }
+        } catch (LinkageError e) {
+            log.warn("[DetourBatch] Vector API not usable, falling back to scalar kernel", e);
+        }
+        return ScalarSegmentDistanceKernel.INSTANCE;
+    }
+}
@@ -0,0 +1,291 @@
+package com.roadify.places.infrastructure.geo;
+
+import static java.lang.Math.*;
+
+/**
+ * Uniform grid of segment buckets over a decoded route polyline.
+ *
+ * Every segment is registered in each grid cell its lat/lon bounding box overlaps.
+ * A nearest-segment query visits cells ring by ring around the query point and stops
+ * as soon as no unvisited cell can contain a closer segment, so only the part of the
+ * route near the place is scanned instead of every segment.
+ *
+ * Distances are computed with the same equirectangular helper as {@link DetourCalculator},
+ * therefore the result is identical to a full scan over all segments.
+ *
+ * The index also carries the cumulative length of the route at every vertex, so a point can be
+ * turned into an along-route km marker: nearest segment + position of its projection on it.
+ * Markers are measured on the polyline the index was built from (the simplified route).
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class SegmentGridIndex {
+
+    /** Smallest cell edge (~11 m) so that tiny routes do not explode into millions of cells. */
+    private static final double MIN_CELL_DEG = 1e-4;
+
+    /** Safety margin (~0.1 mm) absorbing floating point differences between cell lookup and bounds. */
+    private static final double EPS_DEG = 1e-9;
+
+    private static final double KM_PER_DEG = toRadians(1.0) * 6371.0;
+
+    private static final SegmentGridIndex EMPTY =
+            new SegmentGridIndex(new double[0], new double[0], new double[0], 0, 0, 1, 0, 0, new int[1], new int[0]);
+
+    private final double[] lats;
+    private final double[] lons;
+
+    // Route km at vertex i, vertexKm[0] = 0
+    private final double[] vertexKm;
+
+    private final double minLat;
+    private final double minLon;
+    private final double cellDeg;
+    private final int rows;
+    private final int cols;
+
+    // CSR layout: segments of cell c are cellSegments[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart;
+    private final int[] cellSegments;
+
+    private SegmentGridIndex(double[] lats, double[] lons, double[] vertexKm,
+                             double minLat, double minLon, double cellDeg,
+                             int rows, int cols,
+                             int[] cellStart, int[] cellSegments) {
+        this.lats = lats;
+        this.lons = lons;
+        this.vertexKm = vertexKm;
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.cellDeg = cellDeg;
+        this.rows = rows;
+        this.cols = cols;
+        this.cellStart = cellStart;
+        this.cellSegments = cellSegments;
+    }
+
+    public static SegmentGridIndex build(PackedPolyline route) {
+        if (route == null || route.size() < 2) return EMPTY;
+
+        // PackedPolyline is immutable, so its arrays are shared instead of copied
+        double[] lats = route.latArray();
+        double[] lons = route.lonArray();
+        int n = lats.length;
+
+        double minLat = Double.POSITIVE_INFINITY, maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY, maxLon = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < n; i++) {
+            minLat = min(minLat, lats[i]);
+            maxLat = max(maxLat, lats[i]);
+            minLon = min(minLon, lons[i]);
+            maxLon = max(maxLon, lons[i]);
+        }
+
+        int segments = n - 1;
+        double extentLat = maxLat - minLat;
+        double extentLon = maxLon - minLon;
+
+        // Aim for roughly one cell per segment; the linear term keeps degenerate
+        // (straight N-S / E-W) routes from producing a huge number of thin cells.
+        double cellDeg = max(MIN_CELL_DEG, max(
+                sqrt(extentLat * extentLon / segments),
+                max(extentLat, extentLon) / segments
+        ));
+
+        int rows = (int) floor(extentLat / cellDeg) + 1;
+        int cols = (int) floor(extentLon / cellDeg) + 1;
+
+        // Pass 1: count registrations per cell
+        int[] cellStart = new int[rows * cols + 1];
+        for (int s = 0; s < segments; s++) {
+            int r0 = clamp(cellOf(min(lats[s], lats[s + 1]), minLat, cellDeg), rows);
+            int r1 = clamp(cellOf(max(lats[s], lats[s + 1]), minLat, cellDeg), rows);
+            int c0 = clamp(cellOf(min(lons[s], lons[s + 1]), minLon, cellDeg), cols);
+            int c1 = clamp(cellOf(max(lons[s], lons[s + 1]), minLon, cellDeg), cols);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    cellStart[r * cols + c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+
+        // Pass 2: fill buckets
+        int[] cursor = new int[rows * cols];
+        int[] cellSegments = new int[cellStart[rows * cols]];
+        for (int s = 0; s < segments; s++) {
+            int r0 = clamp(cellOf(min(lats[s], lats[s + 1]), minLat, cellDeg), rows);
+            int r1 = clamp(cellOf(max(lats[s], lats[s + 1]), minLat, cellDeg), rows);
+            int c0 = clamp(cellOf(min(lons[s], lons[s + 1]), minLon, cellDeg), cols);
+            int c1 = clamp(cellOf(max(lons[s], lons[s + 1]), minLon, cellDeg), cols);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int cell = r * cols + c;
+                    cellSegments[cellStart[cell] + cursor[cell]++] = s;
+                }
+            }
+        }
+
+        // Cumulative route length, segments measured in their own local plane
+        double[] vertexKm = new double[n];
+        for (int s = 0; s < segments; s++) {
+            double lat0 = toRadians((lats[s] + lats[s + 1]) / 2.0);
+            double dx = (lons[s + 1] - lons[s]) * cos(lat0) * KM_PER_DEG;
+            double dy = (lats[s + 1] - lats[s]) * KM_PER_DEG;
+            vertexKm[s + 1] = vertexKm[s] + hypot(dx, dy);
+        }
+
+        return new SegmentGridIndex(lats, lons, vertexKm, minLat, minLon, cellDeg, rows, cols, cellStart, cellSegments);
+    }
+
+    public boolean isEmpty() {
+        return lats.length < 2;
+    }
+
+    public int segmentCount() {
+        return max(0, lats.length - 1);
+    }
+
+    /** Length of the indexed route in km (0 when empty). */
+    public double totalKm() {
+        return isEmpty() ? 0.0 : vertexKm[vertexKm.length - 1];
+    }
+
+    /**
+     * Minimum equirectangular distance (km) from the point to any route segment,
+     * or {@code +Infinity} when the index is empty.
+     */
+    public double nearestSegmentDistanceKm(double plat, double plon) {
+        return nearest(plat, plon).km;
+    }
+
+    /**
+     * Index of the segment closest to the point (the one {@link #nearestSegmentDistanceKm} measures),
+     * or -1 when the index is empty or the point is not finite.
+     */
+    public int nearestSegment(double plat, double plon) {
+        return nearest(plat, plon).segment;
+    }
+
+    /**
+     * Along-route km marker of the point's projection onto the given segment.
+     */
+    public double routeKmAt(int segment, double plat, double plon) {
+        double fraction = DetourCalculator.segmentFraction(
+                plat, plon,
+                lats[segment], lons[segment],
+                lats[segment + 1], lons[segment + 1]
+        );
+        return vertexKm[segment] + fraction * (vertexKm[segment + 1] - vertexKm[segment]);
+    }
+
+    /**
+     * Snaps a position (e.g. live GPS) to the km marker of its closest route point,
+     * or NaN when the index is empty or the position is not finite.
+     */
+    public double snapToRouteKm(double plat, double plon) {
+        return snapToRouteKm(plat, plon, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Like {@link #snapToRouteKm(double, double)}, but NaN when the position is farther than
+     * maxDistanceKm from the route (e.g. a GPS fix outside the corridor the places were fetched for).
+     */
+    public double snapToRouteKm(double plat, double plon, double maxDistanceKm) {
+        Nearest nearest = nearest(plat, plon);
+        if (nearest.segment < 0 || nearest.km > maxDistanceKm) return Double.NaN;
+        return routeKmAt(nearest.segment, plat, plon);
+    }
+
+    private Nearest nearest(double plat, double plon) {
+        Nearest best = new Nearest();
+        if (isEmpty() || !Double.isFinite(plat) || !Double.isFinite(plon)) return best;
+
+        int prow = cellOf(plat, minLat, cellDeg);
+        int pcol = cellOf(plon, minLon, cellDeg);
+
+        // Rings closer than kStart do not intersect the grid at all
+        int kStart = max(0, max(max(-prow, prow - (rows - 1)), max(-pcol, pcol - (cols - 1))));
+        int kMax = max(max(prow, rows - 1 - prow), max(pcol, cols - 1 - pcol));
+
+        double kmPerDegLon = cos(toRadians(plat)) * KM_PER_DEG;
+
+        for (int k = kStart; k <= kMax; k++) {
+            scanRing(plat, plon, prow, pcol, k, best);
+
+            if (best.km < Double.POSITIVE_INFINITY) {
+                // Everything not visited yet lies outside the (2k+1)^2 block around the point
+                double gapLat = min(plat - (minLat + (double) (prow - k) * cellDeg),
+                        (minLat + (double) (prow + k + 1) * cellDeg) - plat) - EPS_DEG;
+                double gapLon = min(plon - (minLon + (double) (pcol - k) * cellDeg),
+                        (minLon + (double) (pcol + k + 1) * cellDeg) - plon) - EPS_DEG;
+
+                double lowerBoundKm = min(gapLat * KM_PER_DEG, gapLon * kmPerDegLon);
+                if (lowerBoundKm > best.km) break;
+            }
+        }
+
+        return best;
+    }
+
+    private void scanRing(double plat, double plon, int prow, int pcol, int k, Nearest best) {
+        if (k == 0) {
+            scanCell(plat, plon, prow, pcol, best);
+            return;
+        }
+
+        // Ring cells clipped to the grid, so far-away query points do not iterate empty cells
+        int c0 = max(0, pcol - k);
+        int c1 = min(cols - 1, pcol + k);
+        int r0 = max(0, prow - k + 1);
+        int r1 = min(rows - 1, prow + k - 1);
+
+        // top and bottom rows of the ring
+        for (int c = c0; c <= c1; c++) {
+            scanCell(plat, plon, prow - k, c, best);
+            scanCell(plat, plon, prow + k, c, best);
+        }
+        // left and right columns (corners already visited)
+        for (int r = r0; r <= r1; r++) {
+            scanCell(plat, plon, r, pcol - k, best);
+            scanCell(plat, plon, r, pcol + k, best);
+        }
+    }
+
+    private void scanCell(double plat, double plon, int row, int col, Nearest best) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) return;
+
+        int cell = row * cols + col;
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            int s = cellSegments[i];
+            double d = DetourCalculator.distancePointToSegmentKm(
+                    plat, plon,
+                    lats[s], lons[s],
+                    lats[s + 1], lons[s + 1]
+            );
+            if (d < best.km) {
+                best.km = d;
+                best.segment = s;
+            }
+        }
+    }
+
+    private static int cellOf(double value, double origin, double cellDeg) {
+        double cell = floor((value - origin) / cellDeg);
+        // keep far-away query points representable; rings are clipped to the grid anyway
+        return (int) max(-100_000_000.0, min(100_000_000.0, cell));
+    }
+
+    private static int clamp(int cell, int size) {
+        return max(0, min(size - 1, cell));
+    }
+
+    /** Running result of one query. */
+    private static final class Nearest {
+        double km = Double.POSITIVE_INFINITY;
+        int segment = -1;
+    }
+}
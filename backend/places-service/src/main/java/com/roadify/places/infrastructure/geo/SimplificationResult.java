@@ -0,0 +1,18 @@
+package com.roadify.places.infrastructure.geo;
+
+/**
+ * Output of {@link RouteSimplifier}: the simplified polyline plus the numbers
+ * needed to tune the tolerance (vertex reduction and the largest deviation introduced).
+ */
+public record SimplificationResult(
+        PackedPolyline polyline,
+        int originalVertexCount,
+        double maxErrorMeters
+) {
+
+    /** Share of vertices removed, 0.0 (nothing removed) .. 1.0. */
+    public double reductionRatio() {
+        if (originalVertexCount == 0) return 0.0;
+        return 1.0 - (double) polyline.size() / originalVertexCount;
+    }
+}
@@ -0,0 +1,122 @@
+package com.roadify.places.infrastructure.geo;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.toRadians;
+
+/**
+ * {@link SegmentDistanceKernel} on the incubating Vector API: one lane per segment.
+ *
+ * Only lane-wise add/sub/mul/div and compares are used (IEEE-exact like their scalar
+ * counterparts, never fused) and the closest segment is picked per lane and then across lanes
+ * with the lowest-index tie-break, so the result always equals {@link ScalarSegmentDistanceKernel}'s.
+ *
+ * Loaded reflectively by {@link SegmentDistanceKernels} only when jdk.incubator.vector is present.
+ */
+final class VectorSegmentDistanceKernel implements SegmentDistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private static final double[] LANE_OFFSETS = new double[LANES];
+
+    static {
+        for (int i = 0; i < LANES; i++) {
+            LANE_OFFSETS[i] = i;
+        }
+    }
+
+    static boolean isUseful() {
+        return LANES >= 2;
+    }
+
+    @Override
+    public int nearestSegment(double plat, double plon,
+                              double[] lats, double[] lons,
+                              double[] xs, double[] ys) {
+        int n = lats.length;
+        double cosLat0 = cos(toRadians(plat));
+
+        // 1) project vertices
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += LANES) {
+            DoubleVector.fromArray(SPECIES, lons, i)
+                    .sub(plon).mul(DEG_TO_RAD).mul(cosLat0).mul(EARTH_RADIUS_KM)
+                    .intoArray(xs, i);
+            DoubleVector.fromArray(SPECIES, lats, i)
+                    .sub(plat).mul(DEG_TO_RAD).mul(EARTH_RADIUS_KM)
+                    .intoArray(ys, i);
+        }
+        for (; i < n; i++) {
+            xs[i] = (lons[i] - plon) * DEG_TO_RAD * cosLat0 * EARTH_RADIUS_KM;
+            ys[i] = (lats[i] - plat) * DEG_TO_RAD * EARTH_RADIUS_KM;
+        }
+
+        // 2) closest segment per lane
+        int segments = n - 1;
+        int vectorSegments = SPECIES.loopBound(segments);
+
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        DoubleVector bestD2 = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+        DoubleVector bestIndex = zero;
+        DoubleVector index = DoubleVector.fromArray(SPECIES, LANE_OFFSETS, 0);
+
+        for (int s = 0; s < vectorSegments; s += LANES) {
+            DoubleVector ax = DoubleVector.fromArray(SPECIES, xs, s);
+            DoubleVector ay = DoubleVector.fromArray(SPECIES, ys, s);
+            DoubleVector bx = DoubleVector.fromArray(SPECIES, xs, s + 1);
+            DoubleVector by = DoubleVector.fromArray(SPECIES, ys, s + 1);
+
+            DoubleVector vx = bx.sub(ax);
+            DoubleVector vy = by.sub(ay);
+            DoubleVector wx = zero.sub(ax);
+            DoubleVector wy = zero.sub(ay);
+
+            DoubleVector c1 = wx.mul(vx).add(wy.mul(vy));
+            DoubleVector c2 = vx.mul(vx).add(vy.mul(vy));
+            DoubleVector t = c1.div(c2);
+
+            VectorMask<Double> atA = c1.compare(VectorOperators.LE, 0.0);
+            VectorMask<Double> atB = c2.compare(VectorOperators.LE, c1).andNot(atA);
+
+            DoubleVector ex = ax.add(t.mul(vx)).blend(bx, atB).blend(ax, atA);
+            DoubleVector ey = ay.add(t.mul(vy)).blend(by, atB).blend(ay, atA);
+            DoubleVector d2 = ex.mul(ex).add(ey.mul(ey));
+
+            VectorMask<Double> closer = d2.compare(VectorOperators.LT, bestD2);
+            bestD2 = bestD2.blend(d2, closer);
+            bestIndex = bestIndex.blend(index, closer);
+
+            index = index.add(LANES);
+        }
+
+        // 3) across lanes: smallest d2, lowest segment index on ties (= first minimum of a sequential scan)
+        double d2 = Double.POSITIVE_INFINITY;
+        int best = -1;
+        for (int lane = 0; lane < LANES; lane++) {
+            double laneD2 = bestD2.lane(lane);
+            int laneIndex = (int) bestIndex.lane(lane);
+            if (laneD2 < d2 || (laneD2 == d2 && best >= 0 && laneIndex < best)) {
+                d2 = laneD2;
+                best = laneIndex;
+            }
+        }
+
+        // 4) remaining segments, all with higher indices
+        return ScalarSegmentDistanceKernel.scanSegments(xs, ys, vectorSegments, segments, d2, best);
+    }
+
+    @Override
+    public int fullScanMaxSegments() {
+        return 1024;
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + LANES;
+    }
+}
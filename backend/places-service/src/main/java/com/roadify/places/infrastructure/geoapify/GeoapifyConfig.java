@@ -1,10 +1,12 @@
 package com.roadify.places.infrastructure.geoapify;
 
+import com.roadify.places.infrastructure.provider.ProviderHttpConnectors;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration for Geoapify WebClient and properties binding.
@@ -13,15 +15,29 @@ import org.springframework.web.reactive.function.client.WebClient;
 @EnableConfigurationProperties(GeoapifyProperties.class)
 public class GeoapifyConfig {
 
+    /**
+     * Connection pool used only by Geoapify calls.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider geoapifyConnectionProvider(GeoapifyProperties properties) {
+        return ProviderHttpConnectors.connectionProvider("geoapify", properties.getPool());
+    }
+
     /**
      * WebClient used to call Geoapify Places API.
      */
     @Bean
     @Qualifier("geoapifyWebClient")
     public WebClient geoapifyWebClient(WebClient.Builder builder,
-                                       GeoapifyProperties properties) {
+                                       GeoapifyProperties properties,
+                                       ConnectionProvider geoapifyConnectionProvider) {
         return builder
                 .baseUrl(properties.getBaseUrl())
+                .clientConnector(ProviderHttpConnectors.connector(
+                        geoapifyConnectionProvider,
+                        properties.getConnectTimeoutMs(),
+                        properties.getTimeoutMs()
+                ))
                 .build();
     }
 }
@@ -1,8 +1,14 @@
 package com.roadify.places.infrastructure.geoapify;
 
 import com.roadify.places.application.GeoapifyClient;
+import com.roadify.places.application.ProviderFetchException;
+import com.roadify.places.application.TruncatedResultException;
+import com.roadify.places.domain.PlaceCategory;
 import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.tile.GeoTile;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -11,8 +17,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * HTTP client implementation for Geoapify Places API.
@@ -26,17 +34,15 @@ public class GeoapifyHttpClient implements GeoapifyClient {
     private final WebClient geoapifyWebClient;
 
     private final GeoapifyProperties properties;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @CircuitBreaker(name = "geoapify")
-    public List<RawPlace> fetchPlaces(String routeGeometry) {
+    @Bulkhead(name = "geoapify")
+    public List<RawPlace> fetchPlaces(String routeGeometry, Set<PlaceCategory> categories) {
 
         // 0) API key guard – local profile'da yanlış/placeholder key ile çağrı atma
-        String apiKey = properties.getApiKey();
-        if (apiKey == null ||
-                apiKey.isBlank() ||
-                "change-me".equals(apiKey)) {
-
+        if (!isEnabled()) {
             log.warn("[Geoapify] API key is not configured or is placeholder (roadify.geoapify.api-key). Skipping Geoapify call.");
             return Collections.emptyList();
         }
@@ -49,51 +55,103 @@ public class GeoapifyHttpClient implements GeoapifyClient {
 
         String filter = "circle:" + lon + "," + lat + "," + 10_000;
 
-        GeoapifyResponse response;
         try {
-            response = geoapifyWebClient
-                    .get()
-                    .uri(uriBuilder -> uriBuilder
-                            .queryParam("categories",
-                                    "catering.restaurant," +
-                                            "catering.cafe," +
-                                            "accommodation.hotel," +
-                                            "camping.camp_site," +
-                                            "camping.caravan_site," +
-                                            "service.vehicle.fuel," +
-                                            "commercial.supermarket," +
-                                            "commercial.shopping_mall," +
-                                            "tourism.attraction")
-                            .queryParam("filter", filter)
-                            .queryParam("limit", 50)
-                            .queryParam("lang", "en")
-                            .queryParam("apiKey", apiKey)
-                            .build()
-                    )
-                    .retrieve()
-                    .bodyToMono(GeoapifyResponse.class)
-                    .block();
+            return requestPlaces(filter, categories);
+        } catch (TruncatedResultException ex) {
+            throw ex;
         } catch (WebClientResponseException ex) {
+            // rethrown so the circuit breaker counts it and the result is never cached as complete
             log.error("[Geoapify] HTTP error while calling API. status={}, body={}",
-                    ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
-            return Collections.emptyList();
+                    ex.getStatusCode(), ex.getResponseBodyAsString());
+            throw new ProviderFetchException("Geoapify places fetch failed", ex);
         } catch (Exception ex) {
-            log.error("[Geoapify] Unexpected error while calling API", ex);
-            return Collections.emptyList();
+            throw new ProviderFetchException("Geoapify places fetch failed", ex);
         }
+    }
+
+    @Override
+    @CircuitBreaker(name = "geoapify")
+    @Bulkhead(name = "geoapify")
+    public List<RawPlace> fetchPlacesInTile(GeoTile tile, Set<PlaceCategory> categories) {
+        if (!isEnabled()) {
+            throw new ProviderFetchException("Geoapify API key is not configured");
+        }
+
+        // rect:lon1,lat1,lon2,lat2
+        String filter = "rect:" + tile.minLon() + "," + tile.minLat() + "," + tile.maxLon() + "," + tile.maxLat();
+
+        try {
+            return requestPlaces(filter, categories);
+        } catch (TruncatedResultException ex) {
+            throw ex;
+        } catch (WebClientResponseException ex) {
+            log.error("[Geoapify] HTTP error while fetching tile={}. status={}, body={}",
+                    tile.hash(), ex.getStatusCode(), ex.getResponseBodyAsString());
+            throw new ProviderFetchException("Geoapify tile fetch failed: " + tile.hash(), ex);
+        } catch (Exception ex) {
+            throw new ProviderFetchException("Geoapify tile fetch failed: " + tile.hash(), ex);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        String apiKey = properties.getApiKey();
+        return apiKey != null && !apiKey.isBlank() && !"change-me".equals(apiKey);
+    }
+
+    /**
+     * @throws TruncatedResultException when more than maxResults places matched (first maxResults attached)
+     */
+    private List<RawPlace> requestPlaces(String filter, Set<PlaceCategory> categories) {
+        int maxResults = Math.max(1, properties.getMaxResults());
+        String categoriesParam = GeoapifyCategoryMapper.buildCategoriesParam(toEnumSet(categories));
+
+        GeoapifyResponse response = geoapifyWebClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("categories", categoriesParam)
+                        .queryParam("filter", filter)
+                        // one extra place tells a full answer from a cut-off one
+                        .queryParam("limit", maxResults + 1)
+                        .queryParam("lang", "en")
+                        .queryParam("apiKey", properties.getApiKey())
+                        .build()
+                )
+                .retrieve()
+                .bodyToMono(GeoapifyResponse.class)
+                .block();
 
         if (response == null || response.getFeatures() == null) {
-            log.info("[Geoapify] No features returned. response={}", response);
+            log.info("[Geoapify] No features returned. categories={}, filter={}", categoriesParam, filter);
             return Collections.emptyList();
         }
 
-        log.info("[Geoapify] Received {} features", response.getFeatures().size());
+        log.info("[Geoapify] Received {} features. categories={}, filter={}",
+                response.getFeatures().size(), categoriesParam, filter);
 
-        return response.getFeatures()
+        List<GeoapifyResponse.Feature> features = response.getFeatures();
+        boolean truncated = features.size() > maxResults;
+        List<RawPlace> places = (truncated ? features.subList(0, maxResults) : features)
                 .stream()
                 .map(GeoapifyMapper::from)
                 .filter(Objects::nonNull)
                 .toList();
+
+        if (truncated) {
+            // more places than one request returns: must not be cached as the complete area
+            meterRegistry.counter("roadify.places.provider.truncated",
+                    "provider", "geoapify", "reason", "max-results").increment();
+            log.warn("[Geoapify] Response cut off at {} places. categories={}, filter={}",
+                    maxResults, categoriesParam, filter);
+            throw new TruncatedResultException("Geoapify response cut off at " + maxResults + " places", places);
+        }
+        return places;
+    }
+
+    private static EnumSet<PlaceCategory> toEnumSet(Set<PlaceCategory> categories) {
+        return (categories == null || categories.isEmpty())
+                ? EnumSet.noneOf(PlaceCategory.class)
+                : EnumSet.copyOf(categories);
     }
 
     private double extractLat(String geometry) {
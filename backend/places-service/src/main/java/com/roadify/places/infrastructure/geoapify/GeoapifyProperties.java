@@ -1,5 +1,6 @@
 package com.roadify.places.infrastructure.geoapify;
 
+import com.roadify.places.infrastructure.provider.ProviderPoolProperties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -23,7 +24,23 @@ public class GeoapifyProperties {
     private String apiKey;
 
     /**
-     * Optional timeout in milliseconds (not yet used, but can be wired later).
+     * Response timeout in milliseconds (time to wait for the response once the request is sent).
      */
     private Integer timeoutMs;
+
+    /**
+     * TCP connect timeout in milliseconds.
+     */
+    private Integer connectTimeoutMs = 2000;
+
+    /**
+     * Max places per request (sent as limit). One more is requested, so a response over the limit
+     * is recognized as cut off instead of being cached as complete. Geoapify allows up to 500.
+     */
+    private int maxResults = 200;
+
+    /**
+     * Dedicated connection pool of the Geoapify client.
+     */
+    private ProviderPoolProperties pool = new ProviderPoolProperties();
 }
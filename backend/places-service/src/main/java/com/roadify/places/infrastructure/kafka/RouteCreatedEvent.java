@@ -0,0 +1,16 @@
+package com.roadify.places.infrastructure.kafka;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of the route.created topic (published by route-service).
+ * Only the route id is needed for prefetching.
+ */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RouteCreatedEvent {
+    private String routeId;
+}
@@ -0,0 +1,42 @@
+package com.roadify.places.infrastructure.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roadify.places.application.PlacesPrefetcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands newly created routes to {@link PlacesPrefetcher}.
+ * Only queues work, so the consumer never waits on providers.
+ */
+@Slf4j
+@Profile("docker")
+@Component
+@RequiredArgsConstructor
+public class RouteCreatedListener {
+
+    private final ObjectMapper objectMapper;
+    private final PlacesPrefetcher placesPrefetcher;
+
+    @KafkaListener(
+            topics = "route.created",
+            groupId = "${roadify.places.prefetch.group-id:roadify-places-service}"
+    )
+    public void onRouteCreated(ConsumerRecord<String, String> record) {
+        String routeId = record.key();
+        try {
+            RouteCreatedEvent event = objectMapper.readValue(record.value(), RouteCreatedEvent.class);
+            if (event.getRouteId() != null) routeId = event.getRouteId();
+        } catch (JsonProcessingException e) {
+            // route-service keys the record by routeId, so the key is still usable
+            log.warn("[RouteCreatedListener] Unreadable route.created payload, using key={}", routeId);
+        }
+
+        placesPrefetcher.submit(routeId);
+    }
+}
@@ -0,0 +1,63 @@
+package com.roadify.places.infrastructure.overpass;
+
+import com.roadify.places.domain.PlaceCategory;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OSM tags queried from Overpass per {@link PlaceCategory}.
+ *
+ * Values are chosen so that the category tag produced by {@link OverpassStreamingDecoder}
+ * (amenity value, or "tourism.x" / "shop.x") maps back to the same category in
+ * SimplePlaceNormalizer.
+ */
+final class OverpassCategoryTags {
+
+    static final String AMENITY = "amenity";
+    static final String TOURISM = "tourism";
+    static final String SHOP = "shop";
+
+    private static final Map<PlaceCategory, Map<String, List<String>>> TAGS = new EnumMap<>(PlaceCategory.class);
+
+    static {
+        TAGS.put(PlaceCategory.FOOD, Map.of(AMENITY, List.of("restaurant", "fast_food", "food_court")));
+        TAGS.put(PlaceCategory.CAFE, Map.of(AMENITY, List.of("cafe")));
+        TAGS.put(PlaceCategory.FUEL, Map.of(AMENITY, List.of("fuel")));
+        TAGS.put(PlaceCategory.HOTEL, Map.of(TOURISM, List.of("hotel", "motel", "guest_house")));
+        TAGS.put(PlaceCategory.CAMPING, Map.of(TOURISM, List.of("camp_site")));
+        TAGS.put(PlaceCategory.MARKET, Map.of(SHOP, List.of("supermarket"), AMENITY, List.of("marketplace")));
+        TAGS.put(PlaceCategory.SHOP, Map.of(SHOP, List.of("mall", "convenience")));
+        TAGS.put(PlaceCategory.WC, Map.of(AMENITY, List.of("toilets")));
+        TAGS.put(PlaceCategory.TOURIST, Map.of(TOURISM, List.of("attraction", "museum", "viewpoint")));
+        // OTHER: nothing to query
+    }
+
+    private OverpassCategoryTags() {}
+
+    static Map<String, List<String>> tagsOf(PlaceCategory category) {
+        return TAGS.getOrDefault(category, Map.of());
+    }
+
+    /**
+     * OSM key -> values for the requested categories, keys in a stable order (amenity, tourism, shop).
+     */
+    static Map<String, Set<String>> valuesByKey(Collection<PlaceCategory> categories) {
+        Map<String, Set<String>> byKey = new LinkedHashMap<>();
+        byKey.put(AMENITY, new LinkedHashSet<>());
+        byKey.put(TOURISM, new LinkedHashSet<>());
+        byKey.put(SHOP, new LinkedHashSet<>());
+
+        for (PlaceCategory category : PlaceCategory.values()) {
+            if (!categories.contains(category)) continue;
+            tagsOf(category).forEach((key, values) -> byKey.get(key).addAll(values));
+        }
+        byKey.values().removeIf(Set::isEmpty);
+        return byKey;
+    }
+}
@@ -1,18 +1,51 @@
 package com.roadify.places.infrastructure.overpass;
 
+import com.roadify.places.infrastructure.provider.ProviderHttpConnectors;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 @EnableConfigurationProperties(OverpassProperties.class)
 public class OverpassClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider overpassConnectionProvider(OverpassProperties properties) {
+        return ProviderHttpConnectors.connectionProvider("overpass", properties.getPool());
+    }
+
     @Bean
-    public WebClient overpassWebClient(OverpassProperties properties, WebClient.Builder builder) {
+    public WebClient overpassWebClient(OverpassProperties properties,
+                                       WebClient.Builder builder,
+                                       ConnectionProvider overpassConnectionProvider) {
         return builder
                 .baseUrl(properties.getBaseUrl())
+                .clientConnector(ProviderHttpConnectors.connector(
+                        overpassConnectionProvider,
+                        properties.getConnectTimeoutMs(),
+                        properties.getTimeoutMs()
+                ))
+                .build();
+    }
+
+    /**
+     * Client of the optional mirror (same pool settings; Reactor Netty pools per remote host).
+     * Without a mirror it points at the primary and is never used.
+     */
+    @Bean
+    public WebClient overpassMirrorWebClient(OverpassProperties properties,
+                                             WebClient.Builder builder,
+                                             ConnectionProvider overpassConnectionProvider) {
+        String mirror = properties.getMirrorBaseUrl();
+        return builder
+                .baseUrl((mirror != null && !mirror.isBlank()) ? mirror : properties.getBaseUrl())
+                .clientConnector(ProviderHttpConnectors.connector(
+                        overpassConnectionProvider,
+                        properties.getConnectTimeoutMs(),
+                        properties.getTimeoutMs()
+                ))
                 .build();
     }
 }
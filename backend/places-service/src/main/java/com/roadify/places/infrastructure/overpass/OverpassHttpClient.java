@@ -1,131 +1,264 @@
 package com.roadify.places.infrastructure.overpass;
 
 import com.roadify.places.application.OverpassClient;
+import com.roadify.places.application.ProviderFetchException;
+import com.roadify.places.application.TruncatedResultException;
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.geo.PolylineDecoder;
+import com.roadify.places.infrastructure.geo.RouteSimplifier;
+import com.roadify.places.infrastructure.geo.SimplificationResult;
 import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.tile.GeoTile;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OverpassHttpClient implements OverpassClient {
 
+    private static final String PRIMARY = "primary";
+    private static final String MIRROR = "mirror";
+
     @Qualifier("overpassWebClient")
     private final WebClient overpassWebClient;
+    @Qualifier("overpassMirrorWebClient")
+    private final WebClient overpassMirrorWebClient;
+    private final OverpassProperties overpassProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean hasMirror() {
+        String mirror = overpassProperties.getMirrorBaseUrl();
+        return mirror != null && !mirror.isBlank();
+    }
 
     @Override
     @CircuitBreaker(name = "overpass")
-    public List<RawPlace> fetchPlaces(String routeGeometry) {
+    @Bulkhead(name = "overpass")
+    public List<RawPlace> fetchPlaces(String routeGeometry, Set<PlaceCategory> categories) {
+        return fetchAround(routeGeometry, categories, null);
+    }
 
-        String bbox = "36.85,30.65,36.95,30.80";
-        String query = buildOverpassQuery(bbox);
+    @Override
+    @CircuitBreaker(name = "overpass")
+    @Bulkhead(name = "overpass")
+    public List<RawPlace> fetchPlaces(String routeGeometry, Set<PlaceCategory> categories, Duration hedgeAfter) {
+        return fetchAround(routeGeometry, categories, hedgeAfter);
+    }
 
-        Map<String, Object> response;
-        try {
-            response = overpassWebClient
-                    .post()
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters.fromFormData("data", query))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
+    @Override
+    @CircuitBreaker(name = "overpass")
+    @Bulkhead(name = "overpass")
+    public List<RawPlace> fetchPlacesInTile(GeoTile tile, Set<PlaceCategory> categories) {
+        return fetchTile(tile, categories, null);
+    }
+
+    @Override
+    @CircuitBreaker(name = "overpass")
+    @Bulkhead(name = "overpass")
+    public List<RawPlace> fetchPlacesInTile(GeoTile tile, Set<PlaceCategory> categories, Duration hedgeAfter) {
+        return fetchTile(tile, categories, hedgeAfter);
+    }
+
+    private List<RawPlace> fetchAround(String routeGeometry, Set<PlaceCategory> categories, Duration hedgeAfter) {
 
+        Set<PlaceCategory> queried = queriedCategories(categories);
+        if (!hasQueryableCategories(queried)) return Collections.emptyList();
+
+        PackedPolyline route = PolylineDecoder.decode(routeGeometry);
+        if (route.isEmpty()) {
+            log.warn("[Overpass] Route geometry could not be decoded, skipping around query.");
+            return Collections.emptyList();
+        }
+
+        try {
+            return requestPlaces(buildAroundQuery(route, queried), hedgeAfter);
+        } catch (TruncatedResultException ex) {
+            throw ex;
         } catch (WebClientResponseException ex) {
+            // rethrown so the circuit breaker counts it and the result is never cached as complete
             log.error("[Overpass] HTTP error while calling API. status={}, body={}",
-                    ex.getStatusCode(), ex.getResponseBodyAsString(), ex);
-            return Collections.emptyList();
+                    ex.getStatusCode(), ex.getResponseBodyAsString());
+            throw new ProviderFetchException("Overpass around query failed", ex);
         } catch (Exception ex) {
-            log.error("[Overpass] Unexpected error while calling API", ex);
-            return Collections.emptyList();
+            throw new ProviderFetchException("Overpass around query failed", ex);
         }
+    }
 
-        if (response == null) {
-            log.warn("[Overpass] Response is null");
-            return Collections.emptyList();
+    private List<RawPlace> fetchTile(GeoTile tile, Set<PlaceCategory> categories, Duration hedgeAfter) {
+        Set<PlaceCategory> queried = queriedCategories(categories);
+        if (!hasQueryableCategories(queried)) return Collections.emptyList();
+
+        try {
+            return requestPlaces(OverpassQueryBuilder.bboxQuery(
+                    tile, queried, overpassProperties.getQueryTimeoutSeconds(), outLimit()), hedgeAfter);
+        } catch (TruncatedResultException ex) {
+            throw ex;
+        } catch (WebClientResponseException ex) {
+            log.error("[Overpass] HTTP error while fetching tile={}. status={}, body={}",
+                    tile.hash(), ex.getStatusCode(), ex.getResponseBodyAsString());
+            throw new ProviderFetchException("Overpass tile fetch failed: " + tile.hash(), ex);
+        } catch (Exception ex) {
+            throw new ProviderFetchException("Overpass tile fetch failed: " + tile.hash(), ex);
         }
+    }
 
-        Object elementsObj = response.get("elements");
-        if (!(elementsObj instanceof List<?> elementsRaw)) {
-            log.warn("[Overpass] 'elements' field is missing or not a list. responseKeys={}", response.keySet());
-            return Collections.emptyList();
+    /**
+     * Runs the query against the primary endpoint. With hedgeAfter set (and a mirror configured)
+     * the same query is sent to the mirror if the primary has not answered by then; the first
+     * successful response wins and the other request is cancelled.
+     *
+     * @throws TruncatedResultException when the response hit maxElements or Overpass aborted the query
+     *                                   with a runtime error remark (places read so far attached)
+     */
+    private List<RawPlace> requestPlaces(String query, Duration hedgeAfter) {
+        DecodedResponse response;
+        if (hedgeAfter == null || !hasMirror()) {
+            response = request(overpassWebClient, query).block();
+        } else {
+            HedgedResult winner = Mono.firstWithValue(
+                    request(overpassWebClient, query).map(decoded -> new HedgedResult(PRIMARY, decoded)),
+                    request(overpassMirrorWebClient, query).map(decoded -> new HedgedResult(MIRROR, decoded))
+                            .delaySubscription(hedgeAfter)
+            ).block();
+
+            meterRegistry.counter("roadify.places.provider.hedge", "provider", "overpass", "winner", winner.source())
+                    .increment();
+            response = winner.response();
+        }
+
+        if (response.truncation() != null) {
+            // a cut-off answer must not end up in the tile / BASE cache as a complete one
+            meterRegistry.counter("roadify.places.provider.truncated",
+                    "provider", "overpass", "reason", response.truncation()).increment();
+            throw new TruncatedResultException(
+                    "Overpass response incomplete (" + response.truncation() + ")", response.places());
         }
+        return response.places();
+    }
+
+    /**
+     * Streams the response body through {@link OverpassStreamingDecoder} instead of
+     * materializing it as nested maps; stops downloading once the element cap is hit.
+     */
+    private Mono<DecodedResponse> request(WebClient client, String query) {
+        return Mono.defer(() -> {
+            OverpassStreamingDecoder decoder = new OverpassStreamingDecoder(overpassProperties.getMaxElements());
 
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> elements = (List<Map<String, Object>>) (List<?>) elementsRaw;
+            return client
+                    .post()
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(BodyInserters.fromFormData("data", query))
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .map(buffer -> feed(decoder, buffer))
+                    // cancels the response once the decoder does not need more input
+                    .takeUntil(wantsMore -> !wantsMore)
+                    .then(Mono.fromCallable(() -> decoded(decoder)));
+        });
+    }
 
-        return elements.stream()
-                .map(this::mapToRawPlace)
-                .filter(Objects::nonNull)
-                .toList();
+    private static DecodedResponse decoded(OverpassStreamingDecoder decoder) throws IOException {
+        List<RawPlace> places = decoder.finish();
+        if (decoder.isCapReached()) return new DecodedResponse(places, "max-elements");
+        // HTTP 200 with partial elements: the query hit [timeout:..] or ran out of memory
+        if (decoder.isRuntimeError()) return new DecodedResponse(places, "runtime-error");
+        return new DecodedResponse(places, null);
     }
 
     /**
-     * routeGeometry şu an bbox gibi kullanılıyor.
-     * Örn: "36.88,30.70,36.92,30.74" formatında.
+     * One element over the cap is enough to tell a truncated response from a complete one.
      */
-    private String buildOverpassQuery(String bbox) {
-        return """
-                [out:json];
-                (
-                  node["amenity"="fuel"](%s);
-                  node["amenity"="cafe"](%s);
-                  node["amenity"="restaurant"](%s);
-                );
-                out body;
-                """.formatted(bbox, bbox, bbox);
-    }
-
-    private RawPlace mapToRawPlace(Map<String, Object> element) {
-
-        @SuppressWarnings("unchecked")
-        Map<String, Object> tags = (Map<String, Object>) element.get("tags");
-
-        String name = "Unknown";
-        String category = "unknown";
-
-        if (tags != null) {
-            Object nameObj = tags.get("name");
-            if (nameObj != null) {
-                name = String.valueOf(nameObj);
-            }
-            Object amenityObj = tags.get("amenity");
-            if (amenityObj != null) {
-                category = String.valueOf(amenityObj);
-            }
+    private int outLimit() {
+        int maxElements = overpassProperties.getMaxElements();
+        return (maxElements > 0) ? maxElements + 1 : 0;
+    }
+
+    private boolean feed(OverpassStreamingDecoder decoder, DataBuffer buffer) {
+        try {
+            byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            return decoder.feed(chunk, 0, chunk.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
         }
+    }
 
-        Object latObj = element.get("lat");
-        Object lonObj = element.get("lon");
+    /**
+     * Requested categories restricted to the ones configured for Overpass (null/empty = all configured).
+     */
+    private Set<PlaceCategory> queriedCategories(Set<PlaceCategory> requested) {
+        Set<PlaceCategory> configured = overpassProperties.getCategories();
+        if (requested == null || requested.isEmpty() || configured == null) return configured;
 
-        if (!(latObj instanceof Number latNum) || !(lonObj instanceof Number lonNum)) {
-            log.warn("[Overpass] Element missing numeric lat/lon: {}", element);
-            return null;
+        EnumSet<PlaceCategory> queried = EnumSet.noneOf(PlaceCategory.class);
+        for (PlaceCategory category : requested) {
+            if (configured.contains(category)) queried.add(category);
         }
+        return queried;
+    }
+
+    /**
+     * @param truncation why the places are incomplete ("max-elements", "runtime-error"), null when complete
+     */
+    private record DecodedResponse(List<RawPlace> places, String truncation) {
+    }
+
+    private record HedgedResult(String source, DecodedResponse response) {
+    }
+
+    private boolean hasQueryableCategories(Set<PlaceCategory> categories) {
+        return !OverpassCategoryTags.valuesByKey(categories).isEmpty();
+    }
+
+    /**
+     * Single union query over a corridor around the route. The polyline is simplified until it
+     * fits maxQueryVertices; the simplification error is added to the radius so that nothing
+     * inside the original corridor is lost.
+     */
+    private String buildAroundQuery(PackedPolyline route, Set<PlaceCategory> categories) {
+        double radius = overpassProperties.getAroundRadiusMeters();
+        int maxVertices = Math.max(2, overpassProperties.getMaxQueryVertices());
+
+        PackedPolyline queryLine = route;
+        double extraMeters = 0.0;
+        double tolerance = radius / 10;
+        while (queryLine.size() > maxVertices) {
+            SimplificationResult reduced = RouteSimplifier.simplify(route, tolerance);
+            queryLine = reduced.polyline();
+            extraMeters = reduced.maxErrorMeters();
+            tolerance *= 2;
+        }
+
+        log.debug("[Overpass] around query: vertices={} (route={}), radius={}m",
+                queryLine.size(), route.size(), radius + extraMeters);
 
-        double lat = latNum.doubleValue();
-        double lon = lonNum.doubleValue();
-
-        return RawPlace.builder()
-                .provider("Overpass")
-                .externalId(String.valueOf(element.get("id")))
-                .name(name)
-                .categoryTag(category)
-                .latitude(lat)
-                .longitude(lon)
-                .rating(null)
-                .build();
+        return OverpassQueryBuilder.aroundQuery(
+                queryLine, radius + extraMeters,
+                categories, overpassProperties.getQueryTimeoutSeconds(), outLimit());
     }
 }
@@ -1,10 +1,60 @@
 package com.roadify.places.infrastructure.overpass;
 
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.provider.ProviderPoolProperties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @Data
 @ConfigurationProperties(prefix = "roadify.overpass")
 public class OverpassProperties {
     private String baseUrl;
+
+    /**
+     * Optional second Overpass instance; slow requests are hedged to it after the primary's p90 latency.
+     */
+    private String mirrorBaseUrl;
+
+    /**
+     * Max elements decoded per response; the rest of the body is not read (0 = unlimited).
+     */
+    private int maxElements = 5000;
+
+    /**
+     * Half-width of the corridor queried with around: along the route.
+     */
+    private double aroundRadiusMeters = 2000;
+
+    /**
+     * Upper bound for route vertices in an around: query; the polyline is simplified further if needed.
+     */
+    private int maxQueryVertices = 300;
+
+    /**
+     * Overpass server-side timeout ([timeout:N]).
+     */
+    private int queryTimeoutSeconds = 25;
+
+    /**
+     * Categories queried from Overpass (OTHER has no OSM tags and is ignored).
+     */
+    private Set<PlaceCategory> categories = EnumSet.complementOf(EnumSet.of(PlaceCategory.OTHER));
+
+    /**
+     * Response timeout in milliseconds; must exceed queryTimeoutSeconds or slow queries are cut off client-side.
+     */
+    private Integer timeoutMs = 30_000;
+
+    /**
+     * TCP connect timeout in milliseconds.
+     */
+    private Integer connectTimeoutMs = 3000;
+
+    /**
+     * Dedicated connection pool of the Overpass client (public instances allow few parallel queries).
+     */
+    private ProviderPoolProperties pool = new ProviderPoolProperties();
 }
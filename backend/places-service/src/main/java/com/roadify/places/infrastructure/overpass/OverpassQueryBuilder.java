@@ -0,0 +1,83 @@
+package com.roadify.places.infrastructure.overpass;
+
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.tile.GeoTile;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds Overpass QL for places queries.
+ *
+ * One union over the OSM keys of the requested categories (one regex clause per key),
+ * restricted either to a corridor around the route ({@code around:radius,lat,lon,...})
+ * or to a tile bbox. Output is trimmed: nodes are printed without metadata, ways only
+ * with tags and center (no node lists), relations not at all; {@code qt} skips sorting by id.
+ * With an output limit every out statement prints at most that many elements, so an area over
+ * the decoder cap costs a bounded response instead of the full one.
+ */
+final class OverpassQueryBuilder {
+
+    private OverpassQueryBuilder() {}
+
+    /**
+     * @param route         already reduced polyline (each vertex becomes part of the query text)
+     * @param radiusMeters  corridor half-width
+     */
+    static String aroundQuery(PackedPolyline route, double radiusMeters,
+                              Collection<PlaceCategory> categories, int timeoutSeconds) {
+        return aroundQuery(route, radiusMeters, categories, timeoutSeconds, 0);
+    }
+
+    /**
+     * @param outLimit max elements printed per out statement (0 = unlimited)
+     */
+    static String aroundQuery(PackedPolyline route, double radiusMeters,
+                              Collection<PlaceCategory> categories, int timeoutSeconds, int outLimit) {
+        StringBuilder filter = new StringBuilder(32 + route.size() * 20);
+        filter.append("(around:").append(Math.round(Math.ceil(radiusMeters)));
+        for (int i = 0; i < route.size(); i++) {
+            filter.append(',').append(coordinate(route.lat(i))).append(',').append(coordinate(route.lon(i)));
+        }
+        filter.append(')');
+        return query(filter.toString(), categories, timeoutSeconds, outLimit);
+    }
+
+    static String bboxQuery(GeoTile tile, Collection<PlaceCategory> categories, int timeoutSeconds) {
+        return bboxQuery(tile, categories, timeoutSeconds, 0);
+    }
+
+    /**
+     * @param outLimit max elements printed per out statement (0 = unlimited)
+     */
+    static String bboxQuery(GeoTile tile, Collection<PlaceCategory> categories, int timeoutSeconds, int outLimit) {
+        // Overpass bbox order: south,west,north,east
+        String filter = "(" + tile.minLat() + "," + tile.minLon() + "," + tile.maxLat() + "," + tile.maxLon() + ")";
+        return query(filter, categories, timeoutSeconds, outLimit);
+    }
+
+    private static String query(String spatialFilter, Collection<PlaceCategory> categories,
+                                int timeoutSeconds, int outLimit) {
+        Map<String, Set<String>> valuesByKey = OverpassCategoryTags.valuesByKey(categories);
+
+        StringBuilder q = new StringBuilder(spatialFilter.length() * valuesByKey.size() + 256);
+        q.append("[out:json][timeout:").append(timeoutSeconds).append("];\n(\n");
+        valuesByKey.forEach((key, values) -> q
+                .append("  nwr[\"").append(key).append("\"~\"^(")
+                .append(String.join("|", values))
+                .append(")$\"]").append(spatialFilter).append(";\n"));
+        q.append(")->.places;\n");
+        String limit = (outLimit > 0) ? " " + outLimit : "";
+        q.append("node.places;\nout qt").append(limit).append(";\n");
+        q.append("way.places;\nout tags center qt").append(limit).append(";\n");
+        return q.toString();
+    }
+
+    private static String coordinate(double value) {
+        // 5 decimals ~ 1 m, plenty for a corridor filter and keeps the query short
+        return String.format(Locale.ROOT, "%.5f", value);
+    }
+}
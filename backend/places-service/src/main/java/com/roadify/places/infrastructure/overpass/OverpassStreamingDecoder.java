@@ -0,0 +1,264 @@
+package com.roadify.places.infrastructure.overpass;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for Overpass JSON responses.
+ *
+ * Body chunks are pushed into a non-blocking Jackson parser as they arrive, and a
+ * {@link RawPlace} is produced as soon as its element object is closed. Only type, id, lat/lon
+ * (or center.lat/center.lon) and the name/amenity/tourism/shop tags are kept; every other field and tag
+ * is skipped at token level without building strings or maps.
+ *
+ * The cap counts elements, not places: once element maxElements + 1 shows up the response is
+ * known to hold more than the cap and reading stops. A top-level "remark" (Overpass reports
+ * query timeouts and out-of-memory aborts that way, still with HTTP 200 and partial elements)
+ * is kept so the caller can treat the response as incomplete.
+ *
+ * Node, way and relation ids share a number space, so ways and relations get their type in the
+ * external id ("way/123", "relation/123"); nodes keep the plain id they always had.
+ *
+ * Not thread-safe: one instance per response.
+ */
+@Slf4j
+final class OverpassStreamingDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Nesting levels: root object = 1, elements array = 2, element = 3, tags/center = 4
+    private static final int ROOT = 1;
+    private static final int ELEMENTS = 2;
+    private static final int ELEMENT = 3;
+    private static final int SECTION = 4;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final int maxElements;
+
+    private final List<RawPlace> places = new ArrayList<>();
+
+    private int depth;
+    private boolean inElements;
+    private boolean elementsSeen;
+    private boolean capReached;
+    private int elementCount;
+    private String remark;
+
+    private String rootField;
+    private String elementField;
+    private String section;
+    private String sectionField;
+
+    // Current element
+    private String type;
+    private String id;
+    private Double lat;
+    private Double lon;
+    private Double centerLat;
+    private Double centerLon;
+    private String name;
+    private String amenity;
+    private String tourism;
+    private String shop;
+
+    OverpassStreamingDecoder(int maxElements) {
+        this.maxElements = maxElements;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create non-blocking JSON parser", e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Consumes one body chunk. The array may be reused by the caller after this returns.
+     *
+     * @return false once the element cap is reached and the rest of the body is not needed
+     */
+    boolean feed(byte[] chunk, int offset, int length) throws IOException {
+        if (capReached) return false;
+
+        feeder.feedInput(chunk, offset, offset + length);
+        drain();
+        return !capReached;
+    }
+
+    /**
+     * Ends the input (unless the cap cut it short) and returns all decoded places.
+     */
+    List<RawPlace> finish() throws IOException {
+        if (!capReached) {
+            feeder.endOfInput();
+            drain();
+        }
+        parser.close();
+
+        if (!elementsSeen) {
+            log.warn("[Overpass] 'elements' field is missing or not a list.");
+        }
+        if (capReached) {
+            log.warn("[Overpass] Element cap reached ({}); remaining elements were not read.", maxElements);
+        }
+        if (remark != null) {
+            log.warn("[Overpass] Response remark: {}", remark);
+        }
+        return places;
+    }
+
+    boolean isCapReached() {
+        return capReached;
+    }
+
+    /**
+     * @return top-level remark of the response, null when there was none
+     */
+    String getRemark() {
+        return remark;
+    }
+
+    /**
+     * True when Overpass aborted the query (timeout, out of memory) and the elements are incomplete.
+     */
+    boolean isRuntimeError() {
+        return remark != null && remark.contains("runtime error");
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while (!capReached && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            handle(token);
+        }
+    }
+
+    private void handle(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> {
+                depth++;
+                if (depth == ELEMENTS && token == JsonToken.START_ARRAY && "elements".equals(rootField)) {
+                    inElements = true;
+                    elementsSeen = true;
+                } else if (inElements && depth == ELEMENT && token == JsonToken.START_OBJECT) {
+                    if (maxElements > 0 && elementCount >= maxElements) {
+                        // element maxElements + 1 exists -> the response is over the cap
+                        capReached = true;
+                        return;
+                    }
+                    beginElement();
+                } else if (inElements && depth == SECTION) {
+                    section = (token == JsonToken.START_OBJECT) ? elementField : null;
+                }
+            }
+            case END_OBJECT, END_ARRAY -> {
+                if (inElements) {
+                    if (depth == SECTION) {
+                        section = null;
+                    } else if (depth == ELEMENT && token == JsonToken.END_OBJECT) {
+                        endElement();
+                    } else if (depth == ELEMENTS) {
+                        inElements = false;
+                    }
+                }
+                depth--;
+            }
+            case FIELD_NAME -> {
+                String field = parser.currentName();
+                if (depth == ROOT) rootField = field;
+                else if (inElements && depth == ELEMENT) elementField = field;
+                else if (inElements && depth == SECTION) sectionField = field;
+            }
+            default -> {
+                if (inElements) {
+                    onScalar(token);
+                } else if (depth == ROOT && "remark".equals(rootField) && token == JsonToken.VALUE_STRING) {
+                    remark = parser.getText();
+                }
+            }
+        }
+    }
+
+    private void onScalar(JsonToken token) throws IOException {
+        if (depth == ELEMENT && elementField != null) {
+            switch (elementField) {
+                case "type" -> type = (token == JsonToken.VALUE_NULL) ? null : parser.getText();
+                case "id" -> id = (token == JsonToken.VALUE_NULL) ? null : parser.getText();
+                case "lat" -> lat = numberOrNull(token);
+                case "lon" -> lon = numberOrNull(token);
+                default -> { /* timestamp, version, ... not needed */ }
+            }
+        } else if (depth == SECTION && section != null && sectionField != null) {
+            if (section.equals("tags") && token != JsonToken.VALUE_NULL) {
+                // Other tags (addresses, opening hours, ...) are dropped without materializing their text
+                if (sectionField.equals("name")) name = parser.getText();
+                else if (sectionField.equals("amenity")) amenity = parser.getText();
+                else if (sectionField.equals("tourism")) tourism = parser.getText();
+                else if (sectionField.equals("shop")) shop = parser.getText();
+            } else if (section.equals("center")) {
+                if (sectionField.equals("lat")) centerLat = numberOrNull(token);
+                else if (sectionField.equals("lon")) centerLon = numberOrNull(token);
+            }
+        }
+    }
+
+    /**
+     * amenity value as before; tourism/shop are prefixed so the normalizer can tell
+     * e.g. shop=mall (SHOP) from an unrelated "mall" value.
+     */
+    private String categoryTag() {
+        if (amenity != null) return amenity;
+        if (tourism != null) return "tourism." + tourism;
+        if (shop != null) return "shop." + shop;
+        return "unknown";
+    }
+
+    private String externalId() {
+        if (type == null || type.equals("node")) return String.valueOf(id);
+        return type + "/" + id;
+    }
+
+    private Double numberOrNull(JsonToken token) throws IOException {
+        return (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT)
+                ? parser.getDoubleValue()
+                : null;
+    }
+
+    private void beginElement() {
+        type = null;
+        id = null;
+        lat = lon = centerLat = centerLon = null;
+        name = amenity = tourism = shop = null;
+        elementField = null;
+        section = null;
+    }
+
+    private void endElement() {
+        elementCount++;
+
+        // Ways/relations queried with "out center" carry their position in center
+        Double placeLat = (lat != null) ? lat : centerLat;
+        Double placeLon = (lon != null) ? lon : centerLon;
+
+        if (placeLat == null || placeLon == null) {
+            log.warn("[Overpass] Element missing numeric lat/lon: id={}", externalId());
+        } else {
+            places.add(RawPlace.builder()
+                    .provider("Overpass")
+                    .externalId(externalId())
+                    .name(name != null ? name : "Unknown")
+                    .categoryTag(categoryTag())
+                    .latitude(placeLat)
+                    .longitude(placeLon)
+                    .rating(null)
+                    .build());
+        }
+    }
+}
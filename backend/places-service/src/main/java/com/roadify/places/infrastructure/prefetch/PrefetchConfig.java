@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.prefetch;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds prefetch properties.
+ */
+@Configuration
+@EnableConfigurationProperties(PrefetchProperties.class)
+public class PrefetchConfig {
+}
@@ -0,0 +1,30 @@
+package com.roadify.places.infrastructure.prefetch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Warming of BASE lists for newly created routes (route.created).
+ * Binds roadify.places.prefetch.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.prefetch")
+public class PrefetchProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Concurrent prefetches; each one is a full provider round-trip, so keep this small
+     * next to live traffic and provider rate limits.
+     */
+    private int workers = 2;
+
+    /**
+     * Routes waiting for a worker. When full, the oldest waiting route is dropped:
+     * newer routes are more likely to be opened soon.
+     */
+    private int queueCapacity = 100;
+
+    /** Kafka consumer group for route.created. */
+    private String groupId = "roadify-places-service";
+}
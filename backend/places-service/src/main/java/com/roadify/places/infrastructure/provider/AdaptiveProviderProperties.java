@@ -0,0 +1,51 @@
+package com.roadify.places.infrastructure.provider;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Latency-adaptive provider selection.
+ * Binds roadify.places.adaptive.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.adaptive")
+public class AdaptiveProviderProperties {
+
+    /**
+     * Let rolling latency / error stats decide per request whether a provider is fetched,
+     * hedged to a mirror or skipped (served from its tile cache only).
+     */
+    private boolean enabled = true;
+
+    /**
+     * Only calls younger than this count towards the percentiles and the error rate.
+     */
+    private Duration window = Duration.ofMinutes(5);
+
+    /**
+     * Max calls kept per provider (most recent first).
+     */
+    private int windowSize = 256;
+
+    /**
+     * Below this many calls in the window no decision is taken (provider is fetched normally).
+     */
+    private int minSamples = 20;
+
+    /**
+     * Providers failing more often than this are skipped like slow ones.
+     */
+    private double maxErrorRate = 0.5;
+
+    /**
+     * A skipped provider still gets one real request per interval, so recovery is noticed.
+     */
+    private Duration probeInterval = Duration.ofSeconds(30);
+
+    /**
+     * Lower bound of the hedge delay (p90), avoids doubling every request when the provider is fast.
+     */
+    private Duration minHedgeDelay = Duration.ofMillis(200);
+}
@@ -0,0 +1,199 @@
+package com.roadify.places.infrastructure.provider;
+
+import com.roadify.places.domain.PlaceCategory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled substring classifier for provider category tags.
+ *
+ * Rules are "category -> substrings", in priority order. A tag maps to the first category
+ * (in rule order) having any substring contained in the lowercased tag, which is exactly
+ * a chain of {@code tag.contains(..)} checks. All substrings are compiled into one
+ * Aho-Corasick automaton, so a tag is scanned once regardless of the number of rules,
+ * and results are memoized per distinct tag (bounded).
+ *
+ * Thread-safe; build once and share.
+ */
+public final class CategoryClassifier {
+
+    private final PlaceCategory[] categories; // rank -> category
+    private final PlaceCategory fallback;
+    private final int noMatch;
+
+    // Symbol per ASCII char (-1 = char not used by any pattern)
+    private final int[] symbolOf = new int[128];
+    private final int alphabetSize;
+
+    // DFA: next state = transitions[state * alphabetSize + symbol]
+    private final int[] transitions;
+    // Best (lowest) rank of any pattern ending in the state, incl. via failure links
+    private final int[] bestRank;
+
+    private final Map<String, PlaceCategory> memo = new ConcurrentHashMap<>();
+    private final int memoMaxSize;
+
+    /**
+     * @param rules       category -> lowercase ASCII substrings, iteration order is priority order
+     * @param fallback    result when no rule matches
+     * @param memoMaxSize maximum number of memoized distinct tags
+     */
+    public CategoryClassifier(LinkedHashMap<PlaceCategory, List<String>> rules,
+                              PlaceCategory fallback,
+                              int memoMaxSize) {
+        this.categories = rules.keySet().toArray(new PlaceCategory[0]);
+        this.fallback = fallback;
+        this.noMatch = categories.length;
+        this.memoMaxSize = memoMaxSize;
+
+        // Alphabet = chars used in patterns
+        Arrays.fill(symbolOf, -1);
+        int symbols = 0;
+        for (List<String> patterns : rules.values()) {
+            for (String pattern : patterns) {
+                if (pattern.isEmpty()) throw new IllegalArgumentException("Empty pattern");
+                for (int i = 0; i < pattern.length(); i++) {
+                    char ch = pattern.charAt(i);
+                    if (ch >= 128 || Character.isUpperCase(ch)) {
+                        throw new IllegalArgumentException("Patterns must be lowercase ASCII: " + pattern);
+                    }
+                    if (symbolOf[ch] < 0) symbolOf[ch] = symbols++;
+                }
+            }
+        }
+        this.alphabetSize = symbols;
+
+        // 1) Trie
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> ranks = new ArrayList<>();
+        trie.add(newRow(symbols));
+        ranks.add(noMatch);
+
+        int rank = 0;
+        for (List<String> patterns : rules.values()) {
+            for (String pattern : patterns) {
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    int sym = symbolOf[pattern.charAt(i)];
+                    if (trie.get(state)[sym] < 0) {
+                        trie.get(state)[sym] = trie.size();
+                        trie.add(newRow(symbols));
+                        ranks.add(noMatch);
+                    }
+                    state = trie.get(state)[sym];
+                }
+                ranks.set(state, Math.min(ranks.get(state), rank));
+            }
+            rank++;
+        }
+
+        // 2) Failure links (BFS) folded into a complete transition table
+        int states = trie.size();
+        this.transitions = new int[states * symbols];
+        this.bestRank = new int[states];
+        int[] fail = new int[states];
+        for (int s = 0; s < states; s++) bestRank[s] = ranks.get(s);
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int sym = 0; sym < symbols; sym++) {
+            int next = trie.get(0)[sym];
+            if (next < 0) {
+                transitions[sym] = 0;
+            } else {
+                transitions[sym] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            bestRank[state] = Math.min(bestRank[state], bestRank[fail[state]]);
+            for (int sym = 0; sym < symbols; sym++) {
+                int next = trie.get(state)[sym];
+                if (next < 0) {
+                    transitions[state * symbols + sym] = transitions[fail[state] * symbols + sym];
+                } else {
+                    transitions[state * symbols + sym] = next;
+                    fail[next] = transitions[fail[state] * symbols + sym];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Category of a single tag; fallback for null or when nothing matches.
+     */
+    public PlaceCategory classify(String tag) {
+        if (tag == null) return fallback;
+
+        PlaceCategory cached = memo.get(tag);
+        if (cached != null) return cached;
+
+        int rank = scan(tag.toLowerCase(Locale.ROOT));
+        PlaceCategory category = (rank == noMatch) ? fallback : categories[rank];
+
+        if (memo.size() < memoMaxSize) memo.put(tag, category);
+        return category;
+    }
+
+    /**
+     * Highest-priority category among the tags (null tags ignored); fallback if none matches.
+     */
+    public PlaceCategory classifyBest(List<String> tags) {
+        int best = noMatch;
+        for (String tag : tags) {
+            if (tag == null) continue;
+            PlaceCategory category = classify(tag);
+            if (category == fallback) continue;
+
+            int rank = rankOf(category);
+            if (rank < best) {
+                best = rank;
+                if (best == 0) break;
+            }
+        }
+        return (best == noMatch) ? fallback : categories[best];
+    }
+
+    private int scan(String lowerTag) {
+        int state = 0;
+        int best = noMatch;
+        for (int i = 0; i < lowerTag.length(); i++) {
+            char ch = lowerTag.charAt(i);
+            int sym = (ch < 128) ? symbolOf[ch] : -1;
+            if (sym < 0) {
+                // no pattern contains this char -> no match can span it
+                state = 0;
+                continue;
+            }
+            state = transitions[state * alphabetSize + sym];
+            if (bestRank[state] < best) {
+                best = bestRank[state];
+                if (best == 0) break;
+            }
+        }
+        return best;
+    }
+
+    private int rankOf(PlaceCategory category) {
+        for (int r = 0; r < categories.length; r++) {
+            if (categories[r] == category) return r;
+        }
+        return noMatch;
+    }
+
+    private static int[] newRow(int symbols) {
+        int[] row = new int[symbols];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
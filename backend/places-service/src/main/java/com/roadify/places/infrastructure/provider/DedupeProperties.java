@@ -0,0 +1,31 @@
+package com.roadify.places.infrastructure.provider;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cross-provider duplicate merging (same station / restaurant from Geoapify and Overpass).
+ * Binds roadify.places.dedupe.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.dedupe")
+public class DedupeProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Spatial hash cell edge. Raised to maxDistanceMeters when smaller, so that every
+     * candidate lies in the 3x3 cells around a place.
+     */
+    private double cellMeters = 50.0;
+
+    /**
+     * Two records further apart than this are never merged.
+     */
+    private double maxDistanceMeters = 50.0;
+
+    /**
+     * Minimum normalized-name similarity (0..1, bigram Dice; containment counts as 1).
+     */
+    private double minNameSimilarity = 0.6;
+}
@@ -1,6 +1,6 @@
 package com.roadify.places.infrastructure.provider;
 
-import java.util.List;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
 
 public final class GeoUtils {
 
@@ -28,7 +28,7 @@ public final class GeoUtils {
      * - Compute point-to-segment distance in meters for each segment
      * This is accurate enough for short distances (detour filters like 0-5km).
      */
-    public static double minDistanceMetersToPolyline(double pLat, double pLon, List<LatLon> polyline) {
+    public static double minDistanceMetersToPolyline(double pLat, double pLon, PackedPolyline polyline) {
         if (polyline == null || polyline.size() < 2) return Double.POSITIVE_INFINITY;
 
         // Precompute scale factors (meters per degree) around pLat
@@ -42,15 +42,12 @@ public final class GeoUtils {
         double minDist = Double.POSITIVE_INFINITY;
 
         for (int i = 0; i < polyline.size() - 1; i++) {
-            LatLon a = polyline.get(i);
-            LatLon b = polyline.get(i + 1);
-
             // Convert A and B to local XY relative to P
-            double ax = (a.getLon() - pLon) * metersPerDegLon;
-            double ay = (a.getLat() - pLat) * metersPerDegLat;
+            double ax = (polyline.lon(i) - pLon) * metersPerDegLon;
+            double ay = (polyline.lat(i) - pLat) * metersPerDegLat;
 
-            double bx = (b.getLon() - pLon) * metersPerDegLon;
-            double by = (b.getLat() - pLat) * metersPerDegLat;
+            double bx = (polyline.lon(i + 1) - pLon) * metersPerDegLon;
+            double by = (polyline.lat(i + 1) - pLat) * metersPerDegLat;
 
             double dist = pointToSegmentDistance(px, py, ax, ay, bx, by);
             if (dist < minDist) minDist = dist;
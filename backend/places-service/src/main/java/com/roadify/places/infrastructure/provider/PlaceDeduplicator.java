@@ -0,0 +1,233 @@
+package com.roadify.places.infrastructure.provider;
+
+import com.roadify.places.domain.PlaceBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Merges the same real-world place reported by different providers.
+ *
+ * Places are hashed into square cells of cellMeters; a place is only compared with the
+ * places already kept in its own and the 8 neighbouring cells, so the stage stays linear
+ * for realistic densities instead of comparing every pair.
+ *
+ * Two records are duplicates when they come from different providers, have the same category,
+ * lie within maxDistanceMeters and their normalized names are similar enough. The first record
+ * (provider order) is kept; it takes over a missing rating and lists the ids of the records
+ * merged into it ({@link PlaceBatch#mergedIds}, later Place.mergedIds).
+ */
+@Component
+public class PlaceDeduplicator {
+
+    private static final double METERS_PER_DEG_LAT = 111_320.0;
+
+    /** Names shorter than this only match on equality, "bp" inside "bp cafe" is not evidence. */
+    private static final int MIN_CONTAINMENT_LENGTH = 3;
+
+    private final DedupeProperties properties;
+    private final Counter removedCounter;
+
+    public PlaceDeduplicator(DedupeProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.removedCounter = meterRegistry.counter("roadify.places.dedupe.removed");
+    }
+
+    /**
+     * Merges duplicates in place (the batch is compacted, order kept); returns how many records were removed.
+     */
+    public int deduplicate(PlaceBatch batch) {
+        int n = batch.size();
+        if (!properties.isEnabled() || n < 2) return 0;
+
+        double cellMeters = Math.max(properties.getCellMeters(), properties.getMaxDistanceMeters());
+
+        // One longitude scale for the whole batch, taken at the highest latitude: there a degree of
+        // longitude is shortest, so cells are never narrower than cellMeters anywhere in the batch.
+        double maxAbsLat = 0.0;
+        for (int i = 0; i < n; i++) {
+            if (Double.isFinite(batch.latitude(i))) maxAbsLat = Math.max(maxAbsLat, Math.abs(batch.latitude(i)));
+        }
+        double metersPerDegLon = METERS_PER_DEG_LAT * Math.cos(Math.toRadians(Math.min(maxAbsLat, 89.0)));
+
+        String[] names = new String[n];
+        int[][] bigrams = new int[n][];
+        for (int i = 0; i < n; i++) {
+            names[i] = normalizeName(batch.name(i));
+            bigrams[i] = bigrams(names[i]);
+        }
+
+        // Kept places per cell as linked lists: head per cell, next per place
+        Map<Long, Integer> head = new HashMap<>(n * 2);
+        int[] next = new int[n];
+        boolean[] duplicate = new boolean[n];
+        int removed = 0;
+
+        for (int i = 0; i < n; i++) {
+            double lat = batch.latitude(i);
+            double lon = batch.longitude(i);
+            if (!Double.isFinite(lat) || !Double.isFinite(lon)) continue;
+
+            long row = (long) Math.floor(lat * METERS_PER_DEG_LAT / cellMeters);
+            long col = (long) Math.floor(lon * metersPerDegLon / cellMeters);
+
+            int best = -1;
+            double bestMeters = Double.POSITIVE_INFINITY;
+            for (long dr = -1; dr <= 1; dr++) {
+                for (long dc = -1; dc <= 1; dc++) {
+                    Integer j = head.get(cellKey(row + dr, col + dc));
+                    for (int k = (j == null) ? -1 : j; k >= 0; k = next[k]) {
+                        double meters = matchMeters(batch, names, bigrams, k, i);
+                        if (meters < bestMeters) {
+                            bestMeters = meters;
+                            best = k;
+                        }
+                    }
+                }
+            }
+
+            if (best >= 0) {
+                absorb(batch, best, i);
+                duplicate[i] = true;
+                removed++;
+            } else {
+                Integer previous = head.put(cellKey(row, col), i);
+                next[i] = (previous == null) ? -1 : previous;
+            }
+        }
+
+        if (removed == 0) return 0;
+
+        batch.retain(i -> !duplicate[i]);
+        removedCounter.increment(removed);
+        return removed;
+    }
+
+    /**
+     * Distance in meters when candidate duplicates kept record k, otherwise +Infinity.
+     */
+    private double matchMeters(PlaceBatch batch, String[] names, int[][] bigrams, int k, int candidate) {
+        if (batch.category(k) != batch.category(candidate)) return Double.POSITIVE_INFINITY;
+
+        // One record per provider in a group: two Overpass nodes next to each other are two places
+        String provider = providerOf(batch.id(candidate));
+        if (provider.equals(providerOf(batch.id(k)))) return Double.POSITIVE_INFINITY;
+        if (batch.mergedIds(k) != null) {
+            for (String mergedId : batch.mergedIds(k)) {
+                if (provider.equals(providerOf(mergedId))) return Double.POSITIVE_INFINITY;
+            }
+        }
+
+        double meters = GeoUtils.haversineMeters(
+                batch.latitude(k), batch.longitude(k), batch.latitude(candidate), batch.longitude(candidate));
+        if (meters > properties.getMaxDistanceMeters()) return Double.POSITIVE_INFINITY;
+
+        if (nameSimilarity(names[k], bigrams[k], names[candidate], bigrams[candidate])
+                < properties.getMinNameSimilarity()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return meters;
+    }
+
+    /**
+     * Kept record takes over the duplicate's id (and what was merged into it) and a missing rating.
+     * Names need no takeover: unnamed records never match.
+     */
+    private static void absorb(PlaceBatch batch, int kept, int duplicate) {
+        if (Double.isNaN(batch.rating(kept))) batch.setRating(kept, batch.rating(duplicate));
+
+        List<String> mergedIds = new ArrayList<>(2);
+        if (batch.mergedIds(kept) != null) mergedIds.addAll(Arrays.asList(batch.mergedIds(kept)));
+        if (batch.id(duplicate) != null) mergedIds.add(batch.id(duplicate));
+        if (batch.mergedIds(duplicate) != null) mergedIds.addAll(Arrays.asList(batch.mergedIds(duplicate)));
+        batch.setMergedIds(kept, mergedIds.isEmpty() ? null : mergedIds.toArray(new String[0]));
+    }
+
+    /**
+     * Lower case, accents and punctuation removed, whitespace collapsed ("Şişli Cafe-Bar" -> "sisli cafe bar").
+     */
+    static String normalizeName(String name) {
+        if (name == null || name.isBlank()) return "";
+
+        // Turkish dotless i has no decomposition, map it by hand
+        String decomposed = Normalizer.normalize(
+                name.toLowerCase(Locale.ROOT).replace('ı', 'i'), Normalizer.Form.NFD);
+
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK
+                    && sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    /**
+     * Similarity of two normalized names: 1 when equal or one contains the other,
+     * otherwise the Dice coefficient of their character bigrams. Empty names never match.
+     */
+    static double nameSimilarity(String a, int[] bigramsA, String b, int[] bigramsB) {
+        if (a.isEmpty() || b.isEmpty()) return 0.0;
+        if (a.equals(b)) return 1.0;
+
+        boolean aShorter = a.length() <= b.length();
+        String shorter = aShorter ? a : b;
+        String longer = aShorter ? b : a;
+        if (shorter.length() >= MIN_CONTAINMENT_LENGTH && longer.contains(shorter)) return 1.0;
+
+        if (bigramsA.length == 0 || bigramsB.length == 0) return 0.0;
+
+        // both arrays sorted: count the multiset intersection in one merge pass
+        int common = 0;
+        for (int i = 0, j = 0; i < bigramsA.length && j < bigramsB.length; ) {
+            if (bigramsA[i] == bigramsB[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (bigramsA[i] < bigramsB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return 2.0 * common / (bigramsA.length + bigramsB.length);
+    }
+
+    /** Sorted character bigrams of the name, spaces ignored. */
+    static int[] bigrams(String normalized) {
+        String compact = normalized.replace(" ", "");
+        if (compact.length() < 2) return new int[0];
+
+        int[] result = new int[compact.length() - 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (compact.charAt(i) << 16) | compact.charAt(i + 1);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** "geoapify:123" -> "geoapify"; ids without a prefix count as their own provider. */
+    private static String providerOf(String id) {
+        if (id == null) return "";
+        int sep = id.indexOf(':');
+        return sep < 0 ? id : id.substring(0, sep);
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) ^ (col & 0xFFFFFFFFL);
+    }
+}
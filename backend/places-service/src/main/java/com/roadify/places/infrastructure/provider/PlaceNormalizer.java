@@ -1,6 +1,7 @@
 package com.roadify.places.infrastructure.provider;
 
 import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceBatch;
 import com.roadify.places.domain.PlaceCategory;
 
 import java.util.List;
@@ -10,7 +11,14 @@ import java.util.List;
  */
 public interface PlaceNormalizer {
 
-    List<Place> normalize(List<RawPlace> rawPlaces, String routeGeometry);
+    /**
+     * Normalized places as columns, for the cache-miss pipeline (dedupe and detour work on the batch).
+     */
+    PlaceBatch normalizeBatch(List<RawPlace> rawPlaces, String routeGeometry);
+
+    default List<Place> normalize(List<RawPlace> rawPlaces, String routeGeometry) {
+        return normalizeBatch(rawPlaces, routeGeometry).toPlaces();
+    }
 
     PlaceCategory mapCategory(String providerCategory);
 }
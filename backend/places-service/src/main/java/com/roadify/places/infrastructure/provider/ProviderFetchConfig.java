@@ -0,0 +1,22 @@
+package com.roadify.places.infrastructure.provider;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executor used to fan out blocking provider calls.
+ * Virtual threads: each WebClient .block() parks cheaply instead of holding a platform thread.
+ */
+@Configuration
+@EnableConfigurationProperties({ProviderProperties.class, AdaptiveProviderProperties.class, DedupeProperties.class})
+public class ProviderFetchConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService providerFetchExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
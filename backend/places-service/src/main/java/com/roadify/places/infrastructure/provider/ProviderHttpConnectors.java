@@ -0,0 +1,51 @@
+package com.roadify.places.infrastructure.provider;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Builds an isolated Reactor Netty connector per provider.
+ *
+ * Every provider gets its own bounded {@link ConnectionProvider}, so a slow or hung provider can
+ * only exhaust its own pool. Pools publish reactor.netty.connection.provider.* gauges
+ * (active / idle / pending / max connections) tagged with the pool name.
+ */
+public final class ProviderHttpConnectors {
+
+    private ProviderHttpConnectors() {
+    }
+
+    public static ConnectionProvider connectionProvider(String name, ProviderPoolProperties pool) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * @param connectTimeoutMs  TCP connect timeout, null or <= 0 keeps the Netty default
+     * @param responseTimeoutMs max wait for the response after the request was sent, null or <= 0 = none
+     */
+    public static ClientHttpConnector connector(ConnectionProvider connectionProvider,
+                                                Integer connectTimeoutMs,
+                                                Integer responseTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(connectionProvider);
+
+        if (connectTimeoutMs != null && connectTimeoutMs > 0) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+        }
+        if (responseTimeoutMs != null && responseTimeoutMs > 0) {
+            httpClient = httpClient.responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,38 @@
+package com.roadify.places.infrastructure.provider;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings of one provider's HTTP client.
+ * Nested under roadify.geoapify.pool.* and roadify.overpass.pool.*.
+ */
+@Data
+public class ProviderPoolProperties {
+
+    /**
+     * Max open connections to the provider.
+     */
+    private int maxConnections = 16;
+
+    /**
+     * Max requests waiting for a free connection; further requests fail immediately.
+     */
+    private int pendingAcquireMaxCount = 64;
+
+    /**
+     * Max time a request waits for a free connection.
+     */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Idle connections older than this are closed (providers drop keep-alive connections silently).
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /**
+     * How often idle/expired connections are evicted in the background (zero = only on acquire).
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+}
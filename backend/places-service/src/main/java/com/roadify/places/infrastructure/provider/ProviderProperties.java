@@ -0,0 +1,61 @@
+package com.roadify.places.infrastructure.provider;
+
+import com.roadify.places.domain.PlaceCategory;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Provider fan-out settings.
+ * Binds roadify.places.providers.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.providers")
+public class ProviderProperties {
+
+    /**
+     * Time budget for all Geoapify calls of one request. Late tiles are returned as partial.
+     */
+    private Duration geoapifyDeadline = Duration.ofSeconds(4);
+
+    /**
+     * Time budget for all Overpass calls of one request.
+     */
+    private Duration overpassDeadline = Duration.ofSeconds(6);
+
+    /**
+     * Max concurrent Geoapify calls within one request.
+     * Shared by all Geoapify category shards of the request, not applied per shard.
+     */
+    private int tileConcurrency = 8;
+
+    /**
+     * Max concurrent Overpass tile calls within one request. Public instances only allow a couple
+     * of parallel queries per client, and the Overpass pool/bulkhead is sized accordingly.
+     */
+    private int overpassTileConcurrency = 2;
+
+    /**
+     * Fetch unfiltered Geoapify requests as one shard per category.
+     * A cold corridor then costs up to shardCategories x tiles Geoapify calls instead of one per tile;
+     * set to false to go back to a single unfiltered call per area when the API quota matters more
+     * than the per-category cache reuse.
+     */
+    private boolean geoapifySharding = true;
+
+    /**
+     * Categories fetched and cached as separate Geoapify shards (one request/tile entry per category).
+     * OTHER maps to the broad "amenity,commercial" groups and is left out by default.
+     */
+    private Set<PlaceCategory> shardCategories = EnumSet.complementOf(EnumSet.of(PlaceCategory.OTHER));
+
+    /**
+     * @param provider provider name as used for tile keys ("geoapify", "overpass")
+     */
+    public int tileConcurrencyOf(String provider) {
+        return "overpass".equals(provider) ? overpassTileConcurrency : tileConcurrency;
+    }
+}
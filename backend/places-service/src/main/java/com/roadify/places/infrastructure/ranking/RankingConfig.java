@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.ranking;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds ranking properties.
+ */
+@Configuration
+@EnableConfigurationProperties(RankingProperties.class)
+public class RankingConfig {
+}
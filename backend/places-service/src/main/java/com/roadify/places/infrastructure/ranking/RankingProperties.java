@@ -0,0 +1,50 @@
+package com.roadify.places.infrastructure.ranking;
+
+import com.roadify.places.domain.PlaceCategory;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Score used by the ranked places mode (?sort=rank).
+ * Binds roadify.places.ranking.* from application.yml.
+ *
+ * score = categoryWeight + ratingWeight * rating - detourWeightPerKm * detourKm
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.ranking")
+public class RankingProperties {
+
+    /**
+     * Score lost per km of detour.
+     */
+    private double detourWeightPerKm = 1.0;
+
+    /**
+     * Score gained per rating point (ratings are 0-5).
+     */
+    private double ratingWeight = 0.5;
+
+    /**
+     * Rating assumed for places without one; Overpass never returns ratings,
+     * so they would otherwise always lose against rated Geoapify places.
+     */
+    private double missingRating = 3.0;
+
+    /**
+     * Flat bonus per category; unlisted categories get 0.
+     */
+    private Map<PlaceCategory, Double> categoryWeights = new EnumMap<>(PlaceCategory.class);
+
+    /**
+     * Number of places returned when a ranked request has no limit.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Upper bound for offset + limit in ranked mode, keeps the selection heap small.
+     */
+    private int maxLimit = 200;
+}
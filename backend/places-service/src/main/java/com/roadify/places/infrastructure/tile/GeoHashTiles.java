@@ -0,0 +1,132 @@
+package com.roadify.places.infrastructure.tile;
+
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash tiling helpers.
+ *
+ * A geohash of precision p splits the world into a regular lat/lon grid
+ * (ceil(5p/2) longitude bits, floor(5p/2) latitude bits), so tiles can be
+ * enumerated with integer cell indices and only turned into strings at the end.
+ */
+public final class GeoHashTiles {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double METERS_PER_DEG_LAT = 111_320.0;
+
+    private GeoHashTiles() {}
+
+    public static GeoTile tileOf(double lat, double lon, int precision) {
+        Grid grid = new Grid(precision);
+        return grid.tile(grid.latIndex(lat), grid.lonIndex(lon));
+    }
+
+    /**
+     * Tiles covering the route corridor (polyline buffered by bufferMeters), in route order.
+     *
+     * The polyline is sampled with a step no larger than the buffer or the tile edge,
+     * and every tile intersecting the buffer box around a sample is added.
+     */
+    public static List<GeoTile> coverCorridor(PackedPolyline polyline, double bufferMeters, int precision) {
+        if (polyline == null || polyline.isEmpty()) return List.of();
+
+        Grid grid = new Grid(precision);
+        double bufferLatDeg = Math.max(bufferMeters, 0.0) / METERS_PER_DEG_LAT;
+        double stepDeg = Math.min(grid.cellLat, Math.min(grid.cellLon, Math.max(bufferLatDeg, 1e-4)));
+
+        // (latIdx, lonIdx) packed into one long, insertion order = route order
+        Set<Long> cells = new LinkedHashSet<>();
+
+        addBox(grid, cells, polyline.lat(0), polyline.lon(0), bufferMeters);
+        for (int i = 0; i < polyline.size() - 1; i++) {
+            double aLat = polyline.lat(i), aLon = polyline.lon(i);
+            double bLat = polyline.lat(i + 1), bLon = polyline.lon(i + 1);
+
+            double span = Math.max(Math.abs(bLat - aLat), Math.abs(bLon - aLon));
+            int steps = Math.max(1, (int) Math.ceil(span / stepDeg));
+            for (int s = 1; s <= steps; s++) {
+                double t = (double) s / steps;
+                addBox(grid, cells, aLat + t * (bLat - aLat), aLon + t * (bLon - aLon), bufferMeters);
+            }
+        }
+
+        List<GeoTile> tiles = new ArrayList<>(cells.size());
+        for (long cell : cells) {
+            tiles.add(grid.tile((int) (cell >>> 32), (int) cell));
+        }
+        return tiles;
+    }
+
+    private static void addBox(Grid grid, Set<Long> cells, double lat, double lon, double bufferMeters) {
+        double dLat = bufferMeters / METERS_PER_DEG_LAT;
+        double cos = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        double dLon = bufferMeters / (METERS_PER_DEG_LAT * cos);
+
+        int lat0 = grid.latIndex(lat - dLat), lat1 = grid.latIndex(lat + dLat);
+        int lon0 = grid.lonIndex(lon - dLon), lon1 = grid.lonIndex(lon + dLon);
+
+        for (int la = lat0; la <= lat1; la++) {
+            for (int lo = lon0; lo <= lon1; lo++) {
+                cells.add(((long) la << 32) | (lo & 0xFFFFFFFFL));
+            }
+        }
+    }
+
+    private static final class Grid {
+        final int precision;
+        final int lonBits;
+        final int latBits;
+        final double cellLat;
+        final double cellLon;
+
+        Grid(int precision) {
+            if (precision < 1 || precision > 12) {
+                throw new IllegalArgumentException("geohash precision must be 1..12, was " + precision);
+            }
+            this.precision = precision;
+            this.lonBits = (5 * precision + 1) / 2;
+            this.latBits = (5 * precision) / 2;
+            this.cellLat = 180.0 / (1L << latBits);
+            this.cellLon = 360.0 / (1L << lonBits);
+        }
+
+        int latIndex(double lat) {
+            long max = (1L << latBits) - 1;
+            return (int) Math.max(0, Math.min(max, (long) Math.floor((lat + 90.0) / cellLat)));
+        }
+
+        int lonIndex(double lon) {
+            long max = (1L << lonBits) - 1;
+            return (int) Math.max(0, Math.min(max, (long) Math.floor((lon + 180.0) / cellLon)));
+        }
+
+        GeoTile tile(int latIdx, int lonIdx) {
+            double minLat = -90.0 + latIdx * cellLat;
+            double minLon = -180.0 + lonIdx * cellLon;
+            return new GeoTile(hash(latIdx, lonIdx), minLat, minLon, minLat + cellLat, minLon + cellLon);
+        }
+
+        String hash(int latIdx, int lonIdx) {
+            char[] out = new char[precision];
+            int lonBit = lonBits - 1;
+            int latBit = latBits - 1;
+            int ch = 0;
+            for (int i = 0; i < 5 * precision; i++) {
+                int bit = (i % 2 == 0)
+                        ? (lonIdx >>> lonBit--) & 1   // geohash starts with a longitude bit
+                        : (latIdx >>> latBit--) & 1;
+                ch = (ch << 1) | bit;
+                if (i % 5 == 4) {
+                    out[i / 5] = BASE32[ch];
+                    ch = 0;
+                }
+            }
+            return new String(out);
+        }
+    }
+}
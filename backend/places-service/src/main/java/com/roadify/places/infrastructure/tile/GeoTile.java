@@ -0,0 +1,35 @@
+package com.roadify.places.infrastructure.tile;
+
+import java.util.List;
+
+/**
+ * Fixed geohash cell used as the unit of provider fetching and caching.
+ * Bounds are in degrees; the hash is the standard base32 geohash of the cell.
+ */
+public record GeoTile(
+        String hash,
+        double minLat,
+        double minLon,
+        double maxLat,
+        double maxLon
+) {
+
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+
+    /**
+     * Splits the cell into four equal boxes (SW, SE, NW, NE); used to re-query a tile whose
+     * provider answer was cut off. The hash of a quadrant is only a label ("{hash}/0".."/3").
+     */
+    public List<GeoTile> quadrants() {
+        double midLat = (minLat + maxLat) / 2;
+        double midLon = (minLon + maxLon) / 2;
+        return List.of(
+                new GeoTile(hash + "/0", minLat, minLon, midLat, midLon),
+                new GeoTile(hash + "/1", minLat, midLon, midLat, maxLon),
+                new GeoTile(hash + "/2", midLat, minLon, maxLat, midLon),
+                new GeoTile(hash + "/3", midLat, midLon, maxLat, maxLon)
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package com.roadify.places.infrastructure.tile;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds tile fetching properties.
+ */
+@Configuration
+@EnableConfigurationProperties(TileProperties.class)
+public class TileConfig {
+}
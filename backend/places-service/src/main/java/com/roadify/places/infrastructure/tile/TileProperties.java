@@ -0,0 +1,48 @@
+package com.roadify.places.infrastructure.tile;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tile-based provider fetching settings.
+ * Binds roadify.places.tiles.* from application.yml.
+ */
+@Data
+@ConfigurationProperties(prefix = "roadify.places.tiles")
+public class TileProperties {
+
+    /**
+     * Fetch providers per geohash tile along the route corridor instead of one fixed query.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Geohash precision of a tile (5 ~ 4.9 x 4.9 km, 6 ~ 1.2 x 0.6 km).
+     */
+    private int precision = 5;
+
+    /**
+     * Corridor half-width around the route polyline (meters).
+     */
+    private double corridorBufferMeters = 2_000.0;
+
+    /**
+     * TTL of a cached tile. POIs change slowly, tiles are shared across routes.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Upper bound on provider calls for missing tiles in a single request.
+     * Remaining tiles are left for later requests and the result is marked incomplete.
+     */
+    private int maxTileFetchesPerRequest = 256;
+
+    /**
+     * How often a tile whose provider answer was cut off (too many places) is split into quadrants
+     * and re-fetched. The complete union is cached under the original tile; a tile still cut off
+     * at the last level is served but not cached. 0 = never split.
+     */
+    private int maxSplitDepth = 2;
+}
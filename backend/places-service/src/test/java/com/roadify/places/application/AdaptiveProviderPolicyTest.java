@@ -0,0 +1,119 @@
+package com.roadify.places.application;
+
+import com.roadify.places.application.AdaptiveProviderPolicy.ProviderPlan;
+import com.roadify.places.infrastructure.provider.AdaptiveProviderProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveProviderPolicyTest {
+
+    private static final Duration BUDGET = Duration.ofSeconds(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveProviderProperties properties;
+    private ProviderLatencyTracker tracker;
+    private AdaptiveProviderPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdaptiveProviderProperties();
+        properties.setMinSamples(10);
+        tracker = new ProviderLatencyTracker(properties, meterRegistry);
+        policy = new AdaptiveProviderPolicy(tracker, properties, meterRegistry);
+    }
+
+    @Test
+    void snapshot_shouldComputeNearestRankPercentilesAndErrorRate() {
+        for (int i = 1; i <= 100; i++) {
+            tracker.record("overpass", Duration.ofMillis(i).toNanos(), i % 4 != 0);
+        }
+
+        ProviderLatencyTracker.LatencySnapshot snapshot = tracker.snapshot("overpass");
+
+        assertThat(snapshot.samples()).isEqualTo(100);
+        assertThat(snapshot.percentileNanos(0.5)).isEqualTo(Duration.ofMillis(50).toNanos());
+        assertThat(snapshot.percentileNanos(0.9)).isEqualTo(Duration.ofMillis(90).toNanos());
+        assertThat(snapshot.percentileNanos(0.95)).isEqualTo(Duration.ofMillis(95).toNanos());
+        assertThat(snapshot.errorRate()).isEqualTo(0.25);
+        assertThat(meterRegistry.get("roadify.places.provider.latency")
+                .tag("provider", "overpass").tag("quantile", "0.9").gauge().value()).isEqualTo(90.0);
+    }
+
+    @Test
+    void snapshot_shouldKeepOnlyMostRecentCalls() {
+        properties.setWindowSize(10);
+        for (int i = 0; i < 50; i++) {
+            tracker.record("overpass", Duration.ofSeconds(30).toNanos(), false);
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.record("overpass", Duration.ofMillis(5).toNanos(), true);
+        }
+
+        ProviderLatencyTracker.LatencySnapshot snapshot = tracker.snapshot("overpass");
+
+        assertThat(snapshot.samples()).isEqualTo(10);
+        assertThat(snapshot.percentileNanos(0.95)).isEqualTo(Duration.ofMillis(5).toNanos());
+        assertThat(snapshot.errorRate()).isZero();
+    }
+
+    @Test
+    void plan_shouldFetch_whenTooFewSamples() {
+        for (int i = 0; i < 9; i++) {
+            tracker.record("overpass", Duration.ofSeconds(10).toNanos(), true);
+        }
+
+        assertThat(policy.plan("overpass", BUDGET, true)).isEqualTo(ProviderPlan.FETCH);
+    }
+
+    @Test
+    void plan_shouldSkip_whenP95ExceedsBudget_andProbeAfterInterval() {
+        for (int i = 0; i < 10; i++) {
+            tracker.record("overpass", Duration.ofSeconds(3).toNanos(), true);
+        }
+
+        assertThat(policy.plan("overpass", BUDGET, false).decision()).isEqualTo(ProviderDecision.SKIP);
+        assertThat(policy.plan("overpass", BUDGET, false).decision()).isEqualTo(ProviderDecision.SKIP);
+
+        properties.setProbeInterval(Duration.ZERO);
+        assertThat(policy.plan("overpass", BUDGET, false).decision()).isEqualTo(ProviderDecision.PROBE);
+        assertThat(meterRegistry.get("roadify.places.provider.decision")
+                .tag("provider", "overpass").tag("decision", "SKIP").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void plan_shouldSkip_whenErrorRateTooHigh() {
+        for (int i = 0; i < 10; i++) {
+            tracker.record("geoapify", Duration.ofMillis(20).toNanos(), i < 3);
+        }
+
+        assertThat(policy.plan("geoapify", BUDGET, false).skip()).isTrue();
+    }
+
+    @Test
+    void plan_shouldHedgeAfterP90_whenMirrorAvailable() {
+        for (int i = 1; i <= 10; i++) {
+            tracker.record("overpass", Duration.ofMillis(100L * i).toNanos(), true);
+        }
+
+        ProviderPlan plan = policy.plan("overpass", BUDGET, true);
+
+        assertThat(plan.decision()).isEqualTo(ProviderDecision.HEDGE);
+        assertThat(plan.hedgeAfter()).isEqualTo(Duration.ofMillis(900));
+        assertThat(policy.plan("overpass", BUDGET, false)).isEqualTo(ProviderPlan.FETCH);
+    }
+
+    @Test
+    void plan_shouldAlwaysFetch_whenDisabled() {
+        properties.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            tracker.record("overpass", Duration.ofSeconds(3).toNanos(), false);
+        }
+
+        assertThat(policy.plan("overpass", BUDGET, true)).isEqualTo(ProviderPlan.FETCH);
+    }
+}
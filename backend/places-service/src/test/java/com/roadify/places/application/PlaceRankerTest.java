@@ -0,0 +1,83 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.ranking.RankingProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PlaceRankerTest {
+
+    @Test
+    void topK_shouldMatchFullSortPrefix() {
+        RankingProperties properties = new RankingProperties();
+        properties.getCategoryWeights().put(PlaceCategory.FUEL, 1.5);
+        properties.getCategoryWeights().put(PlaceCategory.CAFE, 0.25);
+        PlaceRanker ranker = new PlaceRanker(properties);
+
+        List<Place> places = randomPlaces(400, new Random(11));
+        List<Place> sorted = places.stream()
+                .sorted(Comparator.comparingDouble(ranker::score).reversed()
+                        .thenComparingDouble(Place::getDetourKm)
+                        .thenComparing(Place::getId))
+                .toList();
+
+        for (int k : new int[]{1, 5, 20, 399, 400, 1000}) {
+            assertThat(ranker.topK(places, k))
+                    .as("k=%s", k)
+                    .containsExactlyElementsOf(sorted.subList(0, Math.min(k, sorted.size())));
+        }
+        assertThat(ranker.topK(places, 0)).isEmpty();
+    }
+
+    @Test
+    void score_shouldUseMissingRating_andCategoryWeight() {
+        RankingProperties properties = new RankingProperties();
+        properties.setDetourWeightPerKm(2.0);
+        properties.setRatingWeight(1.0);
+        properties.setMissingRating(3.0);
+        properties.getCategoryWeights().put(PlaceCategory.WC, 0.5);
+        PlaceRanker ranker = new PlaceRanker(properties);
+
+        Place unrated = Place.builder().id("a").category(PlaceCategory.WC).detourKm(1.0).build();
+        Place rated = Place.builder().id("b").category(PlaceCategory.FOOD).rating(4.5).detourKm(0.25).build();
+
+        assertThat(ranker.score(unrated)).isCloseTo(0.5 + 3.0 - 2.0, within(1e-9));
+        assertThat(ranker.score(rated)).isCloseTo(4.5 - 0.5, within(1e-9));
+        assertThat(ranker.topK(List.of(unrated, rated), 1)).containsExactly(rated);
+    }
+
+    @Test
+    void selectionSize_shouldApplyDefaultLimitAndCap() {
+        RankingProperties properties = new RankingProperties();
+        properties.setDefaultLimit(20);
+        properties.setMaxLimit(50);
+        PlaceRanker ranker = new PlaceRanker(properties);
+
+        assertThat(ranker.selectionSize(null, null)).isEqualTo(20);
+        assertThat(ranker.selectionSize(10, 5)).isEqualTo(15);
+        assertThat(ranker.selectionSize(40, 30)).isEqualTo(50);
+    }
+
+    private static List<Place> randomPlaces(int count, Random random) {
+        PlaceCategory[] categories = PlaceCategory.values();
+        List<Place> places = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            places.add(Place.builder()
+                    .id("p" + i)
+                    .category(categories[random.nextInt(categories.length)])
+                    // coarse values so that equal scores and detours occur
+                    .rating(random.nextInt(3) == 0 ? null : random.nextInt(11) / 2.0)
+                    .detourKm(random.nextInt(20) / 4.0)
+                    .build());
+        }
+        return places;
+    }
+}
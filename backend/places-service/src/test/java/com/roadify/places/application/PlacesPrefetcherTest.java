@@ -0,0 +1,123 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.prefetch.PrefetchProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlacesPrefetcherTest {
+
+    private final PlacesService placesService = mock(PlacesService.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PlacesPrefetcher prefetcher;
+
+    @AfterEach
+    void tearDown() {
+        if (prefetcher != null) prefetcher.shutdown();
+    }
+
+    @Test
+    void submit_shouldDropOldestQueuedRoute_whenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(placesService.prefetchBase(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        prefetcher = new PlacesPrefetcher(placesService, properties(1, 2), meterRegistry);
+
+        assertThat(prefetcher.submit("r1")).isTrue();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // r1 is running, r2 and r3 fill the queue, r4 pushes r2 out
+        assertThat(prefetcher.submit("r2")).isTrue();
+        assertThat(prefetcher.submit("r3")).isTrue();
+        assertThat(prefetcher.submit("r4")).isTrue();
+        assertThat(prefetcher.submit("r3")).isFalse();
+        release.countDown();
+
+        verify(placesService, timeout(5000)).prefetchBase("r3");
+        verify(placesService, timeout(5000)).prefetchBase("r4");
+        verify(placesService, never()).prefetchBase("r2");
+        awaitCount("warmed", 3);
+
+        assertThat(count("dropped")).isEqualTo(1.0);
+        assertThat(count("duplicate")).isEqualTo(1.0);
+
+        // finished routes may be submitted again
+        assertThat(prefetcher.submit("r1")).isTrue();
+        awaitCount("warmed", 4);
+    }
+
+    @Test
+    void dropOldest_shouldDropNewTask_whenQueueWasDrainedMeanwhile() {
+        prefetcher = new PlacesPrefetcher(placesService, properties(1, 1), meterRegistry);
+        ThreadPoolExecutor pool = mock(ThreadPoolExecutor.class);
+        when(pool.getQueue()).thenReturn(new ArrayBlockingQueue<>(1));
+
+        prefetcher.dropOldest(() -> { }, pool);
+
+        // no retry: an empty queue means nothing was dropped to make room
+        verify(pool, never()).execute(any());
+        assertThat(count("dropped")).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_shouldCountCachedAndFailedRoutes() throws Exception {
+        when(placesService.prefetchBase("cached")).thenReturn(false);
+        when(placesService.prefetchBase("broken")).thenThrow(new IllegalStateException("route-service down"));
+        prefetcher = new PlacesPrefetcher(placesService, properties(2, 10), meterRegistry);
+
+        prefetcher.submit("cached");
+        prefetcher.submit("broken");
+
+        awaitCount("cached", 1);
+        awaitCount("failed", 1);
+        assertThat(count("warmed")).isZero();
+    }
+
+    @Test
+    void submit_shouldIgnoreRoutes_whenDisabled() {
+        PrefetchProperties properties = properties(1, 1);
+        properties.setEnabled(false);
+        prefetcher = new PlacesPrefetcher(placesService, properties, meterRegistry);
+
+        assertThat(prefetcher.submit("r1")).isFalse();
+        verify(placesService, never()).prefetchBase(anyString());
+    }
+
+    private static PrefetchProperties properties(int workers, int queueCapacity) {
+        PrefetchProperties properties = new PrefetchProperties();
+        properties.setWorkers(workers);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("roadify.places.prefetch", "result", result).count();
+    }
+
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(result) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count(result)).isEqualTo(expected);
+    }
+}
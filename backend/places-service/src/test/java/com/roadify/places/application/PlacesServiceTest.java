@@ -1,33 +1,62 @@
 package com.roadify.places.application;
 
 import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceBatch;
 import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.cache.BaseCacheProperties;
+import com.roadify.places.infrastructure.cache.BaseLoadCoalescer;
+import com.roadify.places.infrastructure.cache.DegradedPlaces;
+import com.roadify.places.infrastructure.cache.DegradedPlacesCache;
+import com.roadify.places.infrastructure.cache.PlacesBaseCache;
+import com.roadify.places.infrastructure.cache.RedisSingleFlightLock;
+import com.roadify.places.infrastructure.cache.SingleFlightProperties;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.geo.PolylineDecoder;
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
 import com.roadify.places.infrastructure.kafka.PlacesFetchedEvent;
 import com.roadify.places.infrastructure.kafka.PlacesFetchedEventProducer;
+import com.roadify.places.infrastructure.provider.AdaptiveProviderProperties;
+import com.roadify.places.infrastructure.provider.DedupeProperties;
+import com.roadify.places.infrastructure.provider.PlaceDeduplicator;
 import com.roadify.places.infrastructure.provider.PlaceNormalizer;
+import com.roadify.places.infrastructure.provider.ProviderProperties;
 import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.ranking.RankingProperties;
 import com.roadify.places.infrastructure.route.RouteSummary;
+import com.roadify.places.infrastructure.tile.TileProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PlacesServiceTest {
 
     @Mock
-    private RouteServiceClient routeServiceClient;
+    private RouteGeometryService routeGeometryService;
 
     @Mock
     private GeoapifyClient geoapifyClient;
@@ -35,6 +64,9 @@ class PlacesServiceTest {
     @Mock
     private OverpassClient overpassClient;
 
+    @Mock
+    private TileFetchPlanner tileFetchPlanner;
+
     @Mock
     private PlaceNormalizer placeNormalizer;
 
@@ -44,25 +76,93 @@ class PlacesServiceTest {
     @Mock
     private ValueOperations<String, Place[]> valueOperations;
 
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisTemplate<String, DegradedPlaces> degradedPlacesRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, DegradedPlaces> degradedValueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> repairHashOperations;
+
     @Mock
     private KafkaTemplate<String, PlacesFetchedEvent> kafkaTemplate;
 
-    @InjectMocks
-    private PlacesService placesService;
+    @Mock
+    private ObjectProvider<PlacesFetchedEventProducer> eventProducerProvider;
 
     @Mock
     private PlacesFetchedEventProducer eventProducer;
 
+    @Mock
+    private RedisSingleFlightLock redisSingleFlightLock;
+
+    private ExecutorService providerFetchExecutor;
+
+    private BaseLoadCoalescer baseLoadCoalescer;
+
+    private PlacesService placesService;
+
     @BeforeEach
     void setUp() {
-        when(placesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        // lenient: prefetch skips never read the cached value
+        lenient().when(placesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(degradedPlacesRedisTemplate.opsForValue()).thenReturn(degradedValueOperations);
+        lenient().when(stringRedisTemplate.opsForHash()).thenReturn(repairHashOperations);
+
+        providerFetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveProviderProperties adaptiveProperties = new AdaptiveProviderProperties();
+
+        ProviderFetchCoordinator providerFetchCoordinator = new ProviderFetchCoordinator(
+                geoapifyClient,
+                overpassClient,
+                tileFetchPlanner,
+                new ProviderProperties(),
+                providerFetchExecutor,
+                new AdaptiveProviderPolicy(
+                        new ProviderLatencyTracker(adaptiveProperties, meterRegistry),
+                        adaptiveProperties,
+                        meterRegistry
+                )
+        );
+
+        BaseCacheProperties baseCacheProperties = new BaseCacheProperties();
+
+        baseLoadCoalescer = new BaseLoadCoalescer(
+                redisSingleFlightLock, new SingleFlightProperties(), meterRegistry
+        );
+
+        placesService = new PlacesService(
+                routeGeometryService,
+                providerFetchCoordinator,
+                placeNormalizer,
+                new PlaceDeduplicator(new DedupeProperties(), meterRegistry),
+                new PlacesBaseCache(placesRedisTemplate, stringRedisTemplate, baseCacheProperties, meterRegistry),
+                eventProducerProvider,
+                baseLoadCoalescer,
+                baseCacheProperties,
+                new PlaceRanker(new RankingProperties()),
+                new DegradedPlacesCache(
+                        degradedPlacesRedisTemplate, stringRedisTemplate, baseCacheProperties, meterRegistry),
+                new TileProperties()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        providerFetchExecutor.close();
+        baseLoadCoalescer.shutdown();
     }
 
     @Test
     void getPlacesForRoute_shouldReturnFromCache_whenCacheHit() {
         // given
         String routeId = "route-1";
-        PlaceFilterCriteria criteria = new PlaceFilterCriteria(null, null, null, null, null);
+        PlaceFilterCriteria criteria = new PlaceFilterCriteria(null, null, null, null, null, null, null, false);
 
         Place cachedPlace = Place.builder()
                 .id("cached-1")
@@ -74,6 +174,9 @@ class PlacesServiceTest {
                 .build();
 
         when(valueOperations.get(anyString())).thenReturn(new Place[]{cachedPlace});
+        // Freshly written entry: full hard TTL remaining
+        when(placesRedisTemplate.getExpire(anyString(), any(TimeUnit.class)))
+                .thenReturn(Duration.ofHours(1).toMillis());
 
         // when
         List<Place> result = placesService.getPlacesForRoute(routeId, criteria);
@@ -82,14 +185,80 @@ class PlacesServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Cached Cafe");
 
-        verifyNoInteractions(routeServiceClient, geoapifyClient, overpassClient, placeNormalizer, kafkaTemplate);
+        verifyNoInteractions(routeGeometryService, geoapifyClient, overpassClient, placeNormalizer, kafkaTemplate);
+    }
+
+    @Test
+    void findPlacesForRoute_shouldPageByCursor_inDetourOrder() {
+        // given
+        String routeId = "route-1";
+        Place[] cached = {
+                Place.builder().id("c-3").name("Cafe 3").category(PlaceCategory.CAFE).detourKm(3.0).build(),
+                Place.builder().id("f-1").name("Fuel 1").category(PlaceCategory.FUEL).detourKm(0.2).build(),
+                Place.builder().id("c-1").name("Cafe 1").category(PlaceCategory.CAFE).detourKm(0.5).build(),
+                Place.builder().id("c-2").name("Cafe 2").category(PlaceCategory.CAFE).detourKm(1.5).build(),
+                Place.builder().id("c-9").name("Cafe 9").category(PlaceCategory.CAFE).detourKm(9.0).build()
+        };
+        when(valueOperations.get(anyString())).thenReturn(cached);
+        when(placesRedisTemplate.getExpire(anyString(), any(TimeUnit.class)))
+                .thenReturn(Duration.ofHours(1).toMillis());
+
+        PlaceFilterCriteria firstPage = PlaceFilterCriteria.builder()
+                .categories(EnumSet.of(PlaceCategory.CAFE))
+                .maxDetourKm(5.0)
+                .limit(2)
+                .build();
+
+        // when
+        PlacesQueryResult first = placesService.findPlacesForRoute(routeId, firstPage);
+        PlacesQueryResult second = placesService.findPlacesForRoute(routeId, firstPage.toBuilder()
+                .cursor(PlaceCursor.decode(first.getNextCursor()))
+                .build());
+
+        // then
+        assertThat(first.getPlaces()).extracting(Place::getId).containsExactly("c-1", "c-2");
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getPlaces()).extracting(Place::getId).containsExactly("c-3");
+        assertThat(second.getNextCursor()).isNull();
+
+        // second page served from L1, no additional Redis read
+        verify(valueOperations, times(1)).get(anyString());
+    }
+
+    @Test
+    void getPlacesForRoute_shouldServeStaleAndRefreshInBackground_whenOlderThanSoftTtl() {
+        // given
+        String routeId = "route-1";
+        PlaceFilterCriteria criteria = new PlaceFilterCriteria(null, null, null, null, null, null, null, false);
+
+        Place cachedPlace = Place.builder()
+                .id("cached-1")
+                .name("Stale Cafe")
+                .category(PlaceCategory.CAFE)
+                .latitude(1.0)
+                .longitude(2.0)
+                .detourKm(0.0)
+                .build();
+
+        when(valueOperations.get(anyString())).thenReturn(new Place[]{cachedPlace});
+        // Only a few seconds left of the 1h hard TTL -> well past the 10m soft TTL
+        when(placesRedisTemplate.getExpire(anyString(), any(TimeUnit.class))).thenReturn(5_000L);
+        when(routeGeometryService.getRouteGeometry(routeId)).thenThrow(new IllegalStateException("route-service down"));
+
+        // when
+        List<Place> result = placesService.getPlacesForRoute(routeId, criteria);
+
+        // then: stale list is returned immediately, refresh runs (and fails) in background
+        assertThat(result).extracting(Place::getName).containsExactly("Stale Cafe");
+        verify(routeGeometryService, timeout(2_000)).getRouteGeometry(routeId);
+        verify(valueOperations, never()).set(anyString(), any(Place[].class), any(Duration.class));
     }
 
     @Test
     void getPlacesForRoute_shouldFetchAndCache_whenCacheMiss() {
         // given
         String routeId = "route-1";
-        PlaceFilterCriteria criteria = new PlaceFilterCriteria(null, null, null, null, null);
+        PlaceFilterCriteria criteria = new PlaceFilterCriteria(null, null, null, null, null, null, null, false);
 
         // Cache MISS
         when(valueOperations.get(anyString())).thenReturn(null);
@@ -101,7 +270,10 @@ class PlacesServiceTest {
                 360.0,
                 "SOME_GEOMETRY"
         );
-        when(routeServiceClient.getRouteById(routeId)).thenReturn(routeSummary);
+        PackedPolyline polyline = PolylineDecoder.decode(routeSummary.getGeometry());
+        when(routeGeometryService.getRouteGeometry(routeId)).thenReturn(
+                new RouteGeometry(routeSummary, polyline, SegmentGridIndex.build(polyline), polyline.size(), 0.0)
+        );
 
         // Raw places from providers
         RawPlace raw1 = RawPlace.builder()
@@ -124,9 +296,9 @@ class PlacesServiceTest {
                 .rating(null)
                 .build();
 
-        when(geoapifyClient.fetchPlaces(anyString()))
+        when(geoapifyClient.fetchPlaces(anyString(), any()))
                 .thenReturn(List.of(raw1));
-        when(overpassClient.fetchPlaces(anyString()))
+        when(overpassClient.fetchPlaces(anyString(), any()))
                 .thenReturn(List.of(raw2));
 
         Place place1 = Place.builder()
@@ -149,8 +321,10 @@ class PlacesServiceTest {
                 .detourKm(0.0)
                 .build();
 
-        when(placeNormalizer.normalize(anyList(), anyString()))
-                .thenReturn(List.of(place1, place2));
+        when(placeNormalizer.normalizeBatch(anyList(), anyString()))
+                .thenReturn(PlaceBatch.fromPlaces(List.of(place1, place2)));
+
+        when(eventProducerProvider.getIfAvailable()).thenReturn(eventProducer);
 
         // when
         List<Place> result = placesService.getPlacesForRoute(routeId, criteria);
@@ -159,7 +333,7 @@ class PlacesServiceTest {
         assertThat(result).hasSize(2);
 
         ArgumentCaptor<Place[]> cacheCaptor = ArgumentCaptor.forClass(Place[].class);
-        verify(valueOperations).set(anyString(), cacheCaptor.capture());
+        verify(valueOperations).set(anyString(), cacheCaptor.capture(), any(Duration.class));
 
         Place[] cachedArray = cacheCaptor.getValue();
         assertThat(cachedArray).isNotNull();
@@ -167,9 +341,261 @@ class PlacesServiceTest {
 
         verify(eventProducer).publish(any(PlacesFetchedEvent.class));
 
-        verify(routeServiceClient).getRouteById(routeId);
-        verify(geoapifyClient).fetchPlaces(anyString());
-        verify(overpassClient).fetchPlaces(anyString());
-        verify(placeNormalizer).normalize(anyList(), anyString());
+        verify(routeGeometryService).getRouteGeometry(routeId);
+        // unfiltered: one Geoapify shard per category, merged without duplicates
+        int shards = new ProviderProperties().getShardCategories().size();
+        verify(geoapifyClient, times(shards)).fetchPlaces(anyString(), any());
+        verify(overpassClient).fetchPlaces(anyString(), isNull());
+        verify(placeNormalizer).normalizeBatch(eq(List.of(raw1, raw2)), anyString());
+    }
+
+    @Test
+    void prefetchBase_shouldSkipRoute_whenBaseAlreadyCached() {
+        when(placesRedisTemplate.hasKey("route:route-1:places:BASE")).thenReturn(true);
+
+        assertThat(placesService.prefetchBase("route-1")).isFalse();
+
+        verify(valueOperations, never()).get(anyString());
+        verifyNoInteractions(routeGeometryService, geoapifyClient, overpassClient, placeNormalizer);
+    }
+
+    @Test
+    void findPlacesForRoute_shouldCacheDegraded_whenProviderFails_andRepairOnceRecovered() {
+        // given
+        String routeId = "route-1";
+        PlaceFilterCriteria criteria = new PlaceFilterCriteria(null, null, null, null, null, null, null, false);
+
+        when(valueOperations.get(anyString())).thenReturn(null);
+
+        RouteSummary routeSummary = new RouteSummary(routeId, 500.0, 360.0, "SOME_GEOMETRY");
+        PackedPolyline polyline = PolylineDecoder.decode(routeSummary.getGeometry());
+        when(routeGeometryService.getRouteGeometry(routeId)).thenReturn(
+                new RouteGeometry(routeSummary, polyline, SegmentGridIndex.build(polyline), polyline.size(), 0.0)
+        );
+
+        RawPlace rawCafe = RawPlace.builder()
+                .provider("Geoapify")
+                .externalId("geo-1")
+                .name("Demo Cafe")
+                .categoryTag("cafe")
+                .build();
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of(rawCafe));
+        // Overpass down for the first load, back for the repair
+        when(overpassClient.fetchPlaces(anyString(), any()))
+                .thenThrow(new IllegalStateException("overpass down"))
+                .thenReturn(List.of());
+
+        Place cafe = Place.builder().id("Geoapify:geo-1").name("Demo Cafe").category(PlaceCategory.CAFE).build();
+        // the pipeline mutates the batch, so every load gets its own
+        when(placeNormalizer.normalizeBatch(anyList(), anyString()))
+                .thenAnswer(invocation -> PlaceBatch.fromPlaces(List.of(cafe)));
+
+        // when: first request while Overpass fails
+        PlacesQueryResult first = placesService.findPlacesForRoute(routeId, criteria);
+
+        // then: partial list only goes to the degraded tier, with the provider statuses
+        assertThat(first.getProviderStatuses()).containsEntry("overpass", ProviderStatus.FAILED);
+
+        ArgumentCaptor<DegradedPlaces> degradedCaptor = ArgumentCaptor.forClass(DegradedPlaces.class);
+        verify(degradedValueOperations).set(
+                eq("route:route-1:places:BASE:degraded"), degradedCaptor.capture(), eq(Duration.ofMinutes(2)));
+        assertThat(ProviderStatusBitmap.decode(degradedCaptor.getValue().providerBits()))
+                .containsEntry("geoapify", ProviderStatus.OK)
+                .containsEntry("overpass", ProviderStatus.FAILED);
+        verify(valueOperations, never()).set(anyString(), any(Place[].class), any(Duration.class));
+        // repair target kept in Redis, so any instance can repair the route
+        verify(repairHashOperations).put("roadify:places:degraded:repair", "route:route-1:places:BASE", "route-1|");
+
+        // when: next request is served from the degraded entry (L1), no provider round-trip
+        PlacesQueryResult second = placesService.findPlacesForRoute(routeId, criteria);
+
+        assertThat(second.getPlaces()).extracting(Place::getId).containsExactly("Geoapify:geo-1");
+        assertThat(second.getProviderStatuses()).containsEntry("overpass", ProviderStatus.FAILED);
+        verify(routeGeometryService, times(1)).getRouteGeometry(routeId);
+
+        // when: repair run after Overpass recovered
+        when(repairHashOperations.entries("roadify:places:degraded:repair"))
+                .thenReturn(Map.of("route:route-1:places:BASE", "route-1|"))
+                .thenReturn(Map.of());
+
+        // then: full entry written, key leaves the repair hash, nothing left to repair
+        assertThat(placesService.repairDegraded(10)).isEqualTo(1);
+        verify(valueOperations).set(eq("route:route-1:places:BASE"), any(Place[].class), any(Duration.class));
+        verify(repairHashOperations).delete("roadify:places:degraded:repair", "route:route-1:places:BASE");
+        assertThat(placesService.repairDegraded(10)).isZero();
+    }
+
+    @Test
+    void findPlacesForRoute_shouldFilterSeveralCategories_andCountFacets() {
+        // given
+        String routeId = "route-1";
+        Place[] cached = {
+                Place.builder().id("c-1").category(PlaceCategory.CAFE).detourKm(0.5).build(),
+                Place.builder().id("f-1").category(PlaceCategory.FUEL).detourKm(0.2).build(),
+                Place.builder().id("w-1").category(PlaceCategory.WC).detourKm(1.0).build(),
+                Place.builder().id("f-2").category(PlaceCategory.FUEL).detourKm(4.0).build(),
+                Place.builder().id("c-9").category(PlaceCategory.CAFE).detourKm(9.0).build()
+        };
+        when(valueOperations.get(anyString())).thenReturn(cached);
+        when(placesRedisTemplate.getExpire(anyString(), any(TimeUnit.class)))
+                .thenReturn(Duration.ofHours(1).toMillis());
+
+        PlaceFilterCriteria criteria = PlaceFilterCriteria.builder()
+                .categories(EnumSet.of(PlaceCategory.CAFE, PlaceCategory.FUEL))
+                .maxDetourKm(5.0)
+                .facets(true)
+                .build();
+
+        // when
+        PlacesQueryResult result = placesService.findPlacesForRoute(routeId, criteria);
+
+        // then: detour order across both categories, counts for every category under maxDetourKm
+        assertThat(result.getPlaces()).extracting(Place::getId).containsExactly("f-1", "c-1", "f-2");
+        assertThat(result.getCategoryCounts())
+                .containsEntry(PlaceCategory.CAFE, 1)
+                .containsEntry(PlaceCategory.FUEL, 2)
+                .containsEntry(PlaceCategory.WC, 1)
+                .containsEntry(PlaceCategory.HOTEL, 0)
+                .hasSize(PlaceCategory.values().length);
+
+        verify(valueOperations, times(1)).get(anyString());
+        verifyNoInteractions(routeGeometryService, geoapifyClient, overpassClient, placeNormalizer);
+    }
+
+    @Test
+    void findPlacesForRoute_shouldLoadOnlyCategoryShard_whenFilteredAndBaseMissing() {
+        // given
+        String routeId = "route-1";
+        PlaceFilterCriteria criteria = PlaceFilterCriteria.builder()
+                .categories(EnumSet.of(PlaceCategory.FUEL))
+                .build();
+
+        // BASE and FUEL shard both missing
+        when(valueOperations.get(anyString())).thenReturn(null);
+
+        RouteSummary routeSummary = new RouteSummary(routeId, 500.0, 360.0, "SOME_GEOMETRY");
+        PackedPolyline polyline = PolylineDecoder.decode(routeSummary.getGeometry());
+        when(routeGeometryService.getRouteGeometry(routeId)).thenReturn(
+                new RouteGeometry(routeSummary, polyline, SegmentGridIndex.build(polyline), polyline.size(), 0.0)
+        );
+
+        RawPlace rawFuel = RawPlace.builder()
+                .provider("Geoapify")
+                .externalId("geo-fuel")
+                .name("Fuel")
+                .categoryTag("service.vehicle.fuel")
+                .build();
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of(rawFuel));
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        Place fuel = Place.builder().id("Geoapify:geo-fuel").name("Fuel").category(PlaceCategory.FUEL).build();
+        Place shop = Place.builder().id("Geoapify:geo-shop").name("Shop").category(PlaceCategory.SHOP).build();
+        when(placeNormalizer.normalizeBatch(anyList(), anyString())).thenReturn(PlaceBatch.fromPlaces(List.of(fuel, shop)));
+
+        // when
+        List<Place> result = placesService.getPlacesForRoute(routeId, criteria);
+
+        // then: only the FUEL shard is requested and cached under its own key
+        assertThat(result).extracting(Place::getId).containsExactly("Geoapify:geo-fuel");
+
+        verify(geoapifyClient).fetchPlaces(anyString(), eq(EnumSet.of(PlaceCategory.FUEL)));
+        verify(overpassClient).fetchPlaces(anyString(), eq(EnumSet.of(PlaceCategory.FUEL)));
+
+        ArgumentCaptor<Place[]> cacheCaptor = ArgumentCaptor.forClass(Place[].class);
+        verify(valueOperations).set(eq("route:route-1:places:FUEL"), cacheCaptor.capture(), any(Duration.class));
+        assertThat(cacheCaptor.getValue()).extracting(Place::getId).containsExactly("Geoapify:geo-fuel");
+
+        // shard totals are not route totals
+        verifyNoInteractions(eventProducerProvider);
+    }
+
+    @Test
+    void findUpcomingPlaces_shouldReturnWindowInRouteOrder_fromCache() {
+        // given
+        String routeId = "route-1";
+        Place[] cached = {
+                Place.builder().id("far").category(PlaceCategory.FUEL).routeKm(61.0).build(),
+                Place.builder().id("behind").category(PlaceCategory.FUEL).routeKm(5.0).build(),
+                Place.builder().id("next").category(PlaceCategory.FUEL).routeKm(12.0).build(),
+                Place.builder().id("cafe").category(PlaceCategory.CAFE).routeKm(20.0).build(),
+                Place.builder().id("later").category(PlaceCategory.FUEL).routeKm(30.0).detourKm(1.0).build(),
+                Place.builder().id("offroad").category(PlaceCategory.FUEL).routeKm(40.0).detourKm(8.0).build(),
+                Place.builder().id("unknown").category(PlaceCategory.FUEL).routeKm(Double.NaN).build()
+        };
+        when(valueOperations.get(anyString())).thenReturn(cached);
+        when(placesRedisTemplate.getExpire(anyString(), any(TimeUnit.class)))
+                .thenReturn(Duration.ofHours(1).toMillis());
+
+        UpcomingPlacesCriteria criteria = UpcomingPlacesCriteria.builder()
+                .currentKm(10.0)
+                .windowKm(50.0)
+                .category(PlaceCategory.FUEL)
+                .maxDetourKm(2.0)
+                .build();
+
+        // when
+        UpcomingPlacesResult result = placesService.findUpcomingPlaces(routeId, criteria);
+
+        // then
+        assertThat(result.getPlaces()).extracting(Place::getId).containsExactly("next", "later");
+        assertThat(result.getCurrentKm()).isEqualTo(10.0);
+        assertThat(result.isPartial()).isFalse();
+        verifyNoInteractions(routeGeometryService, geoapifyClient, overpassClient);
+    }
+
+    @Test
+    void findUpcomingPlaces_shouldSnapLivePositionToRouteKm() {
+        // given: straight line along the equator, ~1.112 km per 0.01 deg
+        String routeId = "route-1";
+        PackedPolyline polyline = PackedPolyline.of(
+                new double[]{0.0, 0.0, 0.0},
+                new double[]{30.00, 30.01, 30.02}
+        );
+        when(routeGeometryService.getRouteGeometry(routeId)).thenReturn(new RouteGeometry(
+                new RouteSummary(routeId, 2.2, 3.0, "unused"),
+                polyline, SegmentGridIndex.build(polyline), polyline.size(), 0.0));
+
+        Place[] cached = {
+                Place.builder().id("passed").category(PlaceCategory.CAFE).routeKm(0.5).build(),
+                Place.builder().id("ahead").category(PlaceCategory.CAFE).routeKm(1.8).build()
+        };
+        when(valueOperations.get(anyString())).thenReturn(cached);
+        when(placesRedisTemplate.getExpire(anyString(), any(TimeUnit.class)))
+                .thenReturn(Duration.ofHours(1).toMillis());
+
+        // when: GPS fix slightly north of the vertex at 30.01
+        UpcomingPlacesResult result = placesService.findUpcomingPlaces(routeId, UpcomingPlacesCriteria.builder()
+                .latitude(0.0005)
+                .longitude(30.01)
+                .windowKm(5.0)
+                .build());
+
+        // then
+        assertThat(result.getCurrentKm()).isCloseTo(Math.toRadians(0.01) * 6371.0, within(1e-6));
+        assertThat(result.getPlaces()).extracting(Place::getId).containsExactly("ahead");
+    }
+
+    @Test
+    void findUpcomingPlaces_shouldRejectPosition_outsideCorridor() {
+        // given: route along the equator, GPS fix ~11 km north (corridor buffer is 2 km)
+        String routeId = "route-1";
+        PackedPolyline polyline = PackedPolyline.of(
+                new double[]{0.0, 0.0},
+                new double[]{30.00, 30.01}
+        );
+        when(routeGeometryService.getRouteGeometry(routeId)).thenReturn(new RouteGeometry(
+                new RouteSummary(routeId, 1.1, 2.0, "unused"),
+                polyline, SegmentGridIndex.build(polyline), polyline.size(), 0.0));
+
+        UpcomingPlacesCriteria criteria = UpcomingPlacesCriteria.builder()
+                .latitude(0.1)
+                .longitude(30.005)
+                .windowKm(5.0)
+                .build();
+
+        // when / then: rejected before the BASE list is loaded
+        assertThatThrownBy(() -> placesService.findUpcomingPlaces(routeId, criteria))
+                .isInstanceOf(RoutePositionException.class);
+        verifyNoInteractions(valueOperations, geoapifyClient, overpassClient);
     }
 }
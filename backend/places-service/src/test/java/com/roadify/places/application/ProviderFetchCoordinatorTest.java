@@ -0,0 +1,337 @@
+package com.roadify.places.application;
+
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
+import com.roadify.places.infrastructure.provider.AdaptiveProviderProperties;
+import com.roadify.places.infrastructure.provider.ProviderProperties;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.route.RouteSummary;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderFetchCoordinatorTest {
+
+    @Mock
+    private GeoapifyClient geoapifyClient;
+
+    @Mock
+    private OverpassClient overpassClient;
+
+    @Mock
+    private TileFetchPlanner tileFetchPlanner;
+
+    private ExecutorService executor;
+    private ProviderLatencyTracker latencyTracker;
+    private AdaptiveProviderPolicy adaptivePolicy;
+    private ProviderFetchCoordinator coordinator;
+
+    private final RouteGeometry routeGeometry = new RouteGeometry(
+            new RouteSummary("route-1", 10.0, 12.0, "GEOMETRY"),
+            PackedPolyline.EMPTY,
+            SegmentGridIndex.build(PackedPolyline.EMPTY),
+            0,
+            0.0
+    );
+
+    @BeforeEach
+    void setUp() {
+        ProviderProperties properties = new ProviderProperties();
+        properties.setGeoapifyDeadline(Duration.ofMillis(500));
+        properties.setOverpassDeadline(Duration.ofMillis(100));
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        AdaptiveProviderProperties adaptiveProperties = new AdaptiveProviderProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        latencyTracker = new ProviderLatencyTracker(adaptiveProperties, meterRegistry);
+        adaptivePolicy = new AdaptiveProviderPolicy(latencyTracker, adaptiveProperties, meterRegistry);
+
+        coordinator = new ProviderFetchCoordinator(
+                geoapifyClient, overpassClient, tileFetchPlanner, properties, executor, adaptivePolicy);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fetchAll_shouldReturnPartialResults_whenProviderMissesDeadline() {
+        RawPlace geoPlace = RawPlace.builder().provider("Geoapify").externalId("g-1").build();
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of(geoPlace));
+        when(overpassClient.fetchPlaces(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(2_000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(results).extracting(ProviderFetchResult::provider).containsExactly("geoapify", "overpass");
+        assertThat(results.get(0).status()).isEqualTo(ProviderStatus.OK);
+        assertThat(results.get(0).places()).containsExactly(geoPlace);
+        assertThat(results.get(1).status()).isEqualTo(ProviderStatus.TIMEOUT);
+        assertThat(elapsedMs).isLessThan(1_500);
+    }
+
+    @Test
+    void fetchAll_shouldRunProvidersConcurrently() {
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of();
+        });
+        when(overpassClient.fetchPlaces(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of();
+        });
+
+        ProviderProperties relaxed = new ProviderProperties();
+        // one Geoapify slot per shard, so every shard runs in the first wave
+        relaxed.setTileConcurrency(relaxed.getShardCategories().size());
+        coordinator = new ProviderFetchCoordinator(
+                geoapifyClient, overpassClient, tileFetchPlanner, relaxed, executor, adaptivePolicy);
+
+        long start = System.nanoTime();
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(results).allMatch(ProviderFetchResult::success);
+        assertThat(elapsedMs).isLessThan(550);
+    }
+
+    @Test
+    void fetchAll_shouldFlagFailedProvider() {
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenThrow(new ProviderFetchException("boom"));
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+
+        assertThat(results.get(0).status()).isEqualTo(ProviderStatus.FAILED);
+        assertThat(results.get(1).status()).isEqualTo(ProviderStatus.OK);
+    }
+
+    @Test
+    void fetchAll_shouldNotReportSuccess_whenOneGeoapifyShardFails() {
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenAnswer(invocation -> {
+            Set<PlaceCategory> shard = invocation.getArgument(1);
+            if (shard.contains(PlaceCategory.FUEL)) throw new ProviderFetchException("geoapify 503");
+            return List.of();
+        });
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+
+        // a failed shard keeps the merged list out of the BASE cache
+        assertThat(results.get(0).status()).isEqualTo(ProviderStatus.PARTIAL);
+        assertThat(results.get(0).success()).isFalse();
+    }
+
+    @Test
+    void fetchAll_shouldKeepLocalRejectionsOutOfAdaptiveStats() {
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+        when(overpassClient.fetchPlaces(anyString(), any()))
+                .thenThrow(BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("overpass")))
+                .thenThrow(CallNotPermittedException.createCallNotPermittedException(
+                        CircuitBreaker.ofDefaults("overpass")));
+
+        List<ProviderFetchResult> first = coordinator.fetchAll(routeGeometry, EnumSet.of(PlaceCategory.FUEL));
+        List<ProviderFetchResult> second = coordinator.fetchAll(routeGeometry, EnumSet.of(PlaceCategory.FUEL));
+
+        // the request still reports the missing provider ...
+        assertThat(first.get(1).success()).isFalse();
+        assertThat(second.get(1).success()).isFalse();
+        // ... but a full bulkhead / open circuit never reached Overpass, so it is no error sample
+        assertThat(latencyTracker.snapshot("overpass").samples()).isZero();
+        assertThat(latencyTracker.snapshot("geoapify").samples()).isEqualTo(2);
+    }
+
+    @Test
+    void fetchAll_shouldReportPartial_whenOverpassResponseIsTruncated() {
+        RawPlace first = RawPlace.builder().provider("Overpass").externalId("o-1").build();
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+        when(overpassClient.fetchPlaces(anyString(), any()))
+                .thenThrow(new TruncatedResultException("cap", List.of(first)));
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+
+        // places are served, but PARTIAL keeps them out of the BASE cache
+        assertThat(results.get(1).status()).isEqualTo(ProviderStatus.PARTIAL);
+        assertThat(results.get(1).places()).containsExactly(first);
+        assertThat(results.get(1).success()).isFalse();
+    }
+
+    @Test
+    void fetchAll_shouldFetchOnlyRequestedCategoryShard() {
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry, EnumSet.of(PlaceCategory.FUEL));
+
+        assertThat(results).allMatch(ProviderFetchResult::success);
+        verify(geoapifyClient).fetchPlaces(anyString(), eq(EnumSet.of(PlaceCategory.FUEL)));
+        verify(overpassClient).fetchPlaces(anyString(), eq(EnumSet.of(PlaceCategory.FUEL)));
+        verify(overpassClient).hasMirror();
+        verifyNoMoreInteractions(geoapifyClient, overpassClient);
+    }
+
+    @Test
+    void fetchAll_shouldAssembleAllShardsInParallel_andDeduplicate() {
+        RawPlace shared = RawPlace.builder().provider("Geoapify").externalId("g-shared").build();
+        Set<Set<PlaceCategory>> requested = ConcurrentHashMap.newKeySet();
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenAnswer(invocation -> {
+            requested.add(invocation.getArgument(1));
+            Thread.sleep(200);
+            return List.of(shared);
+        });
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        ProviderProperties relaxed = new ProviderProperties();
+        coordinator = new ProviderFetchCoordinator(
+                geoapifyClient, overpassClient, tileFetchPlanner, relaxed, executor, adaptivePolicy);
+
+        long start = System.nanoTime();
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(requested).hasSize(relaxed.getShardCategories().size())
+                .allMatch(shard -> shard.size() == 1);
+        assertThat(results.get(0).status()).isEqualTo(ProviderStatus.OK);
+        assertThat(results.get(0).places()).containsExactly(shared);
+        assertThat(elapsedMs).isLessThan(1_000);
+    }
+
+    @Test
+    void fetchAll_shouldBoundGeoapifyCallsAcrossAllShards() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return List.of();
+        });
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        ProviderProperties bounded = new ProviderProperties();
+        bounded.setTileConcurrency(2);
+        coordinator = new ProviderFetchCoordinator(
+                geoapifyClient, overpassClient, tileFetchPlanner, bounded, executor, adaptivePolicy);
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+
+        assertThat(results.get(0).status()).isEqualTo(ProviderStatus.OK);
+        verify(geoapifyClient, times(bounded.getShardCategories().size())).fetchPlaces(anyString(), any());
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void fetchAll_shouldSendOneUnfilteredGeoapifyCall_whenShardingIsOff() {
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+        when(overpassClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+
+        ProviderProperties unsharded = new ProviderProperties();
+        unsharded.setGeoapifySharding(false);
+        coordinator = new ProviderFetchCoordinator(
+                geoapifyClient, overpassClient, tileFetchPlanner, unsharded, executor, adaptivePolicy);
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+
+        assertThat(results).allMatch(ProviderFetchResult::success);
+        verify(geoapifyClient).fetchPlaces(anyString(), isNull());
+    }
+
+    @Test
+    void fetchAll_shouldUseCategoryShardAsTileCacheKey() {
+        PackedPolyline line = PackedPolyline.of(new double[]{36.0, 36.1}, new double[]{30.0, 30.1});
+        RouteGeometry tiled = new RouteGeometry(
+                new RouteSummary("route-1", 10.0, 12.0, "GEOMETRY"), line, SegmentGridIndex.build(line), 2, 0.0);
+        TileFetchResult empty = new TileFetchResult(List.of(), true, 1, 1, 0, 0, 0);
+
+        when(tileFetchPlanner.isEnabled()).thenReturn(true);
+        when(geoapifyClient.isEnabled()).thenReturn(true);
+        when(tileFetchPlanner.fetch(anyString(), anyString(), any(), any(), any(), any())).thenReturn(empty);
+        when(tileFetchPlanner.fetch(anyString(), anyString(), any(), any(), any())).thenReturn(empty);
+
+        coordinator.fetchAll(tiled, EnumSet.of(PlaceCategory.FUEL));
+
+        verify(tileFetchPlanner).fetch(eq("geoapify"), eq("FUEL"), eq(tiled), any(), any(), any());
+        verify(tileFetchPlanner).fetch(eq("overpass"), eq("FUEL"), eq(tiled), any(), any());
+    }
+
+    @Test
+    void fetchAll_shouldServeCachedTilesOnly_whenProviderIsTooSlow() {
+        PackedPolyline line = PackedPolyline.of(new double[]{36.0, 36.1}, new double[]{30.0, 30.1});
+        RouteGeometry tiled = new RouteGeometry(
+                new RouteSummary("route-1", 10.0, 12.0, "GEOMETRY"), line, SegmentGridIndex.build(line), 2, 0.0);
+        RawPlace cachedPlace = RawPlace.builder().provider("Overpass").externalId("o-1").build();
+
+        // p95 of recent Overpass calls far above its 100 ms budget
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record("overpass", Duration.ofSeconds(5).toNanos(), true);
+        }
+
+        when(tileFetchPlanner.isEnabled()).thenReturn(true);
+        when(geoapifyClient.isEnabled()).thenReturn(true);
+        when(tileFetchPlanner.fetch(anyString(), anyString(), any(), any(), any(), any()))
+                .thenReturn(new TileFetchResult(List.of(), true, 1, 1, 0, 0, 0));
+        when(tileFetchPlanner.fetchCached("overpass", "FUEL", tiled))
+                .thenReturn(new TileFetchResult(List.of(cachedPlace), false, 2, 1, 0, 1, 0));
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(tiled, EnumSet.of(PlaceCategory.FUEL));
+
+        assertThat(results.get(0).decision()).isEqualTo(ProviderDecision.FETCH);
+        assertThat(results.get(1).decision()).isEqualTo(ProviderDecision.SKIP);
+        assertThat(results.get(1).status()).isEqualTo(ProviderStatus.SKIPPED);
+        assertThat(results.get(1).places()).containsExactly(cachedPlace);
+        verify(tileFetchPlanner, never()).fetch(eq("overpass"), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void fetchAll_shouldHedgeOverpassAfterP90_whenMirrorConfigured() {
+        for (int i = 0; i < 20; i++) {
+            latencyTracker.record("overpass", Duration.ofMillis(i + 1).toNanos(), true);
+        }
+
+        when(overpassClient.hasMirror()).thenReturn(true);
+        when(geoapifyClient.fetchPlaces(anyString(), any())).thenReturn(List.of());
+        when(overpassClient.fetchPlaces(anyString(), any(), any(Duration.class))).thenReturn(List.of());
+
+        List<ProviderFetchResult> results = coordinator.fetchAll(routeGeometry);
+
+        assertThat(results.get(1).decision()).isEqualTo(ProviderDecision.HEDGE);
+        // p90 of 1..20 ms is 18 ms, raised to the 200 ms floor
+        verify(overpassClient).fetchPlaces(anyString(), isNull(), eq(Duration.ofMillis(200)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.roadify.places.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderStatusBitmapTest {
+
+    @Test
+    void decode_shouldReturnEncodedStatuses_forEveryStatusPair() {
+        for (ProviderStatus geo : ProviderStatus.values()) {
+            for (ProviderStatus over : ProviderStatus.values()) {
+                Map<String, ProviderStatus> statuses = new LinkedHashMap<>();
+                statuses.put(ProviderFetchCoordinator.GEOAPIFY, geo);
+                statuses.put(ProviderFetchCoordinator.OVERPASS, over);
+
+                assertThat(ProviderStatusBitmap.decode(ProviderStatusBitmap.encode(statuses)))
+                        .as("%s/%s", geo, over)
+                        .isEqualTo(statuses);
+            }
+        }
+    }
+
+    @Test
+    void encode_shouldUseStableStatusCodes() {
+        // Stored in degraded cache entries: changing these breaks entries already in Redis
+        Map<ProviderStatus, Integer> expected = Map.of(
+                ProviderStatus.OK, 1,
+                ProviderStatus.DISABLED, 2,
+                ProviderStatus.PARTIAL, 3,
+                ProviderStatus.SKIPPED, 4,
+                ProviderStatus.TIMEOUT, 5,
+                ProviderStatus.FAILED, 6
+        );
+
+        assertThat(expected).containsOnlyKeys(ProviderStatus.values());
+        expected.forEach((status, code) -> assertThat(ProviderStatusBitmap.codeOf(status)).as("%s", status).isEqualTo(code));
+
+        int bits = ProviderStatusBitmap.encode(Map.of(
+                ProviderFetchCoordinator.GEOAPIFY, ProviderStatus.TIMEOUT,
+                ProviderFetchCoordinator.OVERPASS, ProviderStatus.PARTIAL
+        ));
+        assertThat(bits).isEqualTo(0x35);
+        assertThat(ProviderStatusBitmap.decode(0x7)).isEmpty();
+    }
+
+    @Test
+    void encode_shouldLeaveMissingAndUnknownProvidersOut() {
+        int bits = ProviderStatusBitmap.encode(Map.of(
+                ProviderFetchCoordinator.OVERPASS, ProviderStatus.FAILED,
+                "somebody-else", ProviderStatus.OK
+        ));
+
+        assertThat(ProviderStatusBitmap.decode(bits))
+                .containsExactly(Map.entry(ProviderFetchCoordinator.OVERPASS, ProviderStatus.FAILED));
+        assertThat(ProviderStatusBitmap.decode(0)).isEmpty();
+    }
+}
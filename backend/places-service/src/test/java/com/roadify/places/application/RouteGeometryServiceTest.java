@@ -0,0 +1,88 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.geo.RouteGeometryProperties;
+import com.roadify.places.infrastructure.route.RouteSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RouteGeometryServiceTest {
+
+    private static final String ROUTE_ID = "route-1";
+    private static final String GEOMETRY = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+    @Mock
+    private RouteServiceClient routeServiceClient;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final RouteGeometryProperties properties = new RouteGeometryProperties();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stringRedisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        lenient().when(hashOperations.entries(anyString())).thenReturn(Map.of());
+    }
+
+    @Test
+    void getRouteGeometry_shouldServeRepeatedLoadsFromL1() {
+        when(routeServiceClient.getRouteById(ROUTE_ID)).thenReturn(route(GEOMETRY));
+        RouteGeometryService service = newService();
+
+        RouteGeometry first = service.getRouteGeometry(ROUTE_ID);
+        RouteGeometry second = service.getRouteGeometry(ROUTE_ID);
+
+        assertThat(first.getPolyline().size()).isEqualTo(3);
+        // same decoded polyline and segment index, no second route-service call or Redis read
+        assertThat(second).isSameAs(first);
+        verify(routeServiceClient, times(1)).getRouteById(ROUTE_ID);
+        verify(hashOperations, times(1)).entries(anyString());
+    }
+
+    @Test
+    void getRouteGeometry_shouldNotKeepUndecodableGeometry() {
+        when(routeServiceClient.getRouteById(ROUTE_ID)).thenReturn(route(""));
+        RouteGeometryService service = newService();
+
+        service.getRouteGeometry(ROUTE_ID);
+        service.getRouteGeometry(ROUTE_ID);
+
+        verify(routeServiceClient, times(2)).getRouteById(ROUTE_ID);
+    }
+
+    @Test
+    void getRouteGeometry_shouldBypassL1_whenDisabled() {
+        properties.setL1Enabled(false);
+        when(routeServiceClient.getRouteById(ROUTE_ID)).thenReturn(route(GEOMETRY));
+        RouteGeometryService service = newService();
+
+        service.getRouteGeometry(ROUTE_ID);
+        service.getRouteGeometry(ROUTE_ID);
+
+        verify(routeServiceClient, times(2)).getRouteById(ROUTE_ID);
+    }
+
+    private RouteGeometryService newService() {
+        return new RouteGeometryService(routeServiceClient, stringRedisTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    private RouteSummary route(String geometry) {
+        return new RouteSummary(ROUTE_ID, 500.0, 360.0, geometry);
+    }
+}
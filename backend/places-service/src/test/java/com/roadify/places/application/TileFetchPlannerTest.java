@@ -0,0 +1,137 @@
+package com.roadify.places.application;
+
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.geo.SegmentGridIndex;
+import com.roadify.places.infrastructure.provider.ProviderProperties;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import com.roadify.places.infrastructure.route.RouteSummary;
+import com.roadify.places.infrastructure.tile.GeoTile;
+import com.roadify.places.infrastructure.tile.TileProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TileFetchPlannerTest {
+
+    private static final double LAT = 36.0;
+    private static final double LON = 30.0;
+
+    @Mock
+    private RedisTemplate<String, RawPlace[]> placesTileRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, RawPlace[]> valueOperations;
+
+    private final TileProperties properties = new TileProperties();
+    private ExecutorService executor;
+    private TileFetchPlanner planner;
+
+    private final PackedPolyline line = PackedPolyline.of(new double[]{LAT, LAT + 0.0001}, new double[]{LON, LON + 0.0001});
+    private final RouteGeometry routeGeometry = new RouteGeometry(
+            new RouteSummary("route-1", 0.1, 1.0, "GEOMETRY"), line, SegmentGridIndex.build(line), 2, 0.0);
+
+    @BeforeEach
+    void setUp() {
+        when(placesTileRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        // a single tile around the route
+        properties.setCorridorBufferMeters(10.0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        planner = new TileFetchPlanner(placesTileRedisTemplate, properties, new ProviderProperties(), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void fetch_shouldSplitCutOffTile_andCacheCompleteUnion() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<GeoTile, List<RawPlace>> fetcher = tile -> {
+            calls.incrementAndGet();
+            if (!tile.hash().contains("/")) {
+                throw new TruncatedResultException("cap", List.of(place("cut")));
+            }
+            return List.of(place(tile.hash()));
+        };
+
+        TileFetchResult result = planner.fetch("overpass", "ALL", routeGeometry, fetcher, Duration.ofSeconds(5));
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.places()).hasSize(4);
+        assertThat(calls.get()).isEqualTo(5);
+
+        ArgumentCaptor<RawPlace[]> cached = ArgumentCaptor.forClass(RawPlace[].class);
+        verify(valueOperations).set(anyString(), cached.capture(), eq(properties.getTtl()));
+        assertThat(cached.getValue()).hasSize(4);
+    }
+
+    @Test
+    void fetch_shouldNotCacheTile_whenQuadrantIsStillCutOffAtMaxDepth() {
+        properties.setMaxSplitDepth(1);
+        Function<GeoTile, List<RawPlace>> fetcher = tile -> {
+            throw new TruncatedResultException("cap", List.of(place(tile.hash())));
+        };
+
+        TileFetchResult result = planner.fetch("overpass", "ALL", routeGeometry, fetcher, Duration.ofSeconds(5));
+
+        // quadrant places are served, the tile stays uncached and the result incomplete
+        assertThat(result.complete()).isFalse();
+        assertThat(result.places()).hasSize(4);
+        verify(valueOperations, never()).set(anyString(), any(RawPlace[].class), any(Duration.class));
+    }
+
+    @Test
+    void fetch_shouldBoundOverpassTileCalls_byOverpassTileConcurrency() {
+        // ~0.3 degrees of route -> several tiles
+        PackedPolyline longLine = PackedPolyline.of(new double[]{LAT, LAT + 0.3}, new double[]{LON, LON + 0.3});
+        RouteGeometry longRoute = new RouteGeometry(
+                new RouteSummary("route-2", 40.0, 30.0, "GEOMETRY"), longLine, SegmentGridIndex.build(longLine), 2, 0.0);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        Function<GeoTile, List<RawPlace>> fetcher = tile -> {
+            calls.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return List.of();
+        };
+
+        TileFetchResult result = planner.fetch("overpass", "ALL", longRoute, fetcher, Duration.ofSeconds(5));
+
+        assertThat(result.complete()).isTrue();
+        assertThat(calls.get()).isGreaterThan(2);
+        assertThat(maxRunning.get()).isEqualTo(new ProviderProperties().getOverpassTileConcurrency());
+    }
+
+    private static RawPlace place(String id) {
+        return RawPlace.builder().provider("Overpass").externalId(id).latitude(LAT).longitude(LON).build();
+    }
+}
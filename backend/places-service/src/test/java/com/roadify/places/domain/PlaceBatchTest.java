@@ -0,0 +1,59 @@
+package com.roadify.places.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceBatchTest {
+
+    @Test
+    void toPlaces_shouldRoundTripPlaces_includingNullsAndMergedIds() {
+        List<Place> places = List.of(
+                Place.builder().id("Geoapify:1").name("Shell").category(PlaceCategory.FUEL)
+                        .latitude(36.9).longitude(30.7).rating(4.5).detourKm(1.25).routeKm(12.0)
+                        .mergedIds(List.of("Overpass:7")).build(),
+                Place.builder().id(null).name(null).category(null)
+                        .latitude(37.0).longitude(30.8).rating(null).detourKm(0.0).routeKm(Double.NaN).build()
+        );
+
+        assertThat(PlaceBatch.fromPlaces(places).toPlaces()).containsExactlyElementsOf(places);
+    }
+
+    @Test
+    void add_shouldGrowAndDefaultDetourAndRouteKm() {
+        PlaceBatch batch = PlaceBatch.withCapacity(0);
+        for (int i = 0; i < 100; i++) {
+            batch.add("id-" + i, "name", PlaceCategory.CAFE, i, i, i % 2 == 0 ? null : 3.0);
+        }
+
+        assertThat(batch.size()).isEqualTo(100);
+        assertThat(batch.latitude(99)).isEqualTo(99.0);
+        assertThat(batch.rating(0)).isNaN();
+        assertThat(batch.rating(1)).isEqualTo(3.0);
+        assertThat(batch.detourKm(50)).isEqualTo(0.0);
+        assertThat(batch.routeKm(50)).isNaN();
+        assertThat(batch.toPlace(0).getRating()).isNull();
+    }
+
+    @Test
+    void retain_shouldCompactInOrder_andReportRemoved() {
+        PlaceCategory[] categories = {PlaceCategory.FUEL, PlaceCategory.CAFE, null, PlaceCategory.WC};
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            places.add(Place.builder().id("p" + i).category(categories[i % categories.length])
+                    .latitude(i).longitude(-i).detourKm(i / 10.0).build());
+        }
+        PlaceBatch batch = PlaceBatch.fromPlaces(places);
+
+        int removed = batch.retainCategories(EnumSet.of(PlaceCategory.FUEL, PlaceCategory.WC));
+
+        assertThat(removed).isEqualTo(10);
+        assertThat(batch.toPlaces()).containsExactlyElementsOf(places.stream()
+                .filter(p -> p.getCategory() == PlaceCategory.FUEL || p.getCategory() == PlaceCategory.WC)
+                .toList());
+    }
+}
@@ -0,0 +1,175 @@
+package com.roadify.places.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceIndexTest {
+
+    @Test
+    void slice_shouldMatchFullScan_forEveryCategoryAndDetourLimit() {
+        List<Place> places = randomPlaces(500, new Random(7));
+        PlaceIndex index = PlaceIndex.build(places);
+
+        List<PlaceCategory> categories = new ArrayList<>(List.of(PlaceCategory.values()));
+        categories.add(null);
+
+        for (PlaceCategory category : categories) {
+            for (Double maxDetour : new Double[]{null, 0.0, 0.5, 2.5, 100.0}) {
+                List<Place> expected = places.stream()
+                        .filter(p -> category == null || p.getCategory() == category)
+                        .filter(p -> maxDetour == null || p.getDetourKm() <= maxDetour)
+                        .sorted(PlaceIndex.ORDER)
+                        .toList();
+
+                PlaceIndex.Slice slice = index.slice(category, maxDetour);
+
+                assertThat(slice.subList(0, slice.size()))
+                        .as("category=%s maxDetour=%s", category, maxDetour)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void slice_shouldMatchFullScan_forCategorySets() {
+        List<Place> places = randomPlaces(500, new Random(9));
+        PlaceIndex index = PlaceIndex.build(places);
+
+        List<Set<PlaceCategory>> sets = List.of(
+                EnumSet.of(PlaceCategory.FOOD, PlaceCategory.FUEL),
+                EnumSet.of(PlaceCategory.WC, PlaceCategory.CAFE, PlaceCategory.OTHER),
+                EnumSet.of(PlaceCategory.HOTEL),
+                EnumSet.allOf(PlaceCategory.class)
+        );
+
+        for (Set<PlaceCategory> categories : sets) {
+            for (Double maxDetour : new Double[]{null, 0.5, 2.5}) {
+                List<Place> expected = places.stream()
+                        .filter(p -> p.getCategory() != null && categories.contains(p.getCategory()))
+                        .filter(p -> maxDetour == null || p.getDetourKm() <= maxDetour)
+                        .sorted(PlaceIndex.ORDER)
+                        .toList();
+
+                PlaceIndex.Slice slice = index.sliceAnyOf(categories, maxDetour);
+
+                assertThat(slice.subList(0, slice.size()))
+                        .as("categories=%s maxDetour=%s", categories, maxDetour)
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void categoryCounts_shouldCountEveryCategory_underDetourLimit() {
+        List<Place> places = randomPlaces(500, new Random(5));
+        PlaceIndex index = PlaceIndex.build(places);
+
+        for (Double maxDetour : new Double[]{null, 0.0, 1.0, 100.0}) {
+            Map<PlaceCategory, Integer> counts = index.categoryCounts(maxDetour);
+
+            for (PlaceCategory category : PlaceCategory.values()) {
+                long expected = places.stream()
+                        .filter(p -> p.getCategory() == category)
+                        .filter(p -> maxDetour == null || p.getDetourKm() <= maxDetour)
+                        .count();
+                assertThat(counts.get(category).longValue()).as("%s %s", category, maxDetour).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void positionAfter_shouldContinueStrictlyAfterKey_withDuplicateDetours() {
+        List<Place> places = List.of(
+                place("b", PlaceCategory.CAFE, 1.0),
+                place("a", PlaceCategory.CAFE, 1.0),
+                place(null, PlaceCategory.CAFE, 1.0),
+                place("c", PlaceCategory.CAFE, 0.5),
+                place("d", PlaceCategory.CAFE, 2.0)
+        );
+        PlaceIndex.Slice slice = PlaceIndex.build(places).slice(null, null);
+
+        assertThat(slice.subList(0, slice.size())).extracting(Place::getId)
+                .containsExactly("c", "a", "b", null, "d");
+
+        assertThat(slice.positionAfter(1.0, "a")).isEqualTo(2);
+        assertThat(slice.positionAfter(1.0, null)).isEqualTo(4);
+        // key no longer in the list (entry refreshed) still resolves to the right spot
+        assertThat(slice.positionAfter(0.7, "zzz")).isEqualTo(1);
+        assertThat(slice.positionAfter(9.0, "x")).isEqualTo(5);
+    }
+
+    @Test
+    void window_shouldMatchFullScan_forEveryCategoryAndKmRange() {
+        Random random = new Random(11);
+        List<Place> places = new ArrayList<>();
+        PlaceCategory[] categories = PlaceCategory.values();
+        for (int i = 0; i < 500; i++) {
+            PlaceCategory category = (i % 17 == 0) ? null : categories[random.nextInt(categories.length)];
+            Place place = place("id-" + random.nextInt(10_000), category, 0.0);
+            // whole km -> ties on the window bounds; some markers unknown
+            place.setRouteKm(i % 23 == 0 ? Double.NaN : random.nextInt(300));
+            places.add(place);
+        }
+        PlaceIndex index = PlaceIndex.build(places);
+
+        List<PlaceCategory> withAll = new ArrayList<>(List.of(categories));
+        withAll.add(null);
+
+        for (PlaceCategory category : withAll) {
+            for (double[] range : new double[][]{{0, 50}, {120, 170}, {299, 400}, {-10, -1}, {42, 42}}) {
+                List<Place> expected = places.stream()
+                        .filter(p -> category == null || p.getCategory() == category)
+                        .filter(p -> p.getRouteKm() >= range[0] && p.getRouteKm() <= range[1])
+                        .sorted(PlaceIndex.ROUTE_ORDER)
+                        .toList();
+
+                assertThat(index.window(category, range[0], range[1]))
+                        .as("category=%s range=[%s, %s]", category, range[0], range[1])
+                        .containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    void build_shouldKeepUncategorizedPlacesOnlyInAllSlice() {
+        PlaceIndex index = PlaceIndex.build(List.of(
+                place("1", null, 1.0),
+                place("2", PlaceCategory.FUEL, 2.0)
+        ));
+
+        assertThat(index.slice(null, null).size()).isEqualTo(2);
+        assertThat(index.slice(PlaceCategory.FUEL, null).size()).isEqualTo(1);
+        assertThat(index.slice(PlaceCategory.HOTEL, 10.0).size()).isZero();
+        assertThat(PlaceIndex.build(List.of()).isEmpty()).isTrue();
+    }
+
+    private static List<Place> randomPlaces(int n, Random random) {
+        List<Place> places = new ArrayList<>();
+        PlaceCategory[] categories = PlaceCategory.values();
+        for (int i = 0; i < n; i++) {
+            PlaceCategory category = (i % 17 == 0) ? null : categories[random.nextInt(categories.length)];
+            // coarse detours -> many ties, exercising the id tie-break
+            places.add(place("id-" + random.nextInt(10_000), category, random.nextInt(40) / 10.0));
+        }
+        return places;
+    }
+
+    private static Place place(String id, PlaceCategory category, double detourKm) {
+        return Place.builder()
+                .id(id)
+                .name("Place " + id)
+                .category(category)
+                .latitude(1.0)
+                .longitude(2.0)
+                .detourKm(detourKm)
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.roadify.places.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BaseLoadCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RedisSingleFlightLock redisLock = mock(RedisSingleFlightLock.class);
+    private final SingleFlightProperties properties = new SingleFlightProperties();
+
+    @Test
+    void load_shouldRunLoaderOnce_forConcurrentCallersOfSameKey() throws Exception {
+        BaseLoadCoalescer coalescer = new BaseLoadCoalescer(redisLock, properties, meterRegistry);
+
+        int callers = 8;
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> coalescer.load("route:r1:places:BASE", () -> null, () -> {
+                    loaderCalls.incrementAndGet();
+                    await(release);
+                    return "value";
+                })));
+            }
+
+            // wait until every follower has joined the leader's computation
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (count("local_waiter") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+
+        assertThat(loaderCalls.get()).isEqualTo(1);
+        assertThat(count("leader")).isEqualTo(1.0);
+        assertThat(count("local_waiter")).isEqualTo(callers - 1.0);
+        assertThat(meterRegistry.get("roadify.places.base.load.inflight").gauge().value()).isZero();
+        verifyNoInteractions(redisLock);
+    }
+
+    @Test
+    void load_shouldPropagateFailure_andAllowRetry() {
+        BaseLoadCoalescer coalescer = new BaseLoadCoalescer(redisLock, properties, meterRegistry);
+
+        assertThatThrownBy(() -> coalescer.load("k", () -> null, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // failed computation is not remembered
+        assertThat(coalescer.load("k", () -> null, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void load_shouldServeResultOfOtherInstance_whenRedisLockIsHeld() {
+        properties.setDistributedEnabled(true);
+        properties.setPollInterval(Duration.ofMillis(1));
+        when(redisLock.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisLock.isHeld("k")).thenReturn(true);
+
+        BaseLoadCoalescer coalescer = new BaseLoadCoalescer(redisLock, properties, meterRegistry);
+
+        AtomicInteger probes = new AtomicInteger();
+        String result = coalescer.load(
+                "k",
+                () -> probes.incrementAndGet() >= 3 ? "remote" : null,
+                () -> { throw new AssertionError("loader must not run"); }
+        );
+
+        assertThat(result).isEqualTo("remote");
+        assertThat(count("remote_waiter")).isEqualTo(1.0);
+        verify(redisLock, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void load_shouldComputeLocally_whenLockHolderFinishesWithoutCaching() {
+        properties.setDistributedEnabled(true);
+        properties.setPollInterval(Duration.ofMillis(1));
+        when(redisLock.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+        // holder released the lock but left nothing in the cache (e.g. partial result)
+        when(redisLock.isHeld("k")).thenReturn(false);
+
+        BaseLoadCoalescer coalescer = new BaseLoadCoalescer(redisLock, properties, meterRegistry);
+
+        AtomicInteger loaderCalls = new AtomicInteger();
+        String result = coalescer.load("k", () -> null, () -> {
+            loaderCalls.incrementAndGet();
+            return "local";
+        });
+
+        assertThat(result).isEqualTo("local");
+        assertThat(loaderCalls.get()).isEqualTo(1);
+        assertThat(count("remote_waiter")).isEqualTo(1.0);
+        verify(redisLock).isHeld("k");
+        verify(redisLock, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void load_shouldReleaseRedisLock_afterComputing() {
+        properties.setDistributedEnabled(true);
+        when(redisLock.tryAcquire(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        BaseLoadCoalescer coalescer = new BaseLoadCoalescer(redisLock, properties, meterRegistry);
+
+        assertThat(coalescer.load("k", () -> null, () -> "computed")).isEqualTo("computed");
+        verify(redisLock).release(eq("k"), anyString());
+    }
+
+    @Test
+    void refreshInBackground_shouldStartOnlyOneRefreshPerKey() throws Exception {
+        BaseLoadCoalescer coalescer = new BaseLoadCoalescer(redisLock, properties, meterRegistry);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+
+        Runnable refresher = () -> {
+            refreshes.incrementAndGet();
+            await(release);
+            done.countDown();
+        };
+
+        assertThat(coalescer.refreshInBackground("k", refresher)).isTrue();
+        assertThat(coalescer.refreshInBackground("k", refresher)).isFalse();
+        assertThat(coalescer.refreshInBackground("k", refresher)).isFalse();
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        coalescer.shutdown();
+
+        assertThat(refreshes.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("roadify.places.base.refresh").tag("result", "started").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("roadify.places.base.refresh").tag("result", "deduplicated").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    private double count(String role) {
+        return meterRegistry.get("roadify.places.base.load").tag("role", role).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
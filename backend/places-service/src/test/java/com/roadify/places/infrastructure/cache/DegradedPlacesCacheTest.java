@@ -0,0 +1,88 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DegradedPlacesCacheTest {
+
+    private static final String KEY = "route:r1:places:BASE";
+    private static final String REDIS_KEY = KEY + ":degraded";
+
+    @Mock
+    private RedisTemplate<String, DegradedPlaces> degradedPlacesRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, DegradedPlaces> valueOperations;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final BaseCacheProperties properties = new BaseCacheProperties();
+
+    private DegradedPlacesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(degradedPlacesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        cache = new DegradedPlacesCache(
+                degradedPlacesRedisTemplate, stringRedisTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void get_shouldBuildIndexOnce_andServeSecondReadFromL1() {
+        when(valueOperations.get(REDIS_KEY)).thenReturn(new DegradedPlaces(new Place[]{place("p1")}, 5));
+        when(degradedPlacesRedisTemplate.getExpire(eq(REDIS_KEY), any(TimeUnit.class))).thenReturn(60_000L);
+
+        CachedDegradedPlaces first = cache.get(KEY);
+        CachedDegradedPlaces second = cache.get(KEY);
+
+        assertThat(first.index().places()).extracting(Place::getId).containsExactly("p1");
+        assertThat(first.providerBits()).isEqualTo(5);
+        assertThat(second.index()).isSameAs(first.index());
+        verify(valueOperations, times(1)).get(REDIS_KEY);
+    }
+
+    @Test
+    void pendingRepairs_shouldReadTargetsFromRedis_soOtherInstancesCanRepair() {
+        when(hashOperations.entries(properties.getDegradedRepairKey())).thenReturn(Map.of(KEY, "r1|"));
+
+        assertThat(cache.pendingRepairs()).containsExactly(Map.entry(KEY, "r1|"));
+
+        cache.repaired(KEY);
+        verify(hashOperations).delete(properties.getDegradedRepairKey(), KEY);
+    }
+
+    private static Place place(String id) {
+        return Place.builder()
+                .id(id)
+                .name("Place " + id)
+                .category(PlaceCategory.CAFE)
+                .latitude(1.0)
+                .longitude(2.0)
+                .detourKm(0.0)
+                .build();
+    }
+}
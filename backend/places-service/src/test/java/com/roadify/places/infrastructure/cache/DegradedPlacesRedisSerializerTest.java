@@ -0,0 +1,40 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DegradedPlacesRedisSerializerTest {
+
+    private final DegradedPlacesRedisSerializer serializer =
+            new DegradedPlacesRedisSerializer(new PlaceArrayRedisSerializer(true, false, 0));
+
+    @Test
+    void roundTrip_shouldKeepPlacesAndProviderBits() {
+        Place[] places = {
+                Place.builder().id("Geoapify:1").name("Cafe").category(PlaceCategory.CAFE)
+                        .latitude(36.9).longitude(30.7).detourKm(0.4).routeKm(12.0).build(),
+                Place.builder().id("Geoapify:2").category(PlaceCategory.FUEL)
+                        .latitude(36.95).longitude(30.75).rating(4.0).detourKm(1.2).routeKm(20.5)
+                        .mergedIds(List.of("Overpass:9")).build()
+        };
+
+        DegradedPlaces back = serializer.deserialize(serializer.serialize(new DegradedPlaces(places, 0x61)));
+
+        assertThat(back.providerBits()).isEqualTo(0x61);
+        assertThat(List.of(back.places())).containsExactly(places);
+    }
+
+    @Test
+    void deserialize_shouldRejectPlainPlaceLists() {
+        byte[] plain = new PlaceArrayRedisSerializer(true, false, 0).serialize(new Place[0]);
+
+        assertThatThrownBy(() -> serializer.deserialize(plain)).isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,171 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlaceArrayRedisSerializerTest {
+
+    @Test
+    void roundTrip_shouldPreserveAllFields_includingNulls() {
+        PlaceArrayRedisSerializer serializer = new PlaceArrayRedisSerializer(true, false, 0);
+        Place[] places = samplePlaces(50);
+
+        Place[] back = serializer.deserialize(serializer.serialize(places));
+
+        assertThat(back).containsExactly(places);
+    }
+
+    @Test
+    void deserialize_shouldReadLegacyJsonWithoutRouteKm_asUnknown() {
+        byte[] json = "[{\"id\":\"Overpass:1\",\"category\":\"FUEL\",\"latitude\":36.9,\"longitude\":30.7,\"detourKm\":1.5}]"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Place[] back = new PlaceArrayRedisSerializer(true, false, 0).deserialize(json);
+
+        assertThat(back[0].getDetourKm()).isEqualTo(1.5);
+        assertThat(back[0].getRouteKm()).isNaN();
+        assertThat(Place.builder().build().getRouteKm()).isNaN();
+    }
+
+    @Test
+    void roundTrip_shouldWorkWithCompression() {
+        PlaceArrayRedisSerializer serializer = new PlaceArrayRedisSerializer(true, true, 0);
+        Place[] places = samplePlaces(200);
+
+        byte[] bytes = serializer.serialize(places);
+
+        assertThat(bytes[3] & PlaceArrayRedisSerializer.FLAG_DEFLATE).isNotZero();
+        assertThat(serializer.deserialize(bytes)).containsExactly(places);
+    }
+
+    @Test
+    void serialize_shouldBeSeveralTimesSmallerThanJson() {
+        Place[] places = samplePlaces(500);
+
+        byte[] binary = new PlaceArrayRedisSerializer(true, false, 0).serialize(places);
+        byte[] json = new Jackson2JsonRedisSerializer<>(Place[].class).serialize(places);
+
+        assertThat(binary.length * 3).isLessThan(json.length);
+    }
+
+    @Test
+    void deserialize_shouldReadLegacyJsonEntries() {
+        Place[] places = samplePlaces(10);
+        byte[] json = new Jackson2JsonRedisSerializer<>(Place[].class).serialize(places);
+
+        Place[] back = new PlaceArrayRedisSerializer(true, true, 0).deserialize(json);
+
+        assertThat(back).containsExactly(places);
+    }
+
+    @Test
+    void serialize_shouldWriteJson_whenBinaryDisabled() {
+        Place[] places = samplePlaces(3);
+
+        byte[] bytes = new PlaceArrayRedisSerializer(false, false, 0).serialize(places);
+
+        assertThat(PlaceArrayRedisSerializer.isBinary(bytes)).isFalse();
+        assertThat(new Jackson2JsonRedisSerializer<>(Place[].class).deserialize(bytes)).containsExactly(places);
+    }
+
+    @Test
+    void deserialize_shouldHandleEmptyInputs() {
+        PlaceArrayRedisSerializer serializer = new PlaceArrayRedisSerializer(true, false, 0);
+
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.deserialize(serializer.serialize(new Place[0]))).isEmpty();
+    }
+
+    @Test
+    void serialize_shouldReturnNull_forNullValue() {
+        assertThat(new PlaceArrayRedisSerializer(true, false, 0).serialize(null)).isNull();
+        assertThat(new PlaceArrayRedisSerializer(false, false, 0).serialize(null)).isNull();
+    }
+
+    @Test
+    void deserialize_shouldRejectUnknownVersion() {
+        byte[] bytes = {PlaceArrayRedisSerializer.MAGIC_0, PlaceArrayRedisSerializer.MAGIC_1, 99, 0, 0};
+
+        assertThatThrownBy(() -> new PlaceArrayRedisSerializer(true, false, 0).deserialize(bytes))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void deserialize_shouldReadVersion1Entries_withUnknownRouteKm() throws IOException {
+        // header + one FUEL place without name/id, as written before routeKm existed
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[]{PlaceArrayRedisSerializer.MAGIC_0, PlaceArrayRedisSerializer.MAGIC_1, 1, 0});
+        out.write(new byte[]{1, 1, 4});
+        out.write("FUEL".getBytes(StandardCharsets.UTF_8));
+        out.write(new byte[]{1, 0, 0, 0, 0});
+        out.writeDouble(36.9);
+        out.writeDouble(30.7);
+        out.writeDouble(1.5);
+        out.write(0);
+
+        Place[] back = new PlaceArrayRedisSerializer(true, false, 0).deserialize(bytes.toByteArray());
+
+        assertThat(back).hasSize(1);
+        assertThat(back[0].getCategory()).isEqualTo(PlaceCategory.FUEL);
+        assertThat(back[0].getDetourKm()).isEqualTo(1.5);
+        assertThat(back[0].getRouteKm()).isNaN();
+    }
+
+    @Test
+    void deserialize_shouldReadVersion2Entries_withoutMergedIds() throws IOException {
+        // same place as above plus routeKm, as written before merged ids existed
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[]{PlaceArrayRedisSerializer.MAGIC_0, PlaceArrayRedisSerializer.MAGIC_1, 2, 0});
+        out.write(new byte[]{1, 1, 4});
+        out.write("FUEL".getBytes(StandardCharsets.UTF_8));
+        out.write(new byte[]{1, 0, 0, 0, 0});
+        out.writeDouble(36.9);
+        out.writeDouble(30.7);
+        out.writeDouble(1.5);
+        out.writeDouble(42.0);
+        out.write(0);
+
+        Place[] back = new PlaceArrayRedisSerializer(true, false, 0).deserialize(bytes.toByteArray());
+
+        assertThat(back).hasSize(1);
+        assertThat(back[0].getRouteKm()).isEqualTo(42.0);
+        assertThat(back[0].getMergedIds()).isNull();
+    }
+
+    private static Place[] samplePlaces(int n) {
+        Random random = new Random(42);
+        String[] names = {"Shell", "Starbucks", "BP", "Migros", null, "Köfteci Ramiz"};
+
+        Place[] places = new Place[n];
+        for (int i = 0; i < n; i++) {
+            places[i] = Place.builder()
+                    .id(i % 9 == 0 ? null : (i % 2 == 0 ? "Geoapify:" : "Overpass:") + (100_000 + random.nextInt(900_000)))
+                    .name(i % 4 == 0 ? "Unique " + i : names[random.nextInt(names.length)])
+                    .category(i % 13 == 0 ? null : PlaceCategory.values()[random.nextInt(PlaceCategory.values().length)])
+                    .latitude(36 + random.nextDouble())
+                    .longitude(30 + random.nextDouble())
+                    .rating(random.nextBoolean() ? null : random.nextDouble() * 5)
+                    .detourKm(random.nextDouble() * 10)
+                    .routeKm(i % 11 == 0 ? Double.NaN : random.nextDouble() * 500)
+                    .mergedIds(i % 7 == 0 ? List.of("Overpass:" + (100_000 + random.nextInt(900_000))) : null)
+                    .build();
+        }
+        return places;
+    }
+}
@@ -0,0 +1,149 @@
+package com.roadify.places.infrastructure.cache;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.domain.PlaceIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlacesBaseCacheTest {
+
+    private static final String KEY = "route:r1:places:BASE";
+
+    @Mock
+    private RedisTemplate<String, Place[]> placesRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, Place[]> valueOperations;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BaseCacheProperties properties = new BaseCacheProperties();
+
+    private PlacesBaseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(placesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new PlacesBaseCache(placesRedisTemplate, stringRedisTemplate, properties, meterRegistry);
+    }
+
+    @Test
+    void get_shouldServeSecondReadFromL1_withoutRedis() {
+        when(valueOperations.get(KEY)).thenReturn(new Place[]{place("p1")});
+        when(placesRedisTemplate.getExpire(eq(KEY), any(TimeUnit.class))).thenReturn(60_000L);
+
+        CachedPlaces first = cache.get(KEY);
+        CachedPlaces second = cache.get(KEY);
+
+        assertThat(first.index().places()).extracting(Place::getId).containsExactly("p1");
+        assertThat(second.index()).isSameAs(first.index());
+        assertThat(second.remainingTtlMillis()).isBetween(0L, 60_000L);
+
+        verify(valueOperations, times(1)).get(KEY);
+        assertThat(count("l1", "hit")).isEqualTo(1.0);
+        assertThat(count("l1", "miss")).isEqualTo(1.0);
+        assertThat(count("redis", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_shouldReturnNull_whenBothTiersMiss() {
+        when(valueOperations.get(KEY)).thenReturn(null);
+
+        assertThat(cache.get(KEY)).isNull();
+        assertThat(count("redis", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void put_shouldWriteRedisAndL1_andPublishInvalidation() {
+        cache.put(KEY, PlaceIndex.build(List.of(place("p1"), place("p2"))), Duration.ofMinutes(10));
+
+        verify(valueOperations).set(eq(KEY), any(Place[].class), eq(Duration.ofMinutes(10)));
+        verify(stringRedisTemplate).convertAndSend(eq(properties.getInvalidationChannel()), anyString());
+
+        // served from L1, no Redis GET
+        assertThat(cache.get(KEY).index().size()).isEqualTo(2);
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void onMessage_shouldEvictL1_onlyForOtherInstances() {
+        cache.put(KEY, PlaceIndex.build(List.of(place("p1"))), Duration.ofMinutes(10));
+
+        ArgumentCaptor<String> ownMessage = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(anyString(), ownMessage.capture());
+
+        // own message is ignored -> still an L1 hit
+        cache.onMessage(message(ownMessage.getValue()), null);
+        assertThat(cache.get(KEY)).isNotNull();
+        verify(valueOperations, never()).get(anyString());
+
+        // other instance rewrote the key -> L1 dropped, next read goes to Redis
+        cache.onMessage(message("other-instance|" + KEY), null);
+        when(valueOperations.get(KEY)).thenReturn(null);
+
+        assertThat(cache.get(KEY)).isNull();
+        verify(valueOperations).get(KEY);
+    }
+
+    @Test
+    void get_shouldAlwaysUseRedis_whenL1Disabled() {
+        properties.setL1Enabled(false);
+        cache = new PlacesBaseCache(placesRedisTemplate, stringRedisTemplate, properties, new SimpleMeterRegistry());
+        when(valueOperations.get(KEY)).thenReturn(new Place[]{place("p1")});
+
+        cache.get(KEY);
+        cache.get(KEY);
+
+        verify(valueOperations, times(2)).get(KEY);
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("roadify.places.base.cache")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                "roadify:places:base:invalidate".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    private static Place place(String id) {
+        return Place.builder()
+                .id(id)
+                .name("Place " + id)
+                .category(PlaceCategory.CAFE)
+                .latitude(1.0)
+                .longitude(2.0)
+                .detourKm(0.0)
+                .build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.roadify.places.infrastructure.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DetourBatchCalculatorTest {
+
+    @Test
+    void vectorKernel_shouldPickSameSegmentAsScalarKernel() {
+        SegmentDistanceKernel vector = SegmentDistanceKernels.PREFERRED;
+        assumeTrue(vector != ScalarSegmentDistanceKernel.INSTANCE, "Vector API not available");
+
+        Random random = new Random(7);
+        for (int r = 0; r < 200; r++) {
+            // odd sizes too, so the scalar tail after the last full vector is exercised
+            PackedPolyline route = randomWalkRoute(random, 2 + random.nextInt(300));
+            double[] xs = new double[route.size()];
+            double[] ys = new double[route.size()];
+
+            for (int i = 0; i < 100; i++) {
+                double lat = 36.5 + random.nextDouble() * 1.5;
+                double lon = 30.0 + random.nextDouble() * 2.0;
+                if (i % 10 == 0) {
+                    // exactly on a vertex: zero-length offsets and ties between neighbouring segments
+                    int v = random.nextInt(route.size());
+                    lat = route.lat(v);
+                    lon = route.lon(v);
+                }
+
+                int expected = ScalarSegmentDistanceKernel.INSTANCE.nearestSegment(
+                        lat, lon, route.latArray(), route.lonArray(), xs, ys);
+                int actual = vector.nearestSegment(
+                        lat, lon, route.latArray(), route.lonArray(), xs, ys);
+
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void computeDetourKm_shouldMatchSinglePlaceApi_forShortRoutes() {
+        Random random = new Random(11);
+        PackedPolyline route = randomWalkRoute(random, 120);
+        double[][] places = randomPlaces(random, 3_000);
+
+        for (SegmentDistanceKernel kernel : new SegmentDistanceKernel[]{
+                ScalarSegmentDistanceKernel.INSTANCE, SegmentDistanceKernels.PREFERRED}) {
+            double[] detours = DetourBatchCalculator.computeDetourKm(
+                    places[0], places[1], route, SegmentGridIndex.build(route), null, kernel, ForkJoinPool.commonPool());
+
+            for (int i = 0; i < detours.length; i++) {
+                assertThat(detours[i])
+                        .isEqualTo(DetourCalculator.computeDetourKm(places[0][i], places[1][i], route));
+            }
+        }
+    }
+
+    @Test
+    void computeDetourKm_shouldMatchSinglePlaceApi_whenSplitAcrossWorkers() {
+        Random random = new Random(42);
+        PackedPolyline route = randomWalkRoute(random, 3_000);
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+        double[][] places = randomPlaces(random, 5_000);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // long route -> grid lookups, without index -> full scans; both large enough to fork
+            double[] viaIndex = DetourBatchCalculator.computeDetourKm(
+                    places[0], places[1], route, index, null, SegmentDistanceKernels.PREFERRED, pool);
+            double[] viaScan = DetourBatchCalculator.computeDetourKm(
+                    places[0], places[1], route, null, null, SegmentDistanceKernels.PREFERRED, pool);
+
+            for (int i = 0; i < viaIndex.length; i++) {
+                double expected = DetourCalculator.computeDetourKm(places[0][i], places[1][i], route);
+                assertThat(viaIndex[i]).isEqualTo(expected);
+                assertThat(viaScan[i]).isEqualTo(expected);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void computeDetourKm_shouldFillRouteKmMarkers_fromTheSameClosestSegment() {
+        Random random = new Random(3);
+        double[][] places = randomPlaces(random, 2_000);
+
+        // short route -> kernel scan, long route -> grid lookup
+        for (int points : new int[]{200, 3_000}) {
+            PackedPolyline route = randomWalkRoute(random, points);
+            SegmentGridIndex index = SegmentGridIndex.build(route);
+            double[] routeKm = new double[places[0].length];
+
+            double[] detours = DetourBatchCalculator.computeDetourKm(places[0], places[1], route, index, routeKm);
+
+            for (int i = 0; i < detours.length; i++) {
+                assertThat(detours[i])
+                        .isEqualTo(DetourCalculator.computeDetourKm(places[0][i], places[1][i], route));
+                assertThat(routeKm[i])
+                        .isCloseTo(index.snapToRouteKm(places[0][i], places[1][i]), within(1e-9))
+                        .isBetween(0.0, index.totalKm());
+            }
+        }
+    }
+
+    @Test
+    void computeDetourKm_shouldWriteFirstCountEntries_intoCallerColumns() {
+        Random random = new Random(5);
+        double[][] places = randomPlaces(random, 600);
+        PackedPolyline route = randomWalkRoute(random, 400);
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+
+        double[] expectedRouteKm = new double[places[0].length];
+        double[] expected = DetourBatchCalculator.computeDetourKm(places[0], places[1], route, index, expectedRouteKm);
+
+        // columns with spare capacity: the tail must stay untouched
+        int count = 500;
+        double[] detours = new double[places[0].length];
+        double[] routeKm = new double[places[0].length];
+        Arrays.fill(detours, -1.0);
+        Arrays.fill(routeKm, -1.0);
+
+        DetourBatchCalculator.computeDetourKm(places[0], places[1], count, route, index, detours, routeKm);
+
+        for (int i = 0; i < places[0].length; i++) {
+            assertThat(detours[i]).isEqualTo(i < count ? expected[i] : -1.0);
+            assertThat(routeKm[i]).isEqualTo(i < count ? expectedRouteKm[i] : -1.0);
+        }
+    }
+
+    @Test
+    void computeDetourKm_shouldReturnZeros_forDegenerateRoutes() {
+        double[] lats = {36.9, 37.0};
+        double[] lons = {30.7, 30.8};
+
+        assertThat(DetourBatchCalculator.computeDetourKm(lats, lons, PackedPolyline.EMPTY, null))
+                .containsExactly(0.0, 0.0);
+        assertThat(DetourBatchCalculator.computeDetourKm(lats, lons,
+                PackedPolyline.of(new double[]{36.9}, new double[]{30.7}), null))
+                .containsExactly(0.0, 0.0);
+        assertThat(DetourBatchCalculator.computeDetourKm(new double[0], new double[0], PackedPolyline.EMPTY, null))
+                .isEmpty();
+    }
+
+    @Test
+    void computeDetourKm_shouldLeaveRouteKmUnknown_withoutRouteOrIndex() {
+        double[] lats = {36.9, 37.0};
+        double[] lons = {30.7, 30.8};
+        PackedPolyline route = PackedPolyline.of(new double[]{36.9, 37.0}, new double[]{30.7, 30.8});
+
+        double[] noRoute = {1.0, 2.0};
+        DetourBatchCalculator.computeDetourKm(lats, lons, PackedPolyline.EMPTY, null, noRoute);
+        double[] noIndex = {1.0, 2.0};
+        DetourBatchCalculator.computeDetourKm(lats, lons, route, null, noIndex);
+
+        assertThat(noRoute).containsExactly(Double.NaN, Double.NaN);
+        assertThat(noIndex).containsExactly(Double.NaN, Double.NaN);
+    }
+
+    @Test
+    void computeDetourKm_shouldRejectMismatchedArrays() {
+        assertThatThrownBy(() -> DetourBatchCalculator.computeDetourKm(
+                new double[2], new double[1], PackedPolyline.EMPTY, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private double[][] randomPlaces(Random random, int count) {
+        double[] lats = new double[count];
+        double[] lons = new double[count];
+        for (int i = 0; i < count; i++) {
+            lats[i] = 36.5 + random.nextDouble() * 1.5;
+            lons[i] = 30.0 + random.nextDouble() * 2.0;
+        }
+        return new double[][]{lats, lons};
+    }
+
+    private PackedPolyline randomWalkRoute(Random random, int points) {
+        PackedPolyline.Builder route = PackedPolyline.builder(points);
+        double lat = 36.8;
+        double lon = 30.3;
+        for (int i = 0; i < points; i++) {
+            route.add(lat, lon);
+            lat += (random.nextDouble() - 0.3) * 0.002;
+            lon += (random.nextDouble() - 0.3) * 0.002;
+        }
+        return route.build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.roadify.places.infrastructure.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PolylineDecoderTest {
+
+    @Test
+    void decode_shouldReturnPackedCoordinates_forReferencePolyline() {
+        // Reference example from the encoded polyline algorithm documentation
+        PackedPolyline polyline = PolylineDecoder.decode("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+
+        assertThat(polyline.size()).isEqualTo(3);
+        assertThat(polyline.lat(0)).isEqualTo(38.5);
+        assertThat(polyline.lon(0)).isEqualTo(-120.2);
+        assertThat(polyline.lat(1)).isEqualTo(40.7);
+        assertThat(polyline.lon(1)).isEqualTo(-120.95);
+        assertThat(polyline.lat(2)).isEqualTo(43.252);
+        assertThat(polyline.lon(2)).isEqualTo(-126.453);
+    }
+
+    @Test
+    void decode_shouldReturnEmpty_forBlankOrTruncatedInput() {
+        assertThat(PolylineDecoder.decode(null).isEmpty()).isTrue();
+        assertThat(PolylineDecoder.decode("  ").isEmpty()).isTrue();
+
+        // second vertex cut in the middle -> only the complete first vertex is kept
+        assertThat(PolylineDecoder.decode("_p~iF~ps|U_ulL").size()).isEqualTo(1);
+    }
+}
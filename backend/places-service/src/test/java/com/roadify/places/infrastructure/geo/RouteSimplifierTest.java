@@ -0,0 +1,82 @@
+package com.roadify.places.infrastructure.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteSimplifierTest {
+
+    @Test
+    void simplify_shouldKeepEveryOriginalVertexWithinTolerance() {
+        PackedPolyline route = randomWalkRoute(new Random(7), 5_000);
+
+        SimplificationResult result = RouteSimplifier.simplify(route, 25.0);
+        PackedPolyline simplified = result.polyline();
+
+        assertThat(result.originalVertexCount()).isEqualTo(5_000);
+        assertThat(simplified.size()).isLessThan(route.size());
+        assertThat(result.reductionRatio()).isGreaterThan(0.5);
+        assertThat(result.maxErrorMeters()).isLessThanOrEqualTo(25.0);
+
+        // endpoints are preserved
+        assertThat(simplified.lat(0)).isEqualTo(route.lat(0));
+        assertThat(simplified.lat(simplified.size() - 1)).isEqualTo(route.lat(route.size() - 1));
+
+        double worstMeters = 0.0;
+        for (int i = 0; i < route.size(); i++) {
+            double minKm = Double.POSITIVE_INFINITY;
+            for (int s = 0; s < simplified.size() - 1; s++) {
+                minKm = Math.min(minKm, DetourCalculator.distancePointToSegmentKm(
+                        route.lat(i), route.lon(i),
+                        simplified.lat(s), simplified.lon(s),
+                        simplified.lat(s + 1), simplified.lon(s + 1)));
+            }
+            worstMeters = Math.max(worstMeters, minKm * 1000.0);
+        }
+        assertThat(worstMeters).isLessThanOrEqualTo(result.maxErrorMeters() + 1e-9);
+    }
+
+    @Test
+    void simplify_shouldDropCollinearVertices() {
+        PackedPolyline straight = PackedPolyline.of(
+                new double[]{36.90, 36.91, 36.92, 36.93},
+                new double[]{30.70, 30.70, 30.70, 30.70}
+        );
+
+        SimplificationResult result = RouteSimplifier.simplify(straight, 1.0);
+
+        assertThat(result.polyline().size()).isEqualTo(2);
+        assertThat(result.reductionRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void simplify_shouldReturnInputUnchanged_whenToleranceIsZero() {
+        PackedPolyline route = randomWalkRoute(new Random(3), 100);
+
+        SimplificationResult result = RouteSimplifier.simplify(route, 0.0);
+
+        assertThat(result.polyline()).isSameAs(route);
+        assertThat(result.maxErrorMeters()).isEqualTo(0.0);
+    }
+
+    @Test
+    void encode_shouldRoundTripThroughDecoder() {
+        PackedPolyline route = PolylineDecoder.decode("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+
+        assertThat(PolylineEncoder.encode(route)).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    private PackedPolyline randomWalkRoute(Random random, int points) {
+        PackedPolyline.Builder route = PackedPolyline.builder(points);
+        double lat = 36.8;
+        double lon = 30.3;
+        for (int i = 0; i < points; i++) {
+            route.add(lat, lon);
+            lat += (random.nextDouble() - 0.3) * 0.0005;
+            lon += (random.nextDouble() - 0.3) * 0.0005;
+        }
+        return route.build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.roadify.places.infrastructure.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SegmentGridIndexTest {
+
+    @Test
+    void nearestSegmentDistance_shouldMatchFullScan_forRandomRouteAndPlaces() {
+        Random random = new Random(42);
+        PackedPolyline route = randomWalkRoute(random, 2_000);
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+
+        for (int i = 0; i < 5_000; i++) {
+            double lat = 36.5 + random.nextDouble() * 1.5;
+            double lon = 30.0 + random.nextDouble() * 2.0;
+
+            double expected = Double.POSITIVE_INFINITY;
+            for (int s = 0; s < route.size() - 1; s++) {
+                expected = Math.min(expected, DetourCalculator.distancePointToSegmentKm(
+                        lat, lon, route.lat(s), route.lon(s), route.lat(s + 1), route.lon(s + 1)));
+            }
+
+            assertThat(index.nearestSegmentDistanceKm(lat, lon)).isEqualTo(expected);
+            assertThat(DetourCalculator.computeDetourKm(lat, lon, index))
+                    .isEqualTo(DetourCalculator.computeDetourKm(lat, lon, route));
+        }
+    }
+
+    @Test
+    void nearestSegmentDistance_shouldHandlePlacesFarOutsideTheGrid() {
+        PackedPolyline route = PackedPolyline.of(
+                new double[]{36.90, 36.91, 36.92},
+                new double[]{30.70, 30.71, 30.70}
+        );
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+
+        assertThat(DetourCalculator.computeDetourKm(41.0, 29.0, index))
+                .isEqualTo(DetourCalculator.computeDetourKm(41.0, 29.0, route));
+    }
+
+    @Test
+    void snapToRouteKm_shouldFollowCumulativeRouteLength() {
+        // straight east-west line on the equator, 3 x 0.01 deg (~1.112 km each)
+        PackedPolyline route = PackedPolyline.of(
+                new double[]{0.0, 0.0, 0.0, 0.0},
+                new double[]{30.00, 30.01, 30.02, 30.03}
+        );
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+        double segmentKm = Math.toRadians(0.01) * 6371.0;
+
+        assertThat(index.totalKm()).isCloseTo(3 * segmentKm, within(1e-9));
+        assertThat(index.snapToRouteKm(0.0, 30.00)).isCloseTo(0.0, within(1e-9));
+        assertThat(index.snapToRouteKm(0.0, 30.02)).isCloseTo(2 * segmentKm, within(1e-9));
+        // off the line: projected onto it, before the start / after the end clamped to the ends
+        assertThat(index.snapToRouteKm(0.005, 30.015)).isCloseTo(1.5 * segmentKm, within(1e-6));
+        assertThat(index.snapToRouteKm(0.0, 29.9)).isCloseTo(0.0, within(1e-9));
+        assertThat(index.snapToRouteKm(0.0, 30.5)).isCloseTo(3 * segmentKm, within(1e-9));
+    }
+
+    @Test
+    void snapToRouteKm_shouldReturnNaN_whenFartherThanMaxDistance() {
+        PackedPolyline route = PackedPolyline.of(
+                new double[]{0.0, 0.0},
+                new double[]{30.00, 30.01}
+        );
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+
+        // ~0.556 km north of the line
+        assertThat(index.snapToRouteKm(0.005, 30.005, 1.0)).isCloseTo(index.snapToRouteKm(0.005, 30.005), within(1e-9));
+        assertThat(index.snapToRouteKm(0.005, 30.005, 0.5)).isNaN();
+        // past the end: distance to the end vertex counts, not the clamped projection
+        assertThat(index.snapToRouteKm(0.0, 30.5, 2.0)).isNaN();
+    }
+
+    @Test
+    void nearestSegment_shouldPointAtTheSegmentOfTheReportedDistance() {
+        Random random = new Random(5);
+        PackedPolyline route = randomWalkRoute(random, 1_000);
+        SegmentGridIndex index = SegmentGridIndex.build(route);
+
+        for (int i = 0; i < 1_000; i++) {
+            double lat = 36.5 + random.nextDouble() * 1.5;
+            double lon = 30.0 + random.nextDouble() * 2.0;
+
+            int s = index.nearestSegment(lat, lon);
+            assertThat(DetourCalculator.distancePointToSegmentKm(
+                    lat, lon, route.lat(s), route.lon(s), route.lat(s + 1), route.lon(s + 1)))
+                    .isEqualTo(index.nearestSegmentDistanceKm(lat, lon));
+        }
+        assertThat(index.nearestSegment(Double.NaN, 30.0)).isEqualTo(-1);
+        assertThat(Double.isNaN(SegmentGridIndex.build(PackedPolyline.EMPTY).snapToRouteKm(36.9, 30.7))).isTrue();
+    }
+
+    @Test
+    void build_shouldReturnEmptyIndex_forDegenerateRoutes() {
+        assertThat(SegmentGridIndex.build(null).isEmpty()).isTrue();
+        assertThat(SegmentGridIndex.build(PackedPolyline.of(new double[]{1.0}, new double[]{2.0})).isEmpty()).isTrue();
+        assertThat(DetourCalculator.computeDetourKm(1.0, 2.0, SegmentGridIndex.build(PackedPolyline.EMPTY))).isEqualTo(0.0);
+    }
+
+    private PackedPolyline randomWalkRoute(Random random, int points) {
+        PackedPolyline.Builder route = PackedPolyline.builder(points);
+        double lat = 36.8;
+        double lon = 30.3;
+        for (int i = 0; i < points; i++) {
+            route.add(lat, lon);
+            lat += (random.nextDouble() - 0.3) * 0.002;
+            lon += (random.nextDouble() - 0.3) * 0.002;
+        }
+        return route.build();
+    }
+}
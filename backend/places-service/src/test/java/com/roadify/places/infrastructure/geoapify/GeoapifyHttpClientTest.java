@@ -0,0 +1,87 @@
+package com.roadify.places.infrastructure.geoapify;
+
+import com.roadify.places.application.ProviderFetchException;
+import com.roadify.places.application.TruncatedResultException;
+import com.roadify.places.infrastructure.tile.GeoTile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoapifyHttpClientTest {
+
+    private static final String THREE_FEATURES = """
+            {"type": "FeatureCollection", "features": [
+              {"properties": {"place_id": "a", "name": "A", "lat": 1, "lon": 2}, "geometry": {"coordinates": [2, 1]}},
+              {"properties": {"place_id": "b", "name": "B", "lat": 1, "lon": 2}, "geometry": {"coordinates": [2, 1]}},
+              {"properties": {"place_id": "c", "name": "C", "lat": 1, "lon": 2}, "geometry": {"coordinates": [2, 1]}}
+            ]}
+            """;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fetchPlaces_shouldThrow_whenApiFails() {
+        GeoapifyHttpClient client = new GeoapifyHttpClient(
+                webClient(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build(), new AtomicReference<>()),
+                properties(200), meterRegistry);
+
+        // an empty list would be cached as a complete BASE list
+        assertThatThrownBy(() -> client.fetchPlaces("GEOMETRY", null))
+                .isInstanceOf(ProviderFetchException.class);
+    }
+
+    @Test
+    void fetchPlacesInTile_shouldReportCutOff_whenMorePlacesThanMaxResults() {
+        AtomicReference<String> query = new AtomicReference<>();
+        GeoapifyHttpClient client = new GeoapifyHttpClient(webClient(json(THREE_FEATURES), query), properties(2), meterRegistry);
+
+        assertThatThrownBy(() -> client.fetchPlacesInTile(new GeoTile("sxk9", 36.5, 30.5, 36.6, 30.6), null))
+                .isInstanceOfSatisfying(TruncatedResultException.class,
+                        e -> assertThat(e.getPlaces()).hasSize(2));
+        assertThat(query.get()).contains("limit=3");
+        assertThat(meterRegistry.get("roadify.places.provider.truncated").tag("provider", "geoapify").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void fetchPlacesInTile_shouldReturnAll_whenExactlyMaxResults() {
+        GeoapifyHttpClient client = new GeoapifyHttpClient(
+                webClient(json(THREE_FEATURES), new AtomicReference<>()), properties(3), meterRegistry);
+
+        assertThat(client.fetchPlacesInTile(new GeoTile("sxk9", 36.5, 30.5, 36.6, 30.6), null)).hasSize(3);
+    }
+
+    private static WebClient webClient(ClientResponse response, AtomicReference<String> query) {
+        return WebClient.builder()
+                .baseUrl("http://geoapify.test")
+                .exchangeFunction(request -> {
+                    query.set(request.url().getQuery());
+                    return Mono.just(response);
+                })
+                .build();
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static GeoapifyProperties properties(int maxResults) {
+        GeoapifyProperties properties = new GeoapifyProperties();
+        properties.setApiKey("test-key");
+        properties.setMaxResults(maxResults);
+        return properties;
+    }
+}
@@ -0,0 +1,77 @@
+package com.roadify.places.infrastructure.overpass;
+
+import com.roadify.places.domain.PlaceCategory;
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import com.roadify.places.infrastructure.provider.SimplePlaceNormalizer;
+import com.roadify.places.infrastructure.tile.GeoTile;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OverpassQueryBuilderTest {
+
+    private static final Set<PlaceCategory> ALL = EnumSet.complementOf(EnumSet.of(PlaceCategory.OTHER));
+
+    @Test
+    void categoryTags_shouldMapBackToTheirCategory() {
+        SimplePlaceNormalizer normalizer = new SimplePlaceNormalizer();
+
+        for (PlaceCategory category : ALL) {
+            var tags = OverpassCategoryTags.tagsOf(category);
+            assertThat(tags).as("category=%s", category).isNotEmpty();
+
+            tags.forEach((key, values) -> values.forEach(value -> {
+                // same format OverpassStreamingDecoder uses for categoryTag
+                String categoryTag = key.equals(OverpassCategoryTags.AMENITY) ? value : key + "." + value;
+                assertThat(normalizer.mapCategory(categoryTag))
+                        .as("%s=%s", key, value)
+                        .isEqualTo(category);
+            }));
+        }
+    }
+
+    @Test
+    void aroundQuery_shouldBuildSingleUnionWithTrimmedOutput() {
+        PackedPolyline route = PackedPolyline.of(
+                new double[]{36.884804, 36.9, 37.0},
+                new double[]{30.704044, 30.8, 31.0}
+        );
+
+        String query = OverpassQueryBuilder.aroundQuery(route, 1999.2, ALL, 25);
+
+        assertThat(query).startsWith("[out:json][timeout:25];");
+        assertThat(query).contains("(around:2000,36.88480,30.70404,36.90000,30.80000,37.00000,31.00000)");
+        // one clause per OSM key, all joined in one union
+        assertThat(query.split("nwr\\[", -1)).hasSize(4);
+        assertThat(query).contains("nwr[\"amenity\"~\"^(restaurant|fast_food|food_court|cafe|fuel|marketplace|toilets)$\"]");
+        assertThat(query).contains("nwr[\"tourism\"~\"^(attraction|museum|viewpoint|hotel|motel|guest_house|camp_site)$\"]");
+        assertThat(query).contains("nwr[\"shop\"~\"^(supermarket|mall|convenience)$\"]");
+        assertThat(query).contains("node.places;\nout qt;");
+        assertThat(query).contains("way.places;\nout tags center qt;");
+        assertThat(query).doesNotContain("out body");
+    }
+
+    @Test
+    void query_shouldOnlyContainRequestedCategories() {
+        GeoTile tile = new GeoTile("sxk9", 36.5, 30.5, 36.6, 30.6);
+
+        String query = OverpassQueryBuilder.bboxQuery(tile, List.of(PlaceCategory.FUEL, PlaceCategory.OTHER), 10);
+
+        assertThat(query).contains("nwr[\"amenity\"~\"^(fuel)$\"](36.5,30.5,36.6,30.6);");
+        assertThat(query).doesNotContain("tourism").doesNotContain("shop");
+    }
+
+    @Test
+    void bboxQuery_shouldLimitEveryOutStatement_whenOutLimitSet() {
+        GeoTile tile = new GeoTile("sxk9", 36.5, 30.5, 36.6, 30.6);
+
+        String query = OverpassQueryBuilder.bboxQuery(tile, List.of(PlaceCategory.FUEL), 10, 5001);
+
+        assertThat(query).contains("node.places;\nout qt 5001;");
+        assertThat(query).contains("way.places;\nout tags center qt 5001;");
+    }
+}
@@ -0,0 +1,152 @@
+package com.roadify.places.infrastructure.overpass;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.roadify.places.infrastructure.provider.RawPlace;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OverpassStreamingDecoderTest {
+
+    private static final String RESPONSE = """
+            {
+              "version": 0.6,
+              "generator": "Overpass API",
+              "osm3s": {"copyright": "OpenStreetMap"},
+              "elements": [
+                {"type": "node", "id": 123456789012, "lat": 36.9, "lon": 30.7,
+                 "tags": {"amenity": "cafe", "name": "Kahve Dünyası", "opening_hours": "Mo-Su 08:00-22:00"}},
+                {"type": "node", "id": 2, "lat": 36.91, "lon": 30.71},
+                {"type": "way", "id": 3, "nodes": [1, 2, 3], "center": {"lat": 36.5, "lon": 30.5},
+                 "tags": {"amenity": "fuel", "name": null, "nested": {"name": "ignored"}}},
+                {"type": "node", "id": 4, "lat": "36", "lon": 30},
+                {"type": "node", "id": 5, "lat": 1, "lon": 2, "tags": {"amenity": "restaurant", "name": "R"}},
+                {"type": "way", "id": 6, "center": {"lat": 3, "lon": 4}, "tags": {"tourism": "hotel", "shop": "mall"}}
+              ],
+              "remark": "done"
+            }
+            """;
+
+    @Test
+    void decode_shouldProduceSameResult_forAnyChunking() throws IOException {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+        for (int chunkSize : new int[]{1, 7, 64, body.length}) {
+            List<RawPlace> places = decode(body, chunkSize, 0);
+
+            assertThat(places).as("chunkSize=%d", chunkSize)
+                    .extracting(RawPlace::getExternalId)
+                    .containsExactly("123456789012", "2", "way/3", "5", "way/6");
+
+            RawPlace cafe = places.get(0);
+            assertThat(cafe.getProvider()).isEqualTo("Overpass");
+            assertThat(cafe.getName()).isEqualTo("Kahve Dünyası");
+            assertThat(cafe.getCategoryTag()).isEqualTo("cafe");
+            assertThat(cafe.getLatitude()).isEqualTo(36.9);
+            assertThat(cafe.getLongitude()).isEqualTo(30.7);
+            assertThat(cafe.getRating()).isNull();
+
+            // defaults when tags are missing, center used for ways, nested objects ignored
+            assertThat(places.get(1).getName()).isEqualTo("Unknown");
+            assertThat(places.get(1).getCategoryTag()).isEqualTo("unknown");
+            assertThat(places.get(2).getName()).isEqualTo("Unknown");
+            assertThat(places.get(2).getLatitude()).isEqualTo(36.5);
+
+            // non-amenity keys are prefixed, tourism wins over shop
+            assertThat(places.get(4).getCategoryTag()).isEqualTo("tourism.hotel");
+        }
+    }
+
+    @Test
+    void decode_shouldKeepElementsOfDifferentTypesWithSameIdApart() throws IOException {
+        byte[] body = ("""
+                {"elements": [
+                  {"type": "node", "id": 7, "lat": 1, "lon": 2},
+                  {"type": "way", "id": 7, "center": {"lat": 3, "lon": 4}},
+                  {"type": "relation", "id": 7, "center": {"lat": 5, "lon": 6}}
+                ]}
+                """).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(decode(body, body.length, 0))
+                .extracting(RawPlace::getExternalId)
+                .containsExactly("7", "way/7", "relation/7");
+    }
+
+    @Test
+    void decode_shouldStopReading_whenElementCapReached() throws IOException {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        OverpassStreamingDecoder decoder = new OverpassStreamingDecoder(2);
+
+        int offset = 0;
+        boolean wantsMore = true;
+        while (wantsMore && offset < body.length) {
+            int length = Math.min(16, body.length - offset);
+            wantsMore = decoder.feed(body, offset, length);
+            offset += length;
+        }
+
+        assertThat(decoder.isCapReached()).isTrue();
+        assertThat(offset).isLessThan(body.length);
+        assertThat(decoder.finish()).extracting(RawPlace::getExternalId).containsExactly("123456789012", "2");
+    }
+
+    @Test
+    void decode_shouldNotFlagCap_whenResponseHoldsExactlyMaxElements() throws IOException {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+        OverpassStreamingDecoder decoder = new OverpassStreamingDecoder(6);
+
+        assertThat(decoder.feed(body, 0, body.length)).isTrue();
+        assertThat(decoder.finish()).hasSize(5);
+        assertThat(decoder.isCapReached()).isFalse();
+        assertThat(decoder.isRuntimeError()).isFalse();
+    }
+
+    @Test
+    void decode_shouldFlagRuntimeErrorRemark_withPartialElements() throws IOException {
+        byte[] body = ("""
+                {"elements": [
+                  {"type": "node", "id": 1, "lat": 1, "lon": 2}
+                ],
+                "remark": "runtime error: Query timed out in query at line 3 after 26 seconds."}
+                """).getBytes(StandardCharsets.UTF_8);
+        OverpassStreamingDecoder decoder = new OverpassStreamingDecoder(0);
+
+        decoder.feed(body, 0, body.length);
+
+        assertThat(decoder.finish()).extracting(RawPlace::getExternalId).containsExactly("1");
+        assertThat(decoder.isRuntimeError()).isTrue();
+        assertThat(decoder.getRemark()).startsWith("runtime error: Query timed out");
+    }
+
+    @Test
+    void decode_shouldReturnEmpty_whenElementsMissing() throws IOException {
+        byte[] body = "{\"remark\": \"runtime error\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(decode(body, body.length, 0)).isEmpty();
+    }
+
+    @Test
+    void decode_shouldFail_onTruncatedBody() {
+        byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> decode(body, 50, 0, body.length / 2))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    private static List<RawPlace> decode(byte[] body, int chunkSize, int maxElements) throws IOException {
+        return decode(body, chunkSize, maxElements, body.length);
+    }
+
+    private static List<RawPlace> decode(byte[] body, int chunkSize, int maxElements, int upTo) throws IOException {
+        OverpassStreamingDecoder decoder = new OverpassStreamingDecoder(maxElements);
+        for (int offset = 0; offset < upTo; offset += chunkSize) {
+            decoder.feed(body, offset, Math.min(chunkSize, upTo - offset));
+        }
+        return decoder.finish();
+    }
+}
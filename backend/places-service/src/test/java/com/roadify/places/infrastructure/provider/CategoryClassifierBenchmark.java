@@ -0,0 +1,86 @@
+package com.roadify.places.infrastructure.provider;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Simple warm-up + timed loop comparing the legacy contains() chain with CategoryClassifier.
+ * Not a JMH benchmark; good enough to show the order of magnitude.
+ *
+ * The classifier is called directly (no Place building). "automaton" runs with the memo
+ * disabled, so every tag goes through the Aho-Corasick scan; "memo" is a separate run with
+ * a warm memo, which is what the normalizer sees for a repeating tag vocabulary.
+ * Every loop returns a checksum that is compared against the legacy one, so the JIT cannot
+ * drop the work.
+ */
+@Slf4j
+final class CategoryClassifierBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private CategoryClassifierBenchmark() {}
+
+    record Result(int places, double legacyNanos, double automatonNanos, double memoNanos) {}
+
+    static Result run(List<List<String>> places) {
+        CategoryClassifier automaton = SimplePlaceNormalizer.newClassifier(0);
+        CategoryClassifier memo = SimplePlaceNormalizer.newClassifier(Integer.MAX_VALUE);
+
+        int expected = legacy(places);
+        long legacyNanos = time(places, CategoryClassifierBenchmark::legacy, expected);
+        long automatonNanos = time(places, p -> compiled(p, automaton), expected);
+        long memoNanos = time(places, p -> compiled(p, memo), expected);
+
+        Result result = new Result(places.size(),
+                legacyNanos / (double) places.size(),
+                automatonNanos / (double) places.size(),
+                memoNanos / (double) places.size());
+        log.info("[CategoryClassifierBenchmark] places={} legacy={} ns/place automaton={} ns/place ({}x) memo={} ns/place ({}x)",
+                result.places(),
+                format(result.legacyNanos()),
+                format(result.automatonNanos()), format(result.legacyNanos() / result.automatonNanos()),
+                format(result.memoNanos()), format(result.legacyNanos() / result.memoNanos()));
+        return result;
+    }
+
+    private static int legacy(List<List<String>> places) {
+        int sink = 0;
+        for (List<String> tags : places) sink = 31 * sink + LegacyCategoryMapping.pickBest(tags).ordinal();
+        return sink;
+    }
+
+    private static int compiled(List<List<String>> places, CategoryClassifier classifier) {
+        int sink = 0;
+        for (List<String> tags : places) sink = 31 * sink + classifier.classifyBest(tags).ordinal();
+        return sink;
+    }
+
+    /**
+     * Warm-up rounds, then best of {@link #ROUNDS} timed rounds; fails if a round's checksum
+     * differs from the legacy one.
+     */
+    private static long time(List<List<String>> places, ToIntFunction<List<List<String>>> body, int expected) {
+        for (int warmup = 0; warmup < ROUNDS; warmup++) check(body.applyAsInt(places), expected);
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int sink = body.applyAsInt(places);
+            best = Math.min(best, System.nanoTime() - start);
+            check(sink, expected);
+        }
+        return best;
+    }
+
+    private static void check(int sink, int expected) {
+        if (sink != expected) {
+            throw new IllegalStateException("checksum mismatch: " + sink + " != " + expected);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.roadify.places.infrastructure.provider;
+
+import com.roadify.places.domain.PlaceCategory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryClassifierTest {
+
+    /** Real Geoapify / Overpass style tags. */
+    private static final List<String> SAMPLE_TAGS = List.of(
+            "catering", "catering.restaurant", "catering.restaurant.pizza", "catering.fast_food.burger",
+            "catering.cafe", "catering.cafe.coffee_shop", "catering.pub", "catering.ice_cream",
+            "service.vehicle.fuel", "service.vehicle.charging_station", "fuel_station", "Gas station",
+            "accommodation", "accommodation.hotel", "accommodation.motel", "accommodation.guest_house",
+            "camping", "camping.camp_site", "camping.caravan_site", "commercial", "commercial.supermarket",
+            "commercial.marketplace", "commercial.shopping_mall", "commercial.convenience", "commercial.food_and_drink",
+            "amenity.toilet", "amenity.drinking_water", "tourism", "tourism.attraction", "tourism.sights.castle",
+            "tourism.attraction.viewpoint", "entertainment.museum", "building.tourism", "internet_access.free",
+            "wheelchair.yes", "fast_food", "restaurant", "cafe", "toilets", "viewpoint", "RESTAURANT", "Coffee Shop",
+            "vegetarian", "Köfteci", "İstasyon", "KAMPİNG", "wc", "highway.rest_area", ""
+    );
+
+    private final SimplePlaceNormalizer normalizer = new SimplePlaceNormalizer();
+
+    @Test
+    void mapCategory_shouldMatchLegacyImplementation() {
+        for (String tag : corpus()) {
+            assertThat(normalizer.mapCategory(tag))
+                    .as("tag=%s", tag)
+                    .isEqualTo(LegacyCategoryMapping.mapCategory(tag));
+        }
+        assertThat(normalizer.mapCategory(null)).isEqualTo(PlaceCategory.OTHER);
+    }
+
+    @Test
+    void pickBestCategory_shouldKeepPriorityOfLegacyImplementation() {
+        Random random = new Random(11);
+        List<String> corpus = corpus();
+
+        for (int i = 0; i < 5_000; i++) {
+            List<String> tags = new ArrayList<>();
+            int n = 1 + random.nextInt(8);
+            for (int t = 0; t < n; t++) {
+                tags.add(random.nextInt(20) == 0 ? null : corpus.get(random.nextInt(corpus.size())));
+            }
+
+            RawPlace raw = RawPlace.builder().provider("Geoapify").externalId("x").categories(tags).build();
+            PlaceCategory actual = normalizer.normalize(List.of(raw), null).get(0).getCategory();
+
+            assertThat(actual).as("tags=%s", tags).isEqualTo(LegacyCategoryMapping.pickBest(tags));
+        }
+    }
+
+    @Test
+    void classifyBest_shouldPreferHigherPriorityCategory_regardlessOfOrder() {
+        RawPlace raw = RawPlace.builder()
+                .provider("Geoapify")
+                .externalId("x")
+                .categories(Arrays.asList("tourism.attraction", null, "amenity.toilet", "catering.cafe"))
+                .build();
+
+        assertThat(normalizer.normalize(List.of(raw), null).get(0).getCategory()).isEqualTo(PlaceCategory.CAFE);
+    }
+
+    /**
+     * Manual benchmark: ./gradlew test --tests '*CategoryClassifierTest*' -Droadify.benchmark=true
+     * (the test task forwards the property to the test JVM).
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "roadify.benchmark", matches = "true")
+    void benchmark_againstLegacyImplementation() {
+        List<List<String>> places = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            List<String> tags = new ArrayList<>();
+            for (int t = 0; t < 6; t++) tags.add(SAMPLE_TAGS.get(random.nextInt(SAMPLE_TAGS.size())));
+            places.add(tags);
+        }
+        CategoryClassifierBenchmark.Result result = CategoryClassifierBenchmark.run(places);
+
+        assertThat(result.automatonNanos()).isPositive();
+        assertThat(result.memoNanos()).isPositive();
+    }
+
+    private static List<String> corpus() {
+        List<String> corpus = new ArrayList<>(SAMPLE_TAGS);
+        // Random mixes of pattern fragments, separators and non-ASCII chars
+        String[] fragments = {"rest", "aurant", "caf", "e", "fu", "el", "ga", "s", "camp", "shop", "ping", "w", "c",
+                "toi", "let", "muse", "um", ".", "_", "İ", "K", "ş", "food", "hotel", "mo", "tel", "market", "place"};
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int parts = 1 + random.nextInt(5);
+            for (int p = 0; p < parts; p++) {
+                String fragment = fragments[random.nextInt(fragments.length)];
+                sb.append(random.nextBoolean() ? fragment : fragment.toUpperCase());
+            }
+            corpus.add(sb.toString());
+        }
+        return corpus;
+    }
+}
@@ -0,0 +1,82 @@
+package com.roadify.places.infrastructure.provider;
+
+import com.roadify.places.domain.PlaceCategory;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Verbatim copy of the contains()-chain category mapping that CategoryClassifier replaced.
+ * Reference implementation for the equivalence test and the benchmark.
+ */
+final class LegacyCategoryMapping {
+
+    private LegacyCategoryMapping() {}
+
+    static PlaceCategory pickBest(List<String> categories) {
+        PlaceCategory[] priority = {
+                PlaceCategory.FOOD, PlaceCategory.CAFE, PlaceCategory.FUEL, PlaceCategory.HOTEL,
+                PlaceCategory.CAMPING, PlaceCategory.MARKET, PlaceCategory.SHOP, PlaceCategory.WC,
+                PlaceCategory.TOURIST
+        };
+        for (PlaceCategory target : priority) {
+            PlaceCategory c = findInList(categories, target);
+            if (c != null) return c;
+        }
+        return PlaceCategory.OTHER;
+    }
+
+    private static PlaceCategory findInList(List<String> categories, PlaceCategory target) {
+        for (String s : categories) {
+            if (s == null) continue;
+            PlaceCategory mapped = mapCategory(s);
+            if (mapped == target) return target;
+        }
+        return null;
+    }
+
+    static PlaceCategory mapCategory(String providerCategory) {
+        if (providerCategory == null) return PlaceCategory.OTHER;
+
+        String tag = providerCategory.toLowerCase(Locale.ROOT);
+
+        // FOOD
+        if (tag.contains("catering.restaurant") || tag.contains("restaurant")
+                || tag.contains("fast_food") || tag.contains("catering.fast_food")
+                || tag.contains("food")) return PlaceCategory.FOOD;
+
+        // CAFE
+        if (tag.contains("catering.cafe") || tag.contains("cafe") || tag.contains("coffee")) return PlaceCategory.CAFE;
+
+        // FUEL
+        if (tag.contains("service.vehicle.fuel") || tag.contains("fuel_station")
+                || tag.contains("fuel") || tag.contains("gas") || tag.contains("petrol")) return PlaceCategory.FUEL;
+
+        // HOTEL
+        if (tag.contains("accommodation.hotel") || tag.contains("guest_house")
+                || tag.contains("hotel") || tag.contains("motel")) return PlaceCategory.HOTEL;
+
+        // CAMPING
+        if (tag.contains("camping.camp_site") || tag.contains("camping.caravan_site")
+                || tag.contains("camp") || tag.contains("camping")) return PlaceCategory.CAMPING;
+
+        // MARKET / SHOP
+        if (tag.contains("commercial.supermarket") || tag.contains("supermarket") || tag.contains("marketplace"))
+            return PlaceCategory.MARKET;
+
+        if (tag.contains("commercial.shopping_mall") || tag.contains("shopping_mall")
+                || tag.contains("shop") || tag.contains("commercial.convenience"))
+            return PlaceCategory.SHOP;
+
+        // WC
+        if (tag.contains("amenity.toilet") || tag.contains("wc") || tag.contains("toilet") || tag.contains("restroom"))
+            return PlaceCategory.WC;
+
+        // TOURIST
+        if (tag.contains("tourism.attraction") || tag.contains("tourism.sights")
+                || tag.contains("attraction") || tag.contains("museum") || tag.contains("viewpoint"))
+            return PlaceCategory.TOURIST;
+
+        return PlaceCategory.OTHER;
+    }
+}
@@ -0,0 +1,127 @@
+package com.roadify.places.infrastructure.provider;
+
+import com.roadify.places.domain.Place;
+import com.roadify.places.domain.PlaceBatch;
+import com.roadify.places.domain.PlaceCategory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaceDeduplicatorTest {
+
+    // ~1 m in latitude degrees
+    private static final double METER = 1.0 / 111_320.0;
+
+    private final PlaceDeduplicator deduplicator =
+            new PlaceDeduplicator(new DedupeProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void deduplicate_shouldMergeSamePlaceFromTwoProviders_keepingBothIds() {
+        Place geoapify = place("Geoapify:1", "Shell", PlaceCategory.FUEL, 36.9, 30.7, 4.2);
+        Place overpass = place("Overpass:9", "Shell Petrol Ofisi", PlaceCategory.FUEL, 36.9 + 20 * METER, 30.7, null);
+
+        PlaceBatch batch = PlaceBatch.fromPlaces(List.of(geoapify, overpass));
+
+        assertThat(deduplicator.deduplicate(batch)).isEqualTo(1);
+        List<Place> result = batch.toPlaces();
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo("Geoapify:1");
+        assertThat(result.get(0).getMergedIds()).containsExactly("Overpass:9");
+        assertThat(result.get(0).getRating()).isEqualTo(4.2);
+    }
+
+    @Test
+    void deduplicate_shouldTakeRatingFromMergedRecord_andNeverMergeUnnamed() {
+        Place overpass = place("Overpass:9", null, PlaceCategory.CAFE, 36.9, 30.7, null);
+        Place unnamed = place("Geoapify:1", null, PlaceCategory.CAFE, 36.9, 30.7, 4.0);
+        Place named = place("Overpass:1", "Kahve Dünyası", PlaceCategory.CAFE, 37.0, 30.7, null);
+        Place rated = place("Geoapify:2", "Kahve Dunyasi", PlaceCategory.CAFE, 37.0, 30.7 + 10 * METER, 4.5);
+
+        PlaceBatch batch = PlaceBatch.fromPlaces(List.of(overpass, unnamed, named, rated));
+
+        // unnamed records are never merged, accents are ignored
+        assertThat(deduplicator.deduplicate(batch)).isEqualTo(1);
+        List<Place> result = batch.toPlaces();
+        assertThat(result).extracting(Place::getId).containsExactly("Overpass:9", "Geoapify:1", "Overpass:1");
+        assertThat(result.get(2).getRating()).isEqualTo(4.5);
+        assertThat(result.get(2).getMergedIds()).containsExactly("Geoapify:2");
+    }
+
+    @Test
+    void deduplicate_shouldKeepDistinctPlaces() {
+        List<Place> places = List.of(
+                place("Geoapify:1", "Opet", PlaceCategory.FUEL, 36.9, 30.7, null),
+                // same provider
+                place("Geoapify:2", "Opet", PlaceCategory.FUEL, 36.9, 30.7, null),
+                // other category
+                place("Overpass:1", "Opet", PlaceCategory.MARKET, 36.9, 30.7, null),
+                // too far
+                place("Overpass:2", "Opet", PlaceCategory.FUEL, 36.9 + 80 * METER, 30.7, null),
+                // different name
+                place("Overpass:3", "Total", PlaceCategory.FUEL, 36.9, 30.7, null)
+        );
+
+        PlaceBatch batch = PlaceBatch.fromPlaces(places);
+
+        assertThat(deduplicator.deduplicate(batch)).isZero();
+        assertThat(batch.toPlaces()).containsExactlyElementsOf(places);
+    }
+
+    @Test
+    void deduplicate_shouldMergeOnlyOneRecordPerProvider() {
+        Place geoapify = place("Geoapify:1", "Migros", PlaceCategory.MARKET, 36.9, 30.7, null);
+        Place overpassA = place("Overpass:1", "Migros", PlaceCategory.MARKET, 36.9 + 5 * METER, 30.7, null);
+        Place overpassB = place("Overpass:2", "Migros", PlaceCategory.MARKET, 36.9 + 10 * METER, 30.7, null);
+
+        PlaceBatch batch = PlaceBatch.fromPlaces(List.of(geoapify, overpassA, overpassB));
+
+        assertThat(deduplicator.deduplicate(batch)).isEqualTo(1);
+        assertThat(batch.toPlaces()).extracting(Place::getId).containsExactly("Geoapify:1", "Overpass:2");
+    }
+
+    @Test
+    void deduplicate_shouldMergeEveryPair_acrossCellBorders() {
+        Random random = new Random(3);
+        List<Place> places = new ArrayList<>();
+        int pairs = 2_000;
+        for (int i = 0; i < pairs; i++) {
+            // 1 km apart along a line, partner jittered by up to ~30 m in each direction
+            double lat = 36.0 + i * 1000 * METER;
+            double lon = 30.0 + random.nextDouble() * 0.01;
+            places.add(place("Geoapify:" + i, "Place " + i, PlaceCategory.FOOD, lat, lon, null));
+            places.add(place("Overpass:" + i, "place-" + i, PlaceCategory.FOOD,
+                    lat + (random.nextDouble() - 0.5) * 40 * METER,
+                    lon + (random.nextDouble() - 0.5) * 40 * METER, null));
+        }
+
+        PlaceBatch batch = PlaceBatch.fromPlaces(places);
+
+        assertThat(deduplicator.deduplicate(batch)).isEqualTo(pairs);
+        for (int i = 0; i < pairs; i++) {
+            assertThat(batch.mergedIds(i)).containsExactly("Overpass:" + i);
+        }
+    }
+
+    @Test
+    void normalizeName_shouldFoldCaseAccentsAndPunctuation() {
+        assertThat(PlaceDeduplicator.normalizeName("  Şişli Cafe-Bar! ")).isEqualTo("sisli cafe bar");
+        assertThat(PlaceDeduplicator.normalizeName("KIRMIZI Köşk")).isEqualTo("kirmizi kosk");
+        assertThat(PlaceDeduplicator.normalizeName(null)).isEmpty();
+    }
+
+    private static Place place(String id, String name, PlaceCategory category, double lat, double lon, Double rating) {
+        return Place.builder()
+                .id(id)
+                .name(name)
+                .category(category)
+                .latitude(lat)
+                .longitude(lon)
+                .rating(rating)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.roadify.places.infrastructure.provider;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderHttpConnectorsTest {
+
+    @Test
+    void connectionProvider_shouldUsePoolSettingsAndProviderName() {
+        ProviderPoolProperties pool = new ProviderPoolProperties();
+        pool.setMaxConnections(4);
+
+        ConnectionProvider provider = ProviderHttpConnectors.connectionProvider("overpass", pool);
+        try {
+            assertThat(provider.name()).isEqualTo("overpass");
+            assertThat(provider.maxConnections()).isEqualTo(4);
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    void connector_shouldAcceptMissingTimeouts() {
+        ConnectionProvider provider = ProviderHttpConnectors.connectionProvider("geoapify", new ProviderPoolProperties());
+        try {
+            ClientHttpConnector connector = ProviderHttpConnectors.connector(provider, null, 0);
+            assertThat(connector).isNotNull();
+        } finally {
+            provider.dispose();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.roadify.places.infrastructure.tile;
+
+import com.roadify.places.infrastructure.geo.PackedPolyline;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTilesTest {
+
+    @Test
+    void tileOf_shouldMatchStandardGeohash() {
+        GeoTile tile = GeoHashTiles.tileOf(57.64911, 10.40744, 5);
+
+        assertThat(tile.hash()).isEqualTo("u4pru");
+        assertThat(tile.contains(57.64911, 10.40744)).isTrue();
+    }
+
+    @Test
+    void coverCorridor_shouldContainTilesOfEveryRouteVertexAndBeDistinct() {
+        PackedPolyline route = PackedPolyline.of(
+                new double[]{36.90, 37.50, 39.90},
+                new double[]{30.70, 32.00, 32.85}
+        );
+
+        List<GeoTile> tiles = GeoHashTiles.coverCorridor(route, 2_000.0, 5);
+
+        assertThat(tiles).extracting(GeoTile::hash).doesNotHaveDuplicates();
+        for (int i = 0; i < route.size(); i++) {
+            assertThat(tiles).contains(GeoHashTiles.tileOf(route.lat(i), route.lon(i), 5));
+        }
+        // a point on the segment midpoint must be covered as well
+        assertThat(tiles).contains(GeoHashTiles.tileOf(37.20, 31.35, 5));
+        // first tile follows the route start
+        assertThat(tiles.get(0).contains(36.90, 30.70)).isTrue();
+    }
+
+    @Test
+    void coverCorridor_shouldReturnEmpty_forEmptyPolyline() {
+        assertThat(GeoHashTiles.coverCorridor(PackedPolyline.EMPTY, 2_000.0, 5)).isEmpty();
+    }
+}